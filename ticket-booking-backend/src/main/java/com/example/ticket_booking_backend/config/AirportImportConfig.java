@@ -0,0 +1,24 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.airports.import")
+@Getter
+@Setter
+public class AirportImportConfig {
+    // Rows sent to the database per JDBC batch
+    private int batchSize = 1000;
+
+    // CSV file to import on startup (CLI mode); empty disables it
+    private String file = "";
+
+    // Shut the application down once the startup import finished, for one-off import runs
+    private boolean exitAfterImport = false;
+
+    // How many rejected rows are reported back with their reason
+    private int maxReportedErrors = 20;
+}
@@ -0,0 +1,62 @@
+package com.example.ticket_booking_backend.config;
+
+import com.example.ticket_booking_backend.dto.AirportImportResult;
+import com.example.ticket_booking_backend.service.AirportImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * CLI mode for the bulk airport import, e.g.
+ * {@code java -jar app.jar --app.airports.import.file=airports.csv --app.airports.import.exit-after-import=true}
+ */
+@Component
+public class AirportImportRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(AirportImportRunner.class);
+
+    private final AirportImportConfig importConfig;
+    private final AirportImportService airportImportService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    public AirportImportRunner(AirportImportConfig importConfig,
+                               AirportImportService airportImportService,
+                               ConfigurableApplicationContext applicationContext) {
+        this.importConfig = importConfig;
+        this.airportImportService = airportImportService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (importConfig.getFile() == null || importConfig.getFile().isBlank()) {
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            logger.info("Importing airports from {}", importConfig.getFile());
+            AirportImportResult result = airportImportService.importFile(Path.of(importConfig.getFile()));
+            result.getErrors().forEach(error -> logger.warn("Rejected airport row, {}", error));
+            if (result.getDirectoryError() != null) {
+                logger.error("Airport import from {} incomplete: {}", importConfig.getFile(), result.getDirectoryError());
+                exitCode = 1;
+            }
+        } catch (Exception e) {
+            logger.error("Airport import from {} failed: {}", importConfig.getFile(), e.getMessage(), e);
+            exitCode = 1;
+        }
+
+        if (importConfig.isExitAfterImport()) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+}
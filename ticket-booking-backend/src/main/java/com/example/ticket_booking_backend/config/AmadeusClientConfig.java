@@ -0,0 +1,34 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "amadeus.client")
+@Getter
+@Setter
+public class AmadeusClientConfig {
+    // Connection and response timeouts; a slow upstream fails fast and the search falls back to the database
+    private int connectTimeoutMs = 2000;
+    private int readTimeoutMs = 5000;
+
+    // Largest response body buffered in memory
+    private int maxInMemorySizeKb = 2048;
+
+    // Connection pool
+    private int maxConnections = 50;
+    private int pendingAcquireTimeoutMs = 1000;
+    private int maxIdleTimeSeconds = 30;
+
+    // Bulkhead: concurrent upstream calls allowed; calls beyond this are rejected immediately
+    private int maxConcurrentCalls = 20;
+
+    // Circuit breaker: opens when the failure rate over the last window of calls reaches the threshold
+    private int failureRateThreshold = 50;
+    private int slidingWindowSize = 20;
+    private int minimumCalls = 10;
+    private int openStateSeconds = 30;
+    private int halfOpenTrialCalls = 3;
+}
@@ -0,0 +1,51 @@
+package com.example.ticket_booking_backend.config;
+
+import io.netty.channel.ChannelOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * WebClient shared by the Amadeus search client and token manager, with a bounded
+ * connection pool, a connect timeout and a response timeout. The response timeout is applied
+ * per request by Reactor Netty, so pooled connections carry no idle-read handler that could
+ * fire between requests.
+ */
+@Configuration
+public class AmadeusWebClientConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusWebClientConfig.class);
+
+    @Bean(name = "amadeusWebClient")
+    public WebClient amadeusWebClient(AmadeusApiConfig amadeusApiConfig, AmadeusClientConfig clientConfig) {
+        logger.info("Creating Amadeus WebClient (pool {}, connect timeout {} ms, read timeout {} ms)",
+                clientConfig.getMaxConnections(), clientConfig.getConnectTimeoutMs(), clientConfig.getReadTimeoutMs());
+        return buildWebClient(amadeusApiConfig.getBaseUrl(), clientConfig);
+    }
+
+    public static WebClient buildWebClient(String baseUrl, AmadeusClientConfig clientConfig) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("amadeus")
+                .maxConnections(clientConfig.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofMillis(clientConfig.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofSeconds(clientConfig.getMaxIdleTimeSeconds()))
+                .evictInBackground(Duration.ofSeconds(clientConfig.getMaxIdleTimeSeconds()))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, clientConfig.getConnectTimeoutMs())
+                .responseTimeout(Duration.ofMillis(clientConfig.getReadTimeoutMs()));
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(clientConfig.getMaxInMemorySizeKb() * 1024))
+                .build();
+    }
+}
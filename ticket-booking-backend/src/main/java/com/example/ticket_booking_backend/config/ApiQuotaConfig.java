@@ -11,13 +11,14 @@ import lombok.Setter;
 @Setter
 public class ApiQuotaConfig {
     private int maxCallsPerMonth;
-    private int callsThisMonth;
     
-    public boolean hasQuotaRemaining() {
-        return callsThisMonth < maxCallsPerMonth;
-    }
+    // Share of the monthly quota (percent) kept for user searches; background calls stop once only this is left
+    private int userReservePercent = 20;
     
-    public void incrementCallCount() {
-        callsThisMonth++;
-    }
-} 
\ No newline at end of file
+    // Upstream per-second rate limit (token bucket refill rate) and burst size
+    private double callsPerSecond = 5;
+    private int burstCapacity = 10;
+    
+    // How often locally counted calls are flushed to the database
+    private long flushIntervalMs = 10000;
+}
@@ -39,60 +39,63 @@ public class DataInitializer {
         List<Airport> airports = new ArrayList<>();
         
         // Major international airports in India
-        airports.add(createAirport("DEL", "Indira Gandhi International Airport", "Delhi", "Delhi", "India"));
-        airports.add(createAirport("BOM", "Chhatrapati Shivaji Maharaj International Airport", "Mumbai", "Maharashtra", "India"));
-        airports.add(createAirport("BLR", "Kempegowda International Airport", "Bangalore", "Karnataka", "India"));
-        airports.add(createAirport("MAA", "Chennai International Airport", "Chennai", "Tamil Nadu", "India"));
-        airports.add(createAirport("HYD", "Rajiv Gandhi International Airport", "Hyderabad", "Telangana", "India"));
-        airports.add(createAirport("CCU", "Netaji Subhas Chandra Bose International Airport", "Kolkata", "West Bengal", "India"));
-        airports.add(createAirport("COK", "Cochin International Airport", "Kochi", "Kerala", "India"));
-        airports.add(createAirport("GOI", "Goa International Airport", "Goa", "Goa", "India"));
-        airports.add(createAirport("GOX", "Manohar International Airport", "Goa", "Goa", "India"));
+        airports.add(createAirport("DEL", "Indira Gandhi International Airport", "Delhi", "Delhi", "India", 28.5562, 77.1000));
+        airports.add(createAirport("BOM", "Chhatrapati Shivaji Maharaj International Airport", "Mumbai", "Maharashtra", "India", 19.0896, 72.8656));
+        airports.add(createAirport("BLR", "Kempegowda International Airport", "Bangalore", "Karnataka", "India", 13.1986, 77.7066));
+        airports.add(createAirport("MAA", "Chennai International Airport", "Chennai", "Tamil Nadu", "India", 12.9941, 80.1709));
+        airports.add(createAirport("HYD", "Rajiv Gandhi International Airport", "Hyderabad", "Telangana", "India", 17.2403, 78.4294));
+        airports.add(createAirport("CCU", "Netaji Subhas Chandra Bose International Airport", "Kolkata", "West Bengal", "India", 22.6547, 88.4467));
+        airports.add(createAirport("COK", "Cochin International Airport", "Kochi", "Kerala", "India", 10.1520, 76.4019));
+        airports.add(createAirport("GOI", "Goa International Airport", "Goa", "Goa", "India", 15.3808, 73.8314));
+        airports.add(createAirport("GOX", "Manohar International Airport", "Goa", "Goa", "India", 15.7440, 73.8606));
         
         // International airports
-        airports.add(createAirport("JFK", "John F. Kennedy International Airport", "New York", "New York", "USA"));
-        airports.add(createAirport("LHR", "Heathrow Airport", "London", "England", "United Kingdom"));
-        airports.add(createAirport("CDG", "Charles de Gaulle Airport", "Paris", "Île-de-France", "France"));
-        airports.add(createAirport("DXB", "Dubai International Airport", "Dubai", "Dubai", "UAE"));
-        airports.add(createAirport("SIN", "Singapore Changi Airport", "Singapore", "Singapore", "Singapore"));
-        airports.add(createAirport("HND", "Haneda Airport", "Tokyo", "Tokyo", "Japan"));
-        airports.add(createAirport("SYD", "Sydney Airport", "Sydney", "New South Wales", "Australia"));
-        airports.add(createAirport("HKG", "Hong Kong International Airport", "Hong Kong", "Hong Kong", "China"));
-        airports.add(createAirport("FRA", "Frankfurt Airport", "Frankfurt", "Hesse", "Germany"));
-        airports.add(createAirport("AMS", "Amsterdam Airport Schiphol", "Amsterdam", "North Holland", "Netherlands"));
-        airports.add(createAirport("MAD", "Adolfo Suárez Madrid–Barajas Airport", "Madrid", "Madrid", "Spain"));
-        airports.add(createAirport("FCO", "Leonardo da Vinci International Airport", "Rome", "Lazio", "Italy"));
-        airports.add(createAirport("ZRH", "Zurich Airport", "Zurich", "Zurich", "Switzerland"));
-        airports.add(createAirport("IST", "Istanbul Airport", "Istanbul", "Istanbul", "Turkey"));
-        airports.add(createAirport("DOH", "Hamad International Airport", "Doha", "Doha", "Qatar"));
-        airports.add(createAirport("AUH", "Abu Dhabi International Airport", "Abu Dhabi", "Abu Dhabi", "UAE"));
-        airports.add(createAirport("BKK", "Suvarnabhumi Airport", "Bangkok", "Bangkok", "Thailand"));
-        airports.add(createAirport("KUL", "Kuala Lumpur International Airport", "Kuala Lumpur", "Selangor", "Malaysia"));
-        airports.add(createAirport("MNL", "Ninoy Aquino International Airport", "Manila", "Metro Manila", "Philippines"));
-        airports.add(createAirport("CGK", "Soekarno–Hatta International Airport", "Jakarta", "Jakarta", "Indonesia"));
-        airports.add(createAirport("PEK", "Beijing Capital International Airport", "Beijing", "Beijing", "China"));
-        airports.add(createAirport("PVG", "Shanghai Pudong International Airport", "Shanghai", "Shanghai", "China"));
-        airports.add(createAirport("ICN", "Incheon International Airport", "Seoul", "Incheon", "South Korea"));
-        airports.add(createAirport("MEL", "Melbourne Airport", "Melbourne", "Victoria", "Australia"));
-        airports.add(createAirport("AKL", "Auckland Airport", "Auckland", "Auckland", "New Zealand"));
-        airports.add(createAirport("YVR", "Vancouver International Airport", "Vancouver", "British Columbia", "Canada"));
-        airports.add(createAirport("YYZ", "Toronto Pearson International Airport", "Toronto", "Ontario", "Canada"));
-        airports.add(createAirport("GRU", "São Paulo/Guarulhos International Airport", "São Paulo", "São Paulo", "Brazil"));
-        airports.add(createAirport("EZE", "Ministro Pistarini International Airport", "Buenos Aires", "Buenos Aires", "Argentina"));
-        airports.add(createAirport("CPT", "Cape Town International Airport", "Cape Town", "Western Cape", "South Africa"));
-        airports.add(createAirport("JNB", "O.R. Tambo International Airport", "Johannesburg", "Gauteng", "South Africa"));
+        airports.add(createAirport("JFK", "John F. Kennedy International Airport", "New York", "New York", "USA", 40.6413, -73.7781));
+        airports.add(createAirport("LHR", "Heathrow Airport", "London", "England", "United Kingdom", 51.4700, -0.4543));
+        airports.add(createAirport("CDG", "Charles de Gaulle Airport", "Paris", "Île-de-France", "France", 49.0097, 2.5479));
+        airports.add(createAirport("DXB", "Dubai International Airport", "Dubai", "Dubai", "UAE", 25.2532, 55.3657));
+        airports.add(createAirport("SIN", "Singapore Changi Airport", "Singapore", "Singapore", "Singapore", 1.3644, 103.9915));
+        airports.add(createAirport("HND", "Haneda Airport", "Tokyo", "Tokyo", "Japan", 35.5494, 139.7798));
+        airports.add(createAirport("SYD", "Sydney Airport", "Sydney", "New South Wales", "Australia", -33.9399, 151.1753));
+        airports.add(createAirport("HKG", "Hong Kong International Airport", "Hong Kong", "Hong Kong", "China", 22.3080, 113.9185));
+        airports.add(createAirport("FRA", "Frankfurt Airport", "Frankfurt", "Hesse", "Germany", 50.0379, 8.5622));
+        airports.add(createAirport("AMS", "Amsterdam Airport Schiphol", "Amsterdam", "North Holland", "Netherlands", 52.3105, 4.7683));
+        airports.add(createAirport("MAD", "Adolfo Suárez Madrid–Barajas Airport", "Madrid", "Madrid", "Spain", 40.4983, -3.5676));
+        airports.add(createAirport("FCO", "Leonardo da Vinci International Airport", "Rome", "Lazio", "Italy", 41.8003, 12.2389));
+        airports.add(createAirport("ZRH", "Zurich Airport", "Zurich", "Zurich", "Switzerland", 47.4582, 8.5555));
+        airports.add(createAirport("IST", "Istanbul Airport", "Istanbul", "Istanbul", "Turkey", 41.2753, 28.7519));
+        airports.add(createAirport("DOH", "Hamad International Airport", "Doha", "Doha", "Qatar", 25.2731, 51.6081));
+        airports.add(createAirport("AUH", "Abu Dhabi International Airport", "Abu Dhabi", "Abu Dhabi", "UAE", 24.4330, 54.6511));
+        airports.add(createAirport("BKK", "Suvarnabhumi Airport", "Bangkok", "Bangkok", "Thailand", 13.6900, 100.7501));
+        airports.add(createAirport("KUL", "Kuala Lumpur International Airport", "Kuala Lumpur", "Selangor", "Malaysia", 2.7456, 101.7072));
+        airports.add(createAirport("MNL", "Ninoy Aquino International Airport", "Manila", "Metro Manila", "Philippines", 14.5086, 121.0194));
+        airports.add(createAirport("CGK", "Soekarno–Hatta International Airport", "Jakarta", "Jakarta", "Indonesia", -6.1256, 106.6559));
+        airports.add(createAirport("PEK", "Beijing Capital International Airport", "Beijing", "Beijing", "China", 40.0799, 116.6031));
+        airports.add(createAirport("PVG", "Shanghai Pudong International Airport", "Shanghai", "Shanghai", "China", 31.1443, 121.8083));
+        airports.add(createAirport("ICN", "Incheon International Airport", "Seoul", "Incheon", "South Korea", 37.4602, 126.4407));
+        airports.add(createAirport("MEL", "Melbourne Airport", "Melbourne", "Victoria", "Australia", -37.6690, 144.8410));
+        airports.add(createAirport("AKL", "Auckland Airport", "Auckland", "Auckland", "New Zealand", -37.0082, 174.7850));
+        airports.add(createAirport("YVR", "Vancouver International Airport", "Vancouver", "British Columbia", "Canada", 49.1967, -123.1815));
+        airports.add(createAirport("YYZ", "Toronto Pearson International Airport", "Toronto", "Ontario", "Canada", 43.6777, -79.6248));
+        airports.add(createAirport("GRU", "São Paulo/Guarulhos International Airport", "São Paulo", "São Paulo", "Brazil", -23.4356, -46.4731));
+        airports.add(createAirport("EZE", "Ministro Pistarini International Airport", "Buenos Aires", "Buenos Aires", "Argentina", -34.8222, -58.5358));
+        airports.add(createAirport("CPT", "Cape Town International Airport", "Cape Town", "Western Cape", "South Africa", -33.9715, 18.6021));
+        airports.add(createAirport("JNB", "O.R. Tambo International Airport", "Johannesburg", "Gauteng", "South Africa", -26.1367, 28.2411));
         
         airportRepository.saveAll(airports);
         logger.info("Successfully imported {} airports to database", airports.size());
     }
     
-    private Airport createAirport(String code, String name, String city, String state, String country) {
+    private Airport createAirport(String code, String name, String city, String state, String country,
+                                  double latitude, double longitude) {
         Airport airport = new Airport();
         airport.setCode(code);
         airport.setName(name);
         airport.setCity(city);
         airport.setState(state);
         airport.setCountry(country);
+        airport.setLatitude(latitude);
+        airport.setLongitude(longitude);
         return airport;
     }
 } 
\ No newline at end of file
@@ -36,12 +36,20 @@ public class DatabaseInitializer implements CommandLineRunner {
         executeScript("db/add-airline-column.sql");
         executeScript("db/add-status-column.sql");
         executeScript("db/add-state-column.sql");
-        executeScript("db/add-airport-details-columns.sql");
         executeScript("db/add-reserved-column.sql");
         executeScript("db/fix-booking-status-constraint.sql");
+        executeScript("db/add-flight-route-index.sql");
+        executeScript("db/add-api-usage-table.sql");
+        executeScript("db/add-seat-flight-index.sql");
+        executeScript("db/add-flight-listing-indexes.sql");
+        executeScript("db/add-flight-versions.sql");
+        executeScript("db/add-flight-natural-key.sql");
+        executeScript("db/add-flight-airport-references.sql");
+        executeScript("db/convert-flight-prices-to-minor-units.sql");
         
         // Execute data population scripts
         executeScript("db/populate-airport-details.sql");
+        executeScript("db/populate-airport-coordinates.sql");
         
         logger.info("Database initialization completed.");
     }
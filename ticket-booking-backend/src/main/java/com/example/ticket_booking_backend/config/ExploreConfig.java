@@ -0,0 +1,18 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.explore")
+@Getter
+@Setter
+public class ExploreConfig {
+    // How many days of upcoming departures the destination explorer covers
+    private int horizonDays = 365;
+
+    // Full rebuild from the database as a safety net for writes that bypass FlightService
+    private long rebuildIntervalMs = 3600000;
+}
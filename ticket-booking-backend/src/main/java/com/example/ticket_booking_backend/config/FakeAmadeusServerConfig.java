@@ -0,0 +1,47 @@
+package com.example.ticket_booking_backend.config;
+
+import com.example.ticket_booking_backend.util.FakeAmadeusServer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.IOException;
+
+/**
+ * Local stand-in for the Amadeus API, for load tests and offline development.
+ * Enable it and point amadeus.api.base-url at http://localhost:{port}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "amadeus.fake-server")
+@Getter
+@Setter
+public class FakeAmadeusServerConfig {
+    private boolean enabled = false;
+    private int port = 8089;
+    private int threads = 64;
+
+    // Response profile: fixed latency plus random jitter, share of requests answered with 500
+    private int latencyMs = 0;
+    private int latencyJitterMs = 0;
+    private double errorRate = 0;
+
+    // Requests per second before answering 429; 0 disables throttling
+    private double maxRequestsPerSecond = 0;
+
+    // Offers in synthesized responses
+    private int offersPerResponse = 20;
+
+    // Directory of recorded responses named ORIGIN-DESTINATION.json, replayed instead of synthesized offers
+    private String recordingsDir;
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "amadeus.fake-server", name = "enabled", havingValue = "true")
+    public FakeAmadeusServer fakeAmadeusServer() throws IOException {
+        FakeAmadeusServer server = new FakeAmadeusServer(this);
+        server.start();
+        return server;
+    }
+}
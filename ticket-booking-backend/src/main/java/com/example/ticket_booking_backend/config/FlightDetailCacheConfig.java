@@ -0,0 +1,18 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.flights.detail-cache")
+@Getter
+@Setter
+public class FlightDetailCacheConfig {
+    // Flights whose details (with seat map) are held in memory; least recently used go first
+    private int maxEntries = 2000;
+
+    // Flight writes evict their entry at once; seat holds and bookings show up within this long
+    private int ttlSeconds = 5;
+}
@@ -0,0 +1,30 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.flights.import")
+@Getter
+@Setter
+public class FlightImportConfig {
+    // Flights written per batch (one transaction, a constant number of statements)
+    private int batchSize = 500;
+
+    // Parallel writer threads; flights are partitioned between them by flight number
+    private int workers = 4;
+
+    // Full batches a worker may have queued before the parser waits for it
+    private int queuedBatchesPerWorker = 4;
+
+    // How many rejected rows are reported back with their reason
+    private int maxReportedErrors = 20;
+
+    // SSIM records carry no fare; flights expanded from them get this price
+    private double ssimDefaultFare = 5000;
+
+    // Finished import jobs kept for the progress endpoint
+    private int retainedJobs = 20;
+}
@@ -0,0 +1,33 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+@Getter
+@Setter
+public class FlightSearchConfig {
+    // How long an API search result for a (route, date) stays in the search cache
+    private int cacheTtlMinutes = 15;
+    private int cacheMaxEntries = 5000;
+
+    // Low-fare calendar limits
+    private int calendarMaxDays = 60;
+    private int calendarConcurrency = 4;
+
+    // Round-trip / multi-city search: shared deadline for all legs and result limits
+    private int multiLegDeadlineSeconds = 10;
+    private int maxMultiCityLegs = 6;
+    private int maxTripOptions = 50;
+
+    // Nearby-airport expansion: largest radius honoured and airports per side (including the searched one)
+    private double nearbyMaxRadiusKm = 300;
+    private int nearbyMaxAirports = 3;
+
+    // Paginated flight listing: page size when none is given and the largest one honoured
+    private int listingPageSize = 20;
+    private int listingMaxPageSize = 100;
+}
@@ -0,0 +1,34 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.http-cache")
+@Getter
+@Setter
+public class HttpCacheConfig {
+    // Airport list, lookups, autocomplete and nearby search: shared caches may keep them this long
+    private int airportsMaxAgeSeconds = 3600;
+
+    // Flight lists and search results: short-lived, they carry seat counts and prices
+    private int flightListMaxAgeSeconds = 30;
+
+    public CacheControl airportsCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(airportsMaxAgeSeconds)).cachePublic();
+    }
+
+    public CacheControl flightListCacheControl() {
+        return CacheControl.maxAge(Duration.ofSeconds(flightListMaxAgeSeconds)).cachePublic();
+    }
+
+    // Flight details and seat maps change with every booking: always revalidate, a 304 is cheap
+    public CacheControl flightDetailCacheControl() {
+        return CacheControl.noCache();
+    }
+}
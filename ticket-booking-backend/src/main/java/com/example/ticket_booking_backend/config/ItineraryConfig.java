@@ -0,0 +1,29 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.itinerary")
+@Getter
+@Setter
+public class ItineraryConfig {
+    // How many days of upcoming departures are kept in the in-memory connection graph
+    private int horizonDays = 30;
+
+    // Flight changes are folded in by a rebuild once none has come for changeQuietMs (debounce),
+    // and such rebuilds are at least minRebuildIntervalMs apart; the periodic rebuild still runs
+    private long changeQuietMs = 10000;
+    private long minRebuildIntervalMs = 60000;
+
+    // Connection window at an intermediate airport
+    private int minConnectionMinutes = 45;
+    private int maxConnectionMinutes = 360;
+
+    // Upper bounds for a single search
+    private int maxStops = 2;
+    private int maxJourneyHours = 36;
+    private int maxResults = 20;
+}
@@ -0,0 +1,33 @@
+package com.example.ticket_booking_backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import lombok.Getter;
+import lombok.Setter;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.prefetch")
+@Getter
+@Setter
+public class PrefetchConfig {
+    private boolean enabled = true;
+
+    // Share of the remaining monthly API quota a single prefetch run may spend (0.0 - 1.0)
+    private double quotaShare = 0.1;
+
+    // Hard cap on upstream calls per prefetch run
+    private int maxCallsPerRun = 50;
+
+    // How long prefetched results stay in the search cache, so off-peak refreshes survive into the day
+    private int cacheTtlHours = 12;
+
+    // Most (route, date) popularity counters kept; the least used are evicted beyond this
+    private int maxTrackedSearches = 10000;
+
+    // Only searches departing within this many days are counted
+    private int horizonDays = 60;
+
+    // Pause before retrying a search the per-second rate limit refused, and retries per search
+    private long rateLimitBackoffMs = 1000;
+    private int rateLimitRetries = 3;
+}
@@ -5,6 +5,9 @@ import com.example.ticket_booking_backend.model.Role;
 import com.example.ticket_booking_backend.model.Booking;
 import com.example.ticket_booking_backend.repository.UserRepository;
 import com.example.ticket_booking_backend.repository.BookingRepository;
+import com.example.ticket_booking_backend.dto.CacheRegionStatsDTO;
+import com.example.ticket_booking_backend.service.EntityCacheService;
+import com.example.ticket_booking_backend.service.FlightDetailCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -25,12 +29,17 @@ public class AdminController {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final EntityCacheService entityCacheService;
+    private final FlightDetailCache flightDetailCache;
 
     @Autowired
-    public AdminController(UserRepository userRepository, BookingRepository bookingRepository) {
+    public AdminController(UserRepository userRepository, BookingRepository bookingRepository,
+                           EntityCacheService entityCacheService, FlightDetailCache flightDetailCache) {
         this.userRepository = userRepository;
         this.bookingRepository = bookingRepository;
         this.passwordEncoder = new BCryptPasswordEncoder();
+        this.entityCacheService = entityCacheService;
+        this.flightDetailCache = flightDetailCache;
     }
 
     @GetMapping("/users")
@@ -193,4 +202,20 @@ public class AdminController {
                 ));
         }
     }
-} 
\ No newline at end of file
+
+    // Hit/miss counters of the second-level and query cache regions and of the flight detail cache
+    @GetMapping("/cache/stats")
+    public ResponseEntity<?> getCacheStatistics() {
+        List<CacheRegionStatsDTO> statistics = new ArrayList<>(entityCacheService.getStatistics());
+        statistics.add(flightDetailCache.getStatistics());
+        return ResponseEntity.ok(statistics);
+    }
+
+    // Drop every cached entity, query and flight detail, e.g. after editing the database by hand
+    @DeleteMapping("/cache")
+    public ResponseEntity<?> evictCaches() {
+        entityCacheService.evictAll();
+        flightDetailCache.invalidateAll();
+        return ResponseEntity.ok(Map.of("message", "Second-level, query and flight detail caches evicted"));
+    }
+}
@@ -1,7 +1,13 @@
 package com.example.ticket_booking_backend.controller;
 
+import com.example.ticket_booking_backend.config.HttpCacheConfig;
+import com.example.ticket_booking_backend.dto.AirportImportResult;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.NearbyAirport;
 import com.example.ticket_booking_backend.model.Airport;
+import com.example.ticket_booking_backend.service.AirportImportService;
 import com.example.ticket_booking_backend.service.AirportService;
+import com.example.ticket_booking_backend.util.HttpCaching;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +19,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/airports")
@@ -26,30 +41,43 @@ import java.util.List;
 public class AirportController {
     private static final Logger logger = LoggerFactory.getLogger(AirportController.class);
     private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_LIMIT = 50;
+    private static final double MAX_RADIUS_KM = 1000;
 
     private final AirportService airportService;
+    private final AirportImportService airportImportService;
+    private final HttpCacheConfig httpCacheConfig;
 
     @Autowired
-    public AirportController(AirportService airportService) {
+    public AirportController(AirportService airportService, AirportImportService airportImportService,
+                             HttpCacheConfig httpCacheConfig) {
         this.airportService = airportService;
+        this.airportImportService = airportImportService;
+        this.httpCacheConfig = httpCacheConfig;
     }
 
     @GetMapping
     @PreAuthorize("permitAll()")
     @Operation(summary = "Get all airports", description = "Returns a list of all airports in the system")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all airports")
-    public ResponseEntity<List<Airport>> getAllAirports() {
+    public ResponseEntity<List<Airport>> getAllAirports(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Instant version = airportService.getDataVersion();
+        String etag = airportsETag(version);
+        if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModified(etag, httpCacheConfig.airportsCacheControl());
+        }
         logger.info("Getting all airports");
         List<Airport> airports = airportService.getAllAirports();
         logger.info("Found {} airports", airports.size());
-        return ResponseEntity.ok(airports);
+        return ok(airports, etag, version);
     }
     
     @GetMapping("/search")
     @PreAuthorize("permitAll()")
     @Operation(
         summary = "Search airports", 
-        description = "Search airports by code, name, city, state, or country. Requires minimum 2 characters."
+        description = "Autocomplete airports by code, name, city, state, or country, ranked exact code > city prefix > name prefix > substring. Accents are ignored. Requires minimum 2 characters."
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved matching airports"),
@@ -60,7 +88,9 @@ public class AirportController {
             @RequestParam String query, 
             
             @Parameter(description = "Maximum number of results to return")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         logger.info("Searching airports with query: {}", query);
         
@@ -71,23 +101,75 @@ public class AirportController {
                 .body(new ErrorResponse("Query must be at least " + MIN_QUERY_LENGTH + " characters long"));
         }
         
-        List<Airport> results = airportService.searchAirports(query);
-        
-        // Limit results if needed
-        if (results.size() > limit) {
-            results = results.subList(0, limit);
+        Instant version = airportService.getDataVersion();
+        String etag = airportsETag(version);
+        if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModified(etag, httpCacheConfig.airportsCacheControl());
         }
+        List<AirportInfo> results = airportService.searchAirports(query, Math.max(0, Math.min(limit, MAX_LIMIT)));
         
         logger.info("Found {} airports matching query: {}", results.size(), query);
         
-        // Log each result for debugging
-        for (Airport airport : results) {
-            logger.info("Match: {} ({}) - {}, {}, {}", 
-                    airport.getCity(), airport.getCode(), airport.getName(), 
-                    airport.getState() != null ? airport.getState() : "", airport.getCountry());
+        return ok(results, etag, version);
+    }
+    
+    @GetMapping("/nearby")
+    @PreAuthorize("permitAll()")
+    @Operation(
+        summary = "Find nearby airports",
+        description = "Returns airports within a radius of an airport (by code) or of a latitude/longitude point, nearest first, with their distance in km"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved nearby airports"),
+        @ApiResponse(responseCode = "400", description = "Neither code nor latitude/longitude given, or invalid values"),
+        @ApiResponse(responseCode = "404", description = "Airport not found or has no coordinates")
+    })
+    public ResponseEntity<?> getNearbyAirports(
+            @Parameter(description = "IATA code of the airport to search around")
+            @RequestParam(required = false) String code,
+
+            @Parameter(description = "Latitude of the point to search around")
+            @RequestParam(required = false) Double lat,
+
+            @Parameter(description = "Longitude of the point to search around")
+            @RequestParam(required = false) Double lon,
+
+            @Parameter(description = "Search radius in kilometres (max 1000)")
+            @RequestParam(defaultValue = "150") double radiusKm,
+
+            @Parameter(description = "Maximum number of results to return")
+            @RequestParam(defaultValue = "10") int limit,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Radius must be between 0 and " + (int) MAX_RADIUS_KM + " km"));
         }
-        
-        return ResponseEntity.ok(results);
+        int boundedLimit = Math.max(0, Math.min(limit, MAX_LIMIT));
+        Instant version = airportService.getDataVersion();
+        String etag = airportsETag(version);
+
+        if (code != null && !code.isBlank()) {
+            if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+                return HttpCaching.notModified(etag, httpCacheConfig.airportsCacheControl());
+            }
+            return airportService.findNearbyAirports(code, radiusKm, boundedLimit)
+                    .<ResponseEntity<?>>map(results -> ok(results, etag, version))
+                    .orElseGet(() -> {
+                        logger.warn("No coordinates for airport code: {}", code);
+                        return ResponseEntity.notFound().build();
+                    });
+        }
+        if (lat == null || lon == null || Math.abs(lat) > 90 || Math.abs(lon) > 180) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Either an airport code or a valid lat and lon is required"));
+        }
+        if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModified(etag, httpCacheConfig.airportsCacheControl());
+        }
+        List<NearbyAirport> results = airportService.findNearbyAirports(lat, lon, radiusKm, boundedLimit);
+        return ok(results, etag, version);
     }
     
     @GetMapping("/paged")
@@ -124,15 +206,22 @@ public class AirportController {
     })
     public ResponseEntity<Airport> getAirportByCode(
             @Parameter(description = "IATA code of the airport", required = true)
-            @PathVariable String code) {
+            @PathVariable String code,
+
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
+        Instant version = airportService.getDataVersion();
+        String etag = airportsETag(version);
+        if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+            return HttpCaching.notModified(etag, httpCacheConfig.airportsCacheControl());
+        }
         logger.info("Getting airport by code: {}", code);
         return airportService.getAirportByCode(code)
                 .map(airport -> {
                     logger.info("Found airport: {} ({}) - {}, {}, {}", 
                             airport.getCity(), airport.getCode(), airport.getName(), 
                             airport.getState() != null ? airport.getState() : "", airport.getCountry());
-                    return ResponseEntity.ok(airport);
+                    return ok(airport, etag, version);
                 })
                 .orElseGet(() -> {
                     logger.warn("Airport not found with code: {}", code);
@@ -140,6 +229,52 @@ public class AirportController {
                 });
     }
     
+    @PostMapping("/refresh-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Reload airport directory",
+        description = "Reloads the in-memory airport data used for flight enrichment and city resolution"
+    )
+    @ApiResponse(responseCode = "200", description = "Airport directory reloaded")
+    public ResponseEntity<?> refreshAirportDirectory() {
+        logger.info("Admin reloading airport directory");
+        int count = airportService.refreshAirportDirectory();
+        return ResponseEntity.ok(Map.of("airports", count));
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Bulk import airports",
+        description = "Upserts airports by IATA code from a CSV file (our columns or the OurAirports airports.csv layout) and swaps the in-memory airport indexes once the import is committed"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; counts of upserted, skipped and rejected rows, and directoryError if the airport directory could not be reloaded"),
+        @ApiResponse(responseCode = "400", description = "Missing file, missing required columns or malformed CSV"),
+        @ApiResponse(responseCode = "409", description = "Another import is already running")
+    })
+    public ResponseEntity<?> importAirports(
+            @Parameter(description = "CSV file with a header row", required = true)
+            @RequestParam("file") MultipartFile file) {
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("CSV file is empty"));
+        }
+        logger.info("Admin importing airports from {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        try (InputStream in = file.getInputStream()) {
+            AirportImportResult result = airportImportService.importCsv(in);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected airport import: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        } catch (IOException e) {
+            logger.error("Error reading airport import file: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new ErrorResponse("Could not read CSV file: " + e.getMessage()));
+        }
+    }
+    
     // Helper class for error responses
     private static class ErrorResponse {
         private String message;
@@ -152,4 +287,17 @@ public class AirportController {
             return message;
         }
     }
-} 
\ No newline at end of file
+
+    // Every airport response is a function of the directory snapshot, so its load time is the validator
+    private static String airportsETag(Instant version) {
+        return HttpCaching.etag("airports-" + version.toEpochMilli());
+    }
+
+    private <T> ResponseEntity<T> ok(T body, String etag, Instant version) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(version)
+                .cacheControl(httpCacheConfig.airportsCacheControl())
+                .body(body);
+    }
+}
@@ -1,25 +1,60 @@
 package com.example.ticket_booking_backend.controller;
 
-import com.example.ticket_booking_backend.config.ApiQuotaConfig;
 import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.config.HttpCacheConfig;
+import com.example.ticket_booking_backend.dto.DestinationSummaryDTO;
+import com.example.ticket_booking_backend.dto.FareCalendarDayDTO;
+import com.example.ticket_booking_backend.dto.FlightImportProgress;
+import com.example.ticket_booking_backend.dto.FlightListingQuery;
+import com.example.ticket_booking_backend.dto.FlightPatchRequest;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.dto.FlightUpsertResult;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import com.example.ticket_booking_backend.dto.ItineraryDTO;
+import com.example.ticket_booking_backend.dto.MultiCitySearchRequest;
+import com.example.ticket_booking_backend.dto.TripOptionDTO;
+import com.example.ticket_booking_backend.exception.FlightHasBookingsException;
+import com.example.ticket_booking_backend.exception.SearchDeadlineExceededException;
 import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.service.AmadeusApiClient;
+import com.example.ticket_booking_backend.service.ApiQuotaService;
+import com.example.ticket_booking_backend.service.DestinationExplorerService;
+import com.example.ticket_booking_backend.service.FlightDetailCache.FlightDetails;
+import com.example.ticket_booking_backend.service.FlightListingService;
+import com.example.ticket_booking_backend.service.FlightScheduleImportService;
+import com.example.ticket_booking_backend.service.FlightScheduleImportService.ScheduleFormat;
 import com.example.ticket_booking_backend.service.FlightService;
+import com.example.ticket_booking_backend.service.ItinerarySearchService;
+import com.example.ticket_booking_backend.service.SeatService;
+import com.example.ticket_booking_backend.service.TripSearchService;
 import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.util.HttpCaching;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,34 +66,53 @@ public class FlightController {
     private static final Logger logger = LoggerFactory.getLogger(FlightController.class);
     private final FlightService flightService;
     private final AppFeatureConfig appFeatureConfig;
-    private final ApiQuotaConfig apiQuotaConfig;
+    private final ApiQuotaService apiQuotaService;
+    private final AmadeusApiClient amadeusApiClient;
     private final FlightRepository flightRepository;
+    private final ItinerarySearchService itinerarySearchService;
+    private final TripSearchService tripSearchService;
+    private final DestinationExplorerService destinationExplorerService;
+    private final SeatService seatService;
+    private final FlightListingService flightListingService;
+    private final HttpCacheConfig httpCacheConfig;
+    private final FlightScheduleImportService flightScheduleImportService;
 
     @Autowired
     public FlightController(FlightService flightService, 
                             AppFeatureConfig appFeatureConfig,
-                            ApiQuotaConfig apiQuotaConfig,
-                            FlightRepository flightRepository) {
+                            ApiQuotaService apiQuotaService,
+                            AmadeusApiClient amadeusApiClient,
+                            FlightRepository flightRepository,
+                            ItinerarySearchService itinerarySearchService,
+                            TripSearchService tripSearchService,
+                            DestinationExplorerService destinationExplorerService,
+                            SeatService seatService,
+                            FlightListingService flightListingService,
+                            HttpCacheConfig httpCacheConfig,
+                            FlightScheduleImportService flightScheduleImportService) {
         this.flightService = flightService;
         this.appFeatureConfig = appFeatureConfig;
-        this.apiQuotaConfig = apiQuotaConfig;
+        this.apiQuotaService = apiQuotaService;
+        this.amadeusApiClient = amadeusApiClient;
         this.flightRepository = flightRepository;
+        this.itinerarySearchService = itinerarySearchService;
+        this.tripSearchService = tripSearchService;
+        this.destinationExplorerService = destinationExplorerService;
+        this.seatService = seatService;
+        this.flightListingService = flightListingService;
+        this.httpCacheConfig = httpCacheConfig;
+        this.flightScheduleImportService = flightScheduleImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Flight>> getAllFlights() {
+    public ResponseEntity<List<FlightSummaryDTO>> getAllFlights() {
         try {
             logger.info("Fetching all flights");
-            List<Flight> flights = flightService.getAllFlights();
+            // Past departures are filtered in the query; seats are counted, not loaded
+            List<FlightSummaryDTO> futureFlights = flightService.getUpcomingFlightSummaries();
             
-            // Filter out flights with departure times in the past
-            LocalDateTime now = LocalDateTime.now();
-            List<Flight> futureFlights = flights.stream()
-                .filter(flight -> flight.getDepartureTime().isAfter(now))
-                .collect(Collectors.toList());
-            
-            logger.info("Filtered to {} future flights out of {} total flights", futureFlights.size(), flights.size());
-            return ResponseEntity.ok(futureFlights);
+            logger.info("Found {} future flights", futureFlights.size());
+            return ResponseEntity.ok().cacheControl(httpCacheConfig.flightListCacheControl()).body(futureFlights);
         } catch (Exception e) {
             logger.error("Error fetching all flights: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -68,10 +122,10 @@ public class FlightController {
     // Admin endpoint to get all flights including past flights
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Flight>> getAllFlightsAdmin() {
+    public ResponseEntity<List<FlightSummaryDTO>> getAllFlightsAdmin() {
         try {
             logger.info("Admin fetching all flights including past flights");
-            List<Flight> flights = flightService.getAllFlights();
+            List<FlightSummaryDTO> flights = flightService.getAllFlightSummaries();
             return ResponseEntity.ok(flights);
         } catch (Exception e) {
             logger.error("Error fetching all flights for admin: ", e);
@@ -79,11 +133,90 @@ public class FlightController {
         }
     }
 
+    /**
+     * Paginated listing of upcoming flights. Filters are optional; pass the returned nextCursor
+     * to get the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getFlightPage(
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String airline,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) FlightStatus status,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+            @RequestParam(defaultValue = "DEPARTURE_ASC") FlightListingQuery.Sort sort,
+            @RequestParam(defaultValue = "0") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        return listFlights(listingQuery(origin, destination, airline, minPrice, maxPrice, status, from, to, sort, size, cursor),
+                false);
+    }
+
+    // Admin variant of the paginated listing that includes past flights
+    @GetMapping("/all/page")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getFlightPageAdmin(
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) String airline,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) FlightStatus status,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to,
+            @RequestParam(defaultValue = "DEPARTURE_ASC") FlightListingQuery.Sort sort,
+            @RequestParam(defaultValue = "0") int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        return listFlights(listingQuery(origin, destination, airline, minPrice, maxPrice, status, from, to, sort, size, cursor),
+                true);
+    }
+
+    private ResponseEntity<?> listFlights(FlightListingQuery query, boolean includePast) {
+        try {
+            logger.info("Listing flights page: {}", query);
+            return ResponseEntity.ok()
+                    .cacheControl(includePast ? CacheControl.noStore() : httpCacheConfig.flightListCacheControl())
+                    .body(flightListingService.listFlights(query, includePast));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid flight listing request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error listing flights: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error listing flights: " + e.getMessage());
+        }
+    }
+
+    private static FlightListingQuery listingQuery(String origin, String destination, String airline,
+                                                   Double minPrice, Double maxPrice, FlightStatus status,
+                                                   LocalDate from, LocalDate to, FlightListingQuery.Sort sort,
+                                                   int size, String cursor) {
+        FlightListingQuery query = new FlightListingQuery();
+        query.setOrigin(origin);
+        query.setDestination(destination);
+        query.setAirline(airline);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setStatus(status);
+        // Date range is inclusive of both days
+        query.setDepartureFrom(from != null ? from.atStartOfDay() : null);
+        query.setDepartureTo(to != null ? to.plusDays(1).atStartOfDay() : null);
+        query.setSort(sort);
+        query.setSize(size);
+        query.setCursor(cursor);
+        return query;
+    }
+
     @GetMapping("/search")
     public ResponseEntity<?> searchFlights(
             @RequestParam String origin,
             @RequestParam String destination,
-            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate departureDate
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate departureDate,
+            @RequestParam(required = false) Double nearbyRadiusKm
     ) {
         try {
             logger.info("Searching flights from {} to {} on {}", origin, destination, departureDate);
@@ -96,13 +229,24 @@ public class FlightController {
                     .body("Cannot search for flights in the past. Today is " + today);
             }
 
-            List<Flight> flights = flightService.searchFlights(
-                    origin.trim().toLowerCase(),
-                    destination.trim().toLowerCase(),
+            // Also search airports around the origin and destination when asked to
+            if (nearbyRadiusKm != null && nearbyRadiusKm > 0) {
+                return ResponseEntity.ok().cacheControl(httpCacheConfig.flightListCacheControl())
+                        .body(tripSearchService.searchWithNearbyAirports(
+                                origin.trim(), destination.trim(), departureDate, nearbyRadiusKm));
+            }
+
+            // Case normalization happens once in FlightService when resolving airport codes
+            List<FlightSummaryDTO> flights = flightService.searchFlightSummaries(
+                    origin.trim(),
+                    destination.trim(),
                     departureDate
             );
 
-            return ResponseEntity.ok(flights);
+            return ResponseEntity.ok().cacheControl(httpCacheConfig.flightListCacheControl()).body(flights);
+        } catch (SearchDeadlineExceededException e) {
+            logger.warn("Nearby-airport search timed out: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error searching flights: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -110,23 +254,186 @@ public class FlightController {
         }
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getFlightById(@PathVariable Long id) {
+    /**
+     * Round-trip search: outbound and return legs run in parallel, options sorted by total price
+     */
+    @GetMapping("/search/round-trip")
+    public ResponseEntity<?> searchRoundTrip(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate departureDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate returnDate
+    ) {
         try {
-            logger.info("Fetching flight with ID: {}", id);
-            Flight flight = flightService.getFlightById(id);
+            logger.info("Searching round trip {} <-> {} leaving {} returning {}", 
+                    origin, destination, departureDate, returnDate);
+            List<TripOptionDTO> options = tripSearchService.searchRoundTrip(
+                    origin.trim(), destination.trim(), departureDate, returnDate);
+            return ResponseEntity.ok(options);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid round-trip search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SearchDeadlineExceededException e) {
+            logger.warn("Round-trip search timed out: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error searching round trip: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching round trip: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Multi-city search: every leg runs in parallel, options sorted by total price
+     */
+    @PostMapping("/search/multi-city")
+    public ResponseEntity<?> searchMultiCity(@RequestBody MultiCitySearchRequest request) {
+        try {
+            logger.info("Searching multi-city trip with {} legs", 
+                    request.getLegs() != null ? request.getLegs().size() : 0);
+            List<TripOptionDTO> options = tripSearchService.searchMultiCity(request.getLegs());
+            return ResponseEntity.ok(options);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid multi-city search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SearchDeadlineExceededException e) {
+            logger.warn("Multi-city search timed out: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error searching multi-city trip: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching multi-city trip: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Direct and connecting itineraries (up to maxStops intermediate stops), cheapest first
+     */
+    @GetMapping("/itineraries")
+    public ResponseEntity<?> searchItineraries(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate departureDate,
+            @RequestParam(defaultValue = "1") int maxStops
+    ) {
+        try {
+            logger.info("Searching itineraries from {} to {} on {} with up to {} stops", 
+                    origin, destination, departureDate, maxStops);
             
-            // Check if flight is in the past and return appropriate response
-            if (flight != null) {
-                if (flight.getDepartureTime().isBefore(LocalDateTime.now())) {
-                    logger.warn("Attempt to retrieve past flight with ID: {}", id);
-                    return ResponseEntity.badRequest()
-                        .body("Flight with ID " + id + " has already departed");
-                }
-                return ResponseEntity.ok(flight);
-            } else {
+            LocalDate today = LocalDate.now();
+            if (departureDate.isBefore(today)) {
+                return ResponseEntity.badRequest()
+                    .body("Cannot search for flights in the past. Today is " + today);
+            }
+            
+            List<ItineraryDTO> itineraries = itinerarySearchService.searchItineraries(
+                    flightService.resolveAirportCode(origin),
+                    flightService.resolveAirportCode(destination),
+                    departureDate,
+                    maxStops
+            );
+            return ResponseEntity.ok(itineraries);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid itinerary search: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error searching itineraries: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching itineraries: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Low-fare calendar: cheapest price and number of flights per day between two dates
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getFareCalendar(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate to
+    ) {
+        try {
+            logger.info("Fetching fare calendar from {} to {} between {} and {}", origin, destination, from, to);
+            
+            LocalDate today = LocalDate.now();
+            if (to.isBefore(today)) {
+                return ResponseEntity.badRequest()
+                    .body("Cannot build a fare calendar for dates in the past. Today is " + today);
+            }
+            
+            // Past days in the window have nothing bookable, start from today
+            LocalDate start = from.isBefore(today) ? today : from;
+            List<FareCalendarDayDTO> calendar = flightService.getFareCalendar(origin, destination, start, to);
+            return ResponseEntity.ok(calendar);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid fare calendar request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error fetching fare calendar: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching fare calendar: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Destination explorer: every destination reachable from the origin with its cheapest fare
+     * and earliest departure, optionally within one month, served from an in-memory aggregate
+     */
+    @GetMapping("/explore")
+    public ResponseEntity<?> exploreDestinations(
+            @RequestParam String origin,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month
+    ) {
+        try {
+            logger.info("Exploring destinations from {} in {}", origin, month != null ? month : "all upcoming months");
+            
+            YearMonth currentMonth = YearMonth.now();
+            if (month != null && month.isBefore(currentMonth)) {
+                return ResponseEntity.badRequest()
+                    .body("Cannot explore flights in the past. Current month is " + currentMonth);
+            }
+            
+            List<DestinationSummaryDTO> destinations = destinationExplorerService.explore(
+                    flightService.resolveAirportCode(origin), month);
+            return ResponseEntity.ok(destinations);
+        } catch (Exception e) {
+            logger.error("Error exploring destinations: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error exploring destinations: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getFlightById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        try {
+            // Served from the detail cache, which keeps the versions each copy was read at
+            Optional<FlightDetails> details = flightService.getFlightDetails(id);
+            if (details.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
+            Flight flight = details.get().flight();
+            LocalDateTime now = LocalDateTime.now();
+            String etag = details.get().versions(now).flightETag();
+            
+            // Check if flight is in the past and return appropriate response, whatever copy the client holds
+            if (flight.getDepartureTime().isBefore(now)) {
+                logger.warn("Attempt to retrieve past flight with ID: {}", id);
+                return ResponseEntity.badRequest()
+                    .body("Flight with ID " + id + " has already departed");
+            }
+            if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+                return HttpCaching.notModified(etag, httpCacheConfig.flightDetailCacheControl());
+            }
+
+            logger.info("Fetching flight with ID: {}", id);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(httpCacheConfig.flightDetailCacheControl())
+                    .body(flight);
         } catch (Exception e) {
             logger.error("Error fetching flight with ID {}: ", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -134,16 +441,47 @@ public class FlightController {
         }
     }
     
+    /**
+     * Seat map of a flight; list and search responses only carry seat counts
+     */
+    @GetMapping("/{id}/seats")
+    public ResponseEntity<?> getFlightSeats(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        try {
+            Optional<FlightVersionDTO> versions = flightService.getFlightVersions(id);
+            if (versions.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = versions.get().seatMapETag();
+            if (HttpCaching.isNotModified(ifNoneMatch, etag)) {
+                return HttpCaching.notModified(etag, httpCacheConfig.flightDetailCacheControl());
+            }
+
+            logger.info("Fetching seat map for flight ID: {}", id);
+            List<Seat> seats = seatService.getAllSeatsForFlight(id);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(httpCacheConfig.flightDetailCacheControl())
+                    .body(seats);
+        } catch (Exception e) {
+            logger.error("Error fetching seats for flight {}: ", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching seats: " + e.getMessage());
+        }
+    }
+    
     // Admin endpoint to get a flight by ID without the past flight check
     @GetMapping("/admin/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getFlightByIdAdmin(@PathVariable Long id) {
         try {
             logger.info("Admin fetching flight with ID: {}", id);
-            Flight flight = flightService.getFlightById(id);
+            Optional<FlightDetails> details = flightService.getFlightDetails(id);
             
-            if (flight != null) {
-                return ResponseEntity.ok(flight);
+            if (details.isPresent()) {
+                return ResponseEntity.ok(details.get().flight());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -184,6 +522,13 @@ public class FlightController {
             flight.setId(id);
             Flight updatedFlight = flightService.updateFlight(flight);
             return ResponseEntity.ok(updatedFlight);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid update for flight {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.warn("Concurrent update of flight {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Flight " + id + " was modified by someone else; reload it and try again");
         } catch (Exception e) {
             logger.error("Error updating flight with ID {}: ", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -191,20 +536,48 @@ public class FlightController {
         }
     }
     
-    // Delete a flight - admin only
+    // Partially update a flight - admin only; only the fields present in the body change
+    @PatchMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> patchFlight(@PathVariable Long id, @RequestBody FlightPatchRequest patch) {
+        try {
+            logger.info("Patching flight with ID: {}", id);
+            if (flightService.getFlightVersions(id).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            
+            flightService.patchFlight(id, patch);
+            // Seat counts come from a count query; the patched flight's seats are never loaded
+            return ResponseEntity.of(flightService.getFlightSummary(id));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid patch for flight {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.warn("Concurrent update of flight {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Flight " + id + " was modified by someone else; reload it and try again");
+        } catch (Exception e) {
+            logger.error("Error patching flight with ID {}: ", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating flight: " + e.getMessage());
+        }
+    }
+    
+    // Delete a flight that has no bookings, with its seats - admin only; booked flights are cancelled instead
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteFlight(@PathVariable Long id) {
         try {
             logger.info("Deleting flight with ID: {}", id);
-            Flight existingFlight = flightService.getFlightById(id);
-            
-            if (existingFlight == null) {
+            if (flightService.getFlightVersions(id).isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
             
             flightService.deleteFlight(id);
-            return ResponseEntity.ok("Flight deleted successfully");
+            return ResponseEntity.ok(Map.of("message", "Flight deleted successfully"));
+        } catch (FlightHasBookingsException e) {
+            logger.warn("Refused to delete flight {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error deleting flight with ID {}: ", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -212,6 +585,68 @@ public class FlightController {
         }
     }
     
+    // Bulk schedule import - admin only; runs in the background, poll the returned job for progress
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importSchedule(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(defaultValue = "CSV") String format) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("Schedule file is empty");
+        }
+        ScheduleFormat scheduleFormat;
+        try {
+            scheduleFormat = ScheduleFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown schedule format " + format + "; use CSV or SSIM");
+        }
+
+        Path upload = null;
+        try {
+            // The upload is gone once the request ends, the import is not
+            upload = Files.createTempFile("flight-import-", ".tmp");
+            file.transferTo(upload);
+            logger.info("Admin importing flight schedule from {} ({} bytes, {})",
+                    file.getOriginalFilename(), file.getSize(), scheduleFormat);
+            FlightImportProgress job = flightScheduleImportService.startImport(upload, file.getOriginalFilename(), scheduleFormat);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalStateException e) {
+            deleteQuietly(upload);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IOException e) {
+            deleteQuietly(upload);
+            logger.error("Error storing flight schedule upload: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Could not store schedule file: " + e.getMessage());
+        }
+    }
+    
+    // Progress of a schedule import - admin only
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<FlightImportProgress> getImportProgress(@PathVariable String jobId) {
+        return flightScheduleImportService.getProgress(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Recent schedule imports, newest first - admin only
+    @GetMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<FlightImportProgress>> getRecentImports() {
+        return ResponseEntity.ok(flightScheduleImportService.getRecentImports());
+    }
+    
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+    
     @PostMapping("/api-flight/save")
     public ResponseEntity<?> saveApiFlightToDatabase(@RequestBody Flight flight) {
         try {
@@ -226,6 +661,8 @@ public class FlightController {
             
             logger.info("API flight saved or found with ID: {}", savedFlight.getId());
             return ResponseEntity.ok(savedFlight);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             logger.error("Error saving API flight to database: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -233,6 +670,31 @@ public class FlightController {
         }
     }
     
+    /**
+     * Save a whole page of API search results in one round trip; flights already stored are
+     * matched by flight number and departure time and returned with created=false
+     */
+    @PostMapping("/api-flight/save-all")
+    public ResponseEntity<?> saveApiFlightsToDatabase(@RequestBody List<Flight> flights) {
+        try {
+            logger.info("Saving {} API flights to database", flights.size());
+            
+            if (flights.stream().anyMatch(flight -> !flight.isApiSourced())) {
+                return ResponseEntity.badRequest()
+                    .body("Only API-sourced flights can be saved with this endpoint");
+            }
+            
+            List<FlightUpsertResult> results = flightService.saveApiFlights(flights);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error saving API flights to database: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error saving API flights: " + e.getMessage());
+        }
+    }
+    
     /**
      * Check if an API flight already exists in the database
      * This helps prevent duplicate entries for the same flight
@@ -247,21 +709,11 @@ public class FlightController {
                     .body("Only API-sourced flights can be checked with this endpoint");
             }
             
-            // Use the same logic as in saveApiFlightToDatabase but without saving
-            LocalDateTime departureMinus = flight.getDepartureTime().minusMinutes(1);
-            LocalDateTime departurePlus = flight.getDepartureTime().plusMinutes(1);
-            
-            List<Flight> existingFlights = flightRepository.searchFlightsIgnoreCase(
-                flight.getOrigin(),
-                flight.getDestination(),
-                departureMinus,
-                departurePlus
-            );
-            
-            Flight existingFlight = existingFlights.stream()
-                .filter(f -> f.getFlightNumber().equalsIgnoreCase(flight.getFlightNumber()))
-                .findFirst()
-                .orElse(null);
+            // Same natural key saveApiFlightToDatabase upserts on
+            Flight existingFlight = flightRepository.findByFlightNumberAndDepartureTime(
+                Flight.normalizeFlightNumber(flight.getFlightNumber()),
+                flight.getDepartureTime()
+            ).orElse(null);
             
             if (existingFlight != null) {
                 logger.info("Found existing flight in database with ID {}: {}", 
@@ -307,9 +759,9 @@ public class FlightController {
         try {
             logger.info("Admin retrieving API usage statistics");
             return ResponseEntity.ok(
-                    "API calls this month: " + apiQuotaConfig.getCallsThisMonth() + 
-                    " / Max: " + apiQuotaConfig.getMaxCallsPerMonth() + 
-                    " (" + (apiQuotaConfig.getCallsThisMonth() * 100 / apiQuotaConfig.getMaxCallsPerMonth()) + "%)"
+                    "API calls this month: " + apiQuotaService.getCallsThisMonth() + 
+                    " / Max: " + apiQuotaService.getMaxCallsPerMonth() + 
+                    " (" + (apiQuotaService.getCallsThisMonth() * 100 / apiQuotaService.getMaxCallsPerMonth()) + "%)"
             );
         } catch (Exception e) {
             logger.error("Error retrieving API usage stats: ", e);
@@ -326,9 +778,11 @@ public class FlightController {
             logger.info("Admin retrieving API status");
             Map<String, Object> response = new HashMap<>();
             response.put("enabled", appFeatureConfig.isUseApi());
-            response.put("quotaRemaining", apiQuotaConfig.hasQuotaRemaining());
-            response.put("callsThisMonth", apiQuotaConfig.getCallsThisMonth());
-            response.put("maxCallsPerMonth", apiQuotaConfig.getMaxCallsPerMonth());
+            response.put("quotaRemaining", apiQuotaService.hasQuotaRemaining());
+            response.put("callsThisMonth", apiQuotaService.getCallsThisMonth());
+            response.put("maxCallsPerMonth", apiQuotaService.getMaxCallsPerMonth());
+            response.put("remainingBackgroundCalls", apiQuotaService.getRemainingBackgroundCalls());
+            response.put("resilience", amadeusApiClient.getResilienceMetrics());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
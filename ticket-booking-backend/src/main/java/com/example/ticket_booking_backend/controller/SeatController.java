@@ -1,10 +1,15 @@
 package com.example.ticket_booking_backend.controller;
 
+import com.example.ticket_booking_backend.config.HttpCacheConfig;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
 import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.service.FlightService;
 import com.example.ticket_booking_backend.service.SeatService;
+import com.example.ticket_booking_backend.util.HttpCaching;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/seats")
@@ -23,6 +29,12 @@ public class SeatController {
     @Autowired
     private SeatService seatService;
 
+    @Autowired
+    private FlightService flightService;
+
+    @Autowired
+    private HttpCacheConfig httpCacheConfig;
+
     @GetMapping("/available")
     public ResponseEntity<?> getAvailableSeats(@RequestParam Long flightId) {
         try {
@@ -42,15 +54,27 @@ public class SeatController {
 
     // Add this new endpoint for getting all seats
     @GetMapping("/flight/{flightId}")
-    public ResponseEntity<?> getAllSeatsForFlight(@PathVariable Long flightId) {
+    public ResponseEntity<?> getAllSeatsForFlight(
+            @PathVariable Long flightId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            // Seat-map version is read before the seats, so the tag is never newer than the body
+            Optional<FlightVersionDTO> versions = flightService.getFlightVersions(flightId);
+            String etag = versions.map(FlightVersionDTO::seatMapETag).orElse(null);
+            if (etag != null && HttpCaching.isNotModified(ifNoneMatch, etag)) {
+                return HttpCaching.notModified(etag, httpCacheConfig.flightDetailCacheControl());
+            }
+
             logger.info("Fetching all seats for flight ID: {}", flightId);
             List<Seat> seats = seatService.getAllSeatsForFlight(flightId);
             if (seats.isEmpty()) {
                 logger.warn("No seats found for flight ID: {}", flightId);
                 return ResponseEntity.ok().body("No seats found for this flight");
             }
-            return ResponseEntity.ok(seats);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(httpCacheConfig.flightDetailCacheControl())
+                    .body(seats);
         } catch (Exception e) {
             logger.error("Error fetching seats for flight {}: {}", flightId, e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -60,16 +60,16 @@ public class TestController {
             // Create sample flights
             Flight flight1 = new Flight();
             flight1.setFlightNumber("IX101");
-            flight1.setOrigin("Delhi");
-            flight1.setDestination("Mumbai");
+            flight1.setOrigin("DEL");
+            flight1.setDestination("BOM");
             flight1.setDepartureTime(LocalDateTime.now().plusDays(1));
             flight1.setArrivalTime(LocalDateTime.now().plusDays(1).plusHours(2));
             flight1.setPrice(5000.00);
 
             Flight flight2 = new Flight();
             flight2.setFlightNumber("IX102");
-            flight2.setOrigin("Mumbai");
-            flight2.setDestination("Bangalore");
+            flight2.setOrigin("BOM");
+            flight2.setDestination("BLR");
             flight2.setDepartureTime(LocalDateTime.now().plusDays(2));
             flight2.setArrivalTime(LocalDateTime.now().plusDays(2).plusHours(1));
             flight2.setPrice(4500.00);
@@ -0,0 +1,31 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk airport import
+ */
+@Getter
+@AllArgsConstructor
+public class AirportImportResult {
+    // Data rows read from the file, header excluded
+    private final long rowsRead;
+    // Rows inserted or updated
+    private final long upserted;
+    // Rows left out on purpose: no IATA code or a closed airport
+    private final long skipped;
+    // Rows that failed validation
+    private final long rejected;
+    // First few rejected rows with the reason, as "line N: reason"
+    private final List<String> errors;
+    // Flight origins and destinations linked to an airport they previously had no id for
+    private final long flightsLinked;
+    // Airports served by the in-memory directory after the swap
+    private final int airportsLoaded;
+    // Why the directory could not be reloaded after the commit, null if it was
+    private final String directoryError;
+    private final long durationMs;
+}
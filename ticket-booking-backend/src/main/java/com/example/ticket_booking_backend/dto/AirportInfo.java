@@ -0,0 +1,26 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.model.Airport;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Immutable copy of an airport row held by the in-memory airport directory
+ */
+@Getter
+@AllArgsConstructor
+public class AirportInfo {
+    private final Long id;
+    private final String code;
+    private final String name;
+    private final String city;
+    private final String state;
+    private final String country;
+    private final Double latitude;
+    private final Double longitude;
+
+    public static AirportInfo from(Airport airport) {
+        return new AirportInfo(airport.getId(), airport.getCode().trim().toUpperCase(), airport.getName(), airport.getCity(),
+                airport.getState(), airport.getCountry(), airport.getLatitude(), airport.getLongitude());
+    }
+}
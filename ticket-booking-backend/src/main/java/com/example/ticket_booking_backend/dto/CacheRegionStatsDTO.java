@@ -0,0 +1,23 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Hit/miss counters of one second-level or query cache region since startup (or the last reset)
+ */
+@Getter
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+    // Entries currently held, or -1 if the provider does not report it
+    private final long entries;
+
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
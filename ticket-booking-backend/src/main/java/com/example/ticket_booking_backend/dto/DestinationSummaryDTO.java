@@ -0,0 +1,20 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One reachable destination in the explorer: cheapest fare and earliest upcoming departure
+ */
+@Getter
+@AllArgsConstructor
+public class DestinationSummaryDTO {
+    private final String destination;
+    private final String destinationCity;
+    private final String destinationName;
+    private final double cheapestFare;
+    private final LocalDateTime earliestDeparture;
+    private final int flightCount;
+}
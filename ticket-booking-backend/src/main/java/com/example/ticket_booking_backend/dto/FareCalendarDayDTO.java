@@ -0,0 +1,23 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One day of the low-fare calendar: cheapest price and number of flights on that date
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDayDTO {
+    private LocalDate date;
+    private Double minPrice;
+    private int flightCount;
+
+    public static FareCalendarDayDTO empty(LocalDate date) {
+        return new FareCalendarDayDTO(date, null, 0);
+    }
+}
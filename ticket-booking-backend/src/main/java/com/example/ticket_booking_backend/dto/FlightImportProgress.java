@@ -0,0 +1,36 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of a bulk flight schedule import, running or finished
+ */
+@Getter
+@AllArgsConstructor
+public class FlightImportProgress {
+    private final String jobId;
+    private final String fileName;
+    // CSV or SSIM
+    private final String format;
+    // RUNNING, COMPLETED or FAILED
+    private final String status;
+    // Data lines read from the file so far, header excluded
+    private final long linesRead;
+    // Flights the lines expanded to (an SSIM record yields one flight per operating day)
+    private final long flightsRead;
+    // Flights written with their seat maps
+    private final long inserted;
+    // Flights already in the table (or earlier in the file) and left alone
+    private final long duplicates;
+    // Rows that failed validation, and flights in batches the database refused
+    private final long rejected;
+    // First few problems, as "line N: reason"
+    private final List<String> errors;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+    private final long durationMs;
+}
@@ -0,0 +1,57 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.model.FlightStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and sort order for the paginated flight listing. Every filter is optional and is
+ * applied in the query; cursor is the nextCursor of the previous page.
+ */
+@Data
+@NoArgsConstructor
+public class FlightListingQuery {
+    private String origin;
+    private String destination;
+    private String airline;
+    private Double minPrice;
+    private Double maxPrice;
+    private FlightStatus status;
+    private LocalDateTime departureFrom;
+    private LocalDateTime departureTo;
+    private Sort sort = Sort.DEPARTURE_ASC;
+    private int size;
+    private String cursor;
+
+    /**
+     * Listing orders; each is a seek key ending in the flight id so rows never tie
+     */
+    public enum Sort {
+        DEPARTURE_ASC("f.departureTime", true),
+        DEPARTURE_DESC("f.departureTime", false),
+        PRICE_ASC("f.priceMinor", true),
+        PRICE_DESC("f.priceMinor", false);
+
+        private final String column;
+        private final boolean ascending;
+
+        Sort(String column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        public boolean isByPrice() {
+            return column.equals("f.priceMinor");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the flight listing. nextCursor is null on the last page; there is deliberately
+ * no total count, which would cost a scan of every matching row on each request.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightPageDTO {
+    private final List<FlightSummaryDTO> flights;
+    private final String nextCursor;
+    private final boolean hasMore;
+}
@@ -0,0 +1,44 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Partial flight update: only non-null fields are changed. version, when given, must match the
+ * stored version or the update is rejected as a concurrent edit.
+ */
+@Data
+@NoArgsConstructor
+public class FlightPatchRequest {
+    private String flightNumber;
+    private String airline;
+    // Airport codes; city, state and name follow from the airport
+    private String origin;
+    private String destination;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private Double price;
+    private FlightStatus status;
+    private Long version;
+
+    /**
+     * Patch carrying every scalar field of a full flight body (PUT); seats are not part of it
+     */
+    public static FlightPatchRequest from(Flight flight) {
+        FlightPatchRequest patch = new FlightPatchRequest();
+        patch.setFlightNumber(flight.getFlightNumber());
+        patch.setAirline(flight.getAirline());
+        patch.setOrigin(flight.getOrigin());
+        patch.setDestination(flight.getDestination());
+        patch.setDepartureTime(flight.getDepartureTime());
+        patch.setArrivalTime(flight.getArrivalTime());
+        patch.setPrice(flight.getPrice());
+        patch.setStatus(flight.getStatus());
+        patch.setVersion(flight.getVersion());
+        return patch;
+    }
+}
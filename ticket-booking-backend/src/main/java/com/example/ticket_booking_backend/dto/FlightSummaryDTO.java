@@ -0,0 +1,82 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightAirports;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.util.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a flight: the fields shown in flight lists and search results plus
+ * seat counts, without the seat map. Built by JPQL constructor expressions so neither Flight
+ * entities nor their seats are loaded; the seat map is served by /api/flights/{id}/seats.
+ * Airport cities and names are resolved from the airport ids when read, like Flight's.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightSummaryDTO {
+    private final Long id;
+    private final String flightNumber;
+    private final String airline;
+    private final String origin;
+    @JsonIgnore
+    private final Long originAirportId;
+    private final String destination;
+    @JsonIgnore
+    private final Long destinationAirportId;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    @JsonIgnore
+    private final long priceMinor;
+    private final String currency;
+    private final FlightStatus status;
+    private final Boolean apiSourced;
+    private final String apiId;
+    private final long availableSeats;
+    private final long totalSeats;
+
+    /**
+     * Summary of a flight that is already in memory (API search results)
+     */
+    public static FlightSummaryDTO from(Flight flight) {
+        long available;
+        long total;
+        if (flight.getSeats() == null || flight.getSeats().isEmpty()) {
+            // Unsaved API offers carry no seat map, only their open seat count
+            available = flight.isApiSourced() ? flight.getAvailableSeats() : 0;
+            total = flight.isApiSourced() ? Flight.CABIN_SEATS : 0;
+        } else {
+            available = flight.getSeats().stream().filter(Seat::isAvailable).count();
+            total = flight.getSeats().size();
+        }
+        return new FlightSummaryDTO(flight.getId(), flight.getFlightNumber(), flight.getAirline(),
+                flight.getOrigin(), flight.getOriginAirportId(), flight.getDestination(), flight.getDestinationAirportId(),
+                flight.getDepartureTime(), flight.getArrivalTime(), flight.getPriceMinor(), flight.getCurrency(), flight.getStatus(),
+                flight.isApiSourced(), flight.getApiId(), available, total);
+    }
+
+    public double getPrice() {
+        return Money.toMajorUnits(priceMinor, currency);
+    }
+
+    public String getOriginCity() {
+        return FlightAirports.attribute(originAirportId, AirportInfo::getCity);
+    }
+
+    public String getOriginName() {
+        return FlightAirports.attribute(originAirportId, AirportInfo::getName);
+    }
+
+    public String getDestinationCity() {
+        return FlightAirports.attribute(destinationAirportId, AirportInfo::getCity);
+    }
+
+    public String getDestinationName() {
+        return FlightAirports.attribute(destinationAirportId, AirportInfo::getName);
+    }
+}
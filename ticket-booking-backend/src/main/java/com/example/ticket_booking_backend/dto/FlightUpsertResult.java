@@ -0,0 +1,22 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of saving one API flight: the stored row and whether the save created it
+ */
+@Getter
+@AllArgsConstructor
+public class FlightUpsertResult {
+    // Database id of the flight, new or existing
+    private final Long id;
+    // Offer id the flight came from
+    private final String apiId;
+    private final String flightNumber;
+    private final LocalDateTime departureTime;
+    // False if the flight was already stored
+    private final boolean created;
+}
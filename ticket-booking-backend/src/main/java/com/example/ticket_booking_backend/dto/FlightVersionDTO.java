@@ -0,0 +1,37 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.util.HttpCaching;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versions of a flight and its seat map, read without loading either, for HTTP validators.
+ *
+ * lapsedHolds counts seat holds that have expired but not yet been released by the cleanup
+ * job: seats serialize their hold state relative to the current time, so the representation
+ * changes when a hold lapses even though no row did.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightVersionDTO {
+    private final Long id;
+    private final Long version;
+    private final Long seatMapVersion;
+    private final LocalDateTime departureTime;
+    private final long lapsedHolds;
+
+    // Flight details embed the seat map, so both versions go into their tag
+    public String flightETag() {
+        return HttpCaching.etag("flight-" + id + "-" + version + "-" + seatMapETagPart());
+    }
+
+    public String seatMapETag() {
+        return HttpCaching.etag("seats-" + id + "-" + seatMapETagPart());
+    }
+
+    private String seatMapETagPart() {
+        return seatMapVersion + "." + lapsedHolds;
+    }
+}
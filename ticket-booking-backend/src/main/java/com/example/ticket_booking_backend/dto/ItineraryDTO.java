@@ -0,0 +1,38 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.util.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A direct or connecting journey made of one or more legs
+ */
+@Getter
+public class ItineraryDTO {
+    private final List<ItineraryLegDTO> legs;
+    @JsonIgnore
+    private final long totalPriceMinor;
+    private final String currency;
+    private final int stops;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    private final long durationMinutes;
+
+    public ItineraryDTO(List<ItineraryLegDTO> legs, long totalPriceMinor) {
+        this.legs = List.copyOf(legs);
+        this.totalPriceMinor = totalPriceMinor;
+        this.currency = legs.get(0).getCurrency();
+        this.stops = legs.size() - 1;
+        this.departureTime = legs.get(0).getDepartureTime();
+        this.arrivalTime = legs.get(legs.size() - 1).getArrivalTime();
+        this.durationMinutes = Duration.between(departureTime, arrivalTime).toMinutes();
+    }
+
+    public double getTotalPrice() {
+        return Money.toMajorUnits(totalPriceMinor, currency);
+    }
+}
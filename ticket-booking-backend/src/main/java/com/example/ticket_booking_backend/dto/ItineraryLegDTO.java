@@ -0,0 +1,31 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.util.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight, immutable view of a scheduled flight used as an edge in the connection graph.
+ * Built directly by a JPQL constructor expression so no Flight entities (or seats) are loaded.
+ */
+@Getter
+@AllArgsConstructor
+public class ItineraryLegDTO {
+    private final Long flightId;
+    private final String flightNumber;
+    private final String airline;
+    private final String origin;
+    private final String destination;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    @JsonIgnore
+    private final long priceMinor;
+    private final String currency;
+
+    public double getPrice() {
+        return Money.toMajorUnits(priceMinor, currency);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request body for a multi-city search: an ordered list of legs searched in parallel
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiCitySearchRequest {
+    private List<SearchLeg> legs = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchLeg {
+        private String origin;
+        private String destination;
+        private LocalDate departureDate;
+    }
+}
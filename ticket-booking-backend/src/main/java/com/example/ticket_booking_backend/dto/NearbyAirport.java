@@ -0,0 +1,14 @@
+package com.example.ticket_booking_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An airport found by a radius search, with its great-circle distance from the search point
+ */
+@Getter
+@AllArgsConstructor
+public class NearbyAirport {
+    private final AirportInfo airport;
+    private final double distanceKm;
+}
@@ -0,0 +1,28 @@
+package com.example.ticket_booking_backend.dto;
+
+import com.example.ticket_booking_backend.util.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One combination of flights covering every leg of a round-trip or multi-city search
+ */
+@Getter
+public class TripOptionDTO {
+    private final List<FlightSummaryDTO> flights;
+    @JsonIgnore
+    private final long totalPriceMinor;
+    private final String currency;
+
+    public TripOptionDTO(List<FlightSummaryDTO> flights) {
+        this.flights = List.copyOf(flights);
+        this.totalPriceMinor = flights.stream().mapToLong(FlightSummaryDTO::getPriceMinor).sum();
+        this.currency = flights.isEmpty() ? Money.DEFAULT_CURRENCY : flights.get(0).getCurrency();
+    }
+
+    public double getTotalPrice() {
+        return Money.toMajorUnits(totalPriceMinor, currency);
+    }
+}
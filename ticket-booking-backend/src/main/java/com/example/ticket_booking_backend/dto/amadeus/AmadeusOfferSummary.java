@@ -0,0 +1,24 @@
+package com.example.ticket_booking_backend.dto.amadeus;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of one Amadeus flight offer that search actually uses (first segment of the
+ * first itinerary plus the total price), read straight from the response stream
+ */
+@Getter
+@AllArgsConstructor
+public class AmadeusOfferSummary {
+    private final String offerId;
+    private final String carrierCode;
+    private final String flightNumber;
+    private final String origin;
+    private final String destination;
+    private final LocalDateTime departureTime;
+    private final LocalDateTime arrivalTime;
+    private final double price;
+    private final String currency;
+}
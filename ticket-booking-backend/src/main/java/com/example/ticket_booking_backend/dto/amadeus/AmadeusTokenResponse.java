@@ -17,8 +17,13 @@ public class AmadeusTokenResponse {
     private long tokenCreationTimestamp = System.currentTimeMillis();
     
     public boolean isExpired() {
+        return expiresWithin(0);
+    }
+    
+    // True if the token is already expired or will expire within the given number of milliseconds
+    public boolean expiresWithin(long millis) {
         long currentTime = System.currentTimeMillis();
-        long expiryTime = tokenCreationTimestamp + (expiresIn * 1000);
-        return currentTime >= expiryTime;
+        long expiryTime = tokenCreationTimestamp + (expiresIn * 1000L);
+        return currentTime + millis >= expiryTime;
     }
 } 
\ No newline at end of file
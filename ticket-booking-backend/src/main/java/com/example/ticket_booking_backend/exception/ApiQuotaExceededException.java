@@ -0,0 +1,8 @@
+package com.example.ticket_booking_backend.exception;
+
+public class ApiQuotaExceededException extends RuntimeException {
+    
+    public ApiQuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.ticket_booking_backend.exception;
+
+/**
+ * The per-second API rate limit refused a call; unlike the monthly quota this clears within
+ * moments, so callers that can wait may back off and retry
+ */
+public class ApiRateLimitedException extends ApiQuotaExceededException {
+
+    public ApiRateLimitedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ticket_booking_backend.exception;
+
+/**
+ * A flight with bookings cannot be deleted; its booking history is kept and the flight is
+ * cancelled instead
+ */
+public class FlightHasBookingsException extends RuntimeException {
+    private final Long flightId;
+    private final long bookings;
+
+    public FlightHasBookingsException(Long flightId, long bookings) {
+        super(String.format("Flight %d has %d booking(s); cancel it instead of deleting it", flightId, bookings));
+        this.flightId = flightId;
+        this.bookings = bookings;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    public long getBookings() {
+        return bookings;
+    }
+}
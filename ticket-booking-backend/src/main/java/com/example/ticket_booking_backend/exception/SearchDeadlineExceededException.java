@@ -0,0 +1,16 @@
+package com.example.ticket_booking_backend.exception;
+
+import java.time.Duration;
+
+public class SearchDeadlineExceededException extends RuntimeException {
+    private final Duration deadline;
+    
+    public SearchDeadlineExceededException(Duration deadline) {
+        super(String.format("Flight search did not complete within %d seconds", deadline.getSeconds()));
+        this.deadline = deadline;
+    }
+    
+    public Duration getDeadline() {
+        return deadline;
+    }
+}
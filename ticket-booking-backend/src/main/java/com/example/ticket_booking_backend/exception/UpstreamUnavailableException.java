@@ -0,0 +1,11 @@
+package com.example.ticket_booking_backend.exception;
+
+/**
+ * An upstream call was not attempted because its circuit breaker is open or its bulkhead is full
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ticket_booking_backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Upstream API calls made in one calendar month (period "yyyy-MM"), shared by all nodes
+ */
+@Entity
+@Table(name = "api_usage")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiUsage {
+
+    @Id
+    @Column(length = 7)
+    private String period;
+
+    @Column(nullable = false)
+    private long calls;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
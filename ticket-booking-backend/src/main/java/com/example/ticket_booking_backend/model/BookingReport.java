@@ -1,5 +1,6 @@
 package com.example.ticket_booking_backend.model;
 
+import com.example.ticket_booking_backend.util.Money;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,7 +32,7 @@ public class BookingReport {
         report.setDepartureTime(booking.getFlight().getDepartureTime());
         report.setArrivalTime(booking.getFlight().getArrivalTime());
         report.setSeatNumbers(booking.getSeats() != null ? booking.getSeats().stream().map(s -> s.getSeatNumber()).reduce((a, b) -> a + ", " + b).orElse("") : "");
-        report.setAmount(java.math.BigDecimal.valueOf(booking.getFlight().getPrice()));
+        report.setAmount(Money.toDecimal(booking.getFlight().getPriceMinor(), booking.getFlight().getCurrency()));
         report.setPaymentStatus(booking.getStatus().name());
         report.setBookingDate(booking.getBookingTime());
         report.setStatus(booking.getStatus().name());
@@ -1,8 +1,16 @@
 package com.example.ticket_booking_backend.model;
 
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.util.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -12,9 +20,25 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "flights")
+// Second-level cached (region "flights", see application.conf); the seats collection is not
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "flights")
+// Updates set only the changed columns
+@DynamicUpdate
+@Table(name = "flights", indexes = {
+        // Route search index - origin/destination are stored upper-cased so equality predicates can use it
+        @Index(name = "idx_flights_route_departure", columnList = "origin, destination, departure_time"),
+        // Seek keys of the paginated listing (sort column, then id as the tie-breaker)
+        @Index(name = "idx_flights_departure_id", columnList = "departure_time, id"),
+        @Index(name = "idx_flights_price_id", columnList = "price_minor, id"),
+        // Natural key: one departure per flight number and time (target of the ON CONFLICT upserts)
+        @Index(name = "uq_flights_number_departure", columnList = "flight_number, departure_time", unique = true)
+})
 public class Flight {
 
+    // Seats of the A1-F10 cabin every stored flight is created with
+    public static final int CABIN_SEATS = 60;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,26 +52,18 @@ public class Flight {
     @Column(nullable = false)
     private String origin;
 
-    @Column
-    private String originCity;
-
-    @Column
-    private String originState;
-
-    @Column
-    private String originName;
+    // Airport of the origin code, null if the airport directory does not know it; city, state
+    // and name are resolved from it when read (see FlightAirports), not stored per flight
+    @JsonIgnore
+    @Column(name = "origin_airport_id")
+    private Long originAirportId;
 
     @Column(nullable = false)
     private String destination;
 
-    @Column
-    private String destinationCity;
-
-    @Column
-    private String destinationState;
-
-    @Column
-    private String destinationName;
+    @JsonIgnore
+    @Column(name = "destination_airport_id")
+    private Long destinationAirportId;
 
     @Column(nullable = false)
     private LocalDateTime departureTime;
@@ -55,8 +71,18 @@ public class Flight {
     @Column(nullable = false)
     private LocalDateTime arrivalTime;
 
-    @Column(nullable = false)
-    private double price;
+    // Fare in minor units of currency (paise for INR), so fare arithmetic is exact; getPrice() and
+    // setPrice() convert to and from the decimal price the API exposes
+    @JsonIgnore
+    @Column(name = "price_minor", nullable = false)
+    private long priceMinor;
+
+    // ISO 4217 code of the fare; read-only in JSON and only changed together with the fare
+    // (setPrice(price, currency)), so a decimal price is never converted in a stale currency
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Setter(AccessLevel.NONE)
+    @Column(length = 3, nullable = false)
+    private String currency = Money.DEFAULT_CURRENCY;
 
     @Column
     private Integer availableSeats = 0;
@@ -73,6 +99,22 @@ public class Flight {
     @Column
     private String apiId;
 
+    public double getPrice() {
+        return Money.toMajorUnits(priceMinor, currency);
+    }
+
+    /**
+     * Set the fare in DEFAULT_CURRENCY, the currency every stored fare is kept in
+     */
+    public void setPrice(double price) {
+        setPrice(price, Money.DEFAULT_CURRENCY);
+    }
+
+    public void setPrice(double price, String currency) {
+        this.priceMinor = Money.toMinorUnits(price, currency);
+        this.currency = currency;
+    }
+
     // Safe getter to handle null values
     public boolean isApiSourced() {
         return apiSourced != null ? apiSourced : false;
@@ -93,8 +135,15 @@ public class Flight {
         this.availableSeats = availableSeats != null ? availableSeats : 0;
     }
 
+    // Optimistic-lock version, bumped by every update of the flight row; part of the flight ETag.
+    // Left null on new flights so Spring Data still treats them as new
+    @Version
+    private Long version;
+
     @JsonManagedReference  // This stays as JsonManagedReference
     @OneToMany(mappedBy = "flight", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Seat changes are tracked by the seats' own versions and must not bump (or conflict on) the flight version
+    @OptimisticLock(excluded = true)
     private List<Seat> seats = new ArrayList<>();
 
     // Helper method to add a seat
@@ -109,21 +158,55 @@ public class Flight {
         seat.setFlight(null);
     }
 
-    // Getters and setters for originState
+    /**
+     * Normalizes airport codes and the flight number before every insert/update so route searches
+     * can compare with plain equality instead of LOWER(...) on both sides, and "ai 101" and
+     * "AI101" are the same natural key
+     */
+    @PrePersist
+    @PreUpdate
+    public void normalizeRoute() {
+        this.origin = normalizeAirportCode(origin);
+        this.destination = normalizeAirportCode(destination);
+        this.flightNumber = normalizeFlightNumber(flightNumber);
+    }
+
+    /**
+     * Trims and upper-cases an airport code; null stays null
+     */
+    public static String normalizeAirportCode(String code) {
+        return code != null ? code.trim().toUpperCase() : null;
+    }
+
+    /**
+     * Drops whitespace from and upper-cases a flight number; null stays null
+     */
+    public static String normalizeFlightNumber(String flightNumber) {
+        return flightNumber != null ? flightNumber.replaceAll("\\s+", "").toUpperCase() : null;
+    }
+
+    // Airport details for the API, ticket PDFs and emails, from the shared airport copies
+    public String getOriginCity() {
+        return FlightAirports.attribute(originAirportId, AirportInfo::getCity);
+    }
+
     public String getOriginState() {
-        return originState;
+        return FlightAirports.attribute(originAirportId, AirportInfo::getState);
+    }
+
+    public String getOriginName() {
+        return FlightAirports.attribute(originAirportId, AirportInfo::getName);
     }
-    
-    public void setOriginState(String originState) {
-        this.originState = originState;
+
+    public String getDestinationCity() {
+        return FlightAirports.attribute(destinationAirportId, AirportInfo::getCity);
     }
-    
-    // Getters and setters for destinationState
+
     public String getDestinationState() {
-        return destinationState;
+        return FlightAirports.attribute(destinationAirportId, AirportInfo::getState);
     }
-    
-    public void setDestinationState(String destinationState) {
-        this.destinationState = destinationState;
+
+    public String getDestinationName() {
+        return FlightAirports.attribute(destinationAirportId, AirportInfo::getName);
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.ticket_booking_backend.model;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+
+import java.util.function.Function;
+
+/**
+ * Resolves the airport ids flights carry to the shared, immutable airport copies held by the
+ * in-memory AirportDirectory, which registers itself at startup.
+ *
+ * Flights reference their origin and destination airports by id rather than copying city, state
+ * and name into every row and every loaded or cached Flight. Getters such as
+ * Flight.getOriginCity() look the airport up when they are read, typically by the JSON
+ * serializer, so all flights of an airport share one instance and pick up airport edits on the
+ * next directory refresh. Before registration, and for ids the directory does not know, nothing
+ * resolves.
+ */
+public final class FlightAirports {
+    private static volatile Function<Long, AirportInfo> resolver = id -> null;
+
+    private FlightAirports() {
+    }
+
+    public static void register(Function<Long, AirportInfo> airportById) {
+        resolver = airportById;
+    }
+
+    /**
+     * The airport with this id, or null
+     */
+    public static AirportInfo resolve(Long airportId) {
+        return airportId != null ? resolver.apply(airportId) : null;
+    }
+
+    /**
+     * One attribute of the airport with this id, or null
+     */
+    public static String attribute(Long airportId, Function<AirportInfo, String> attribute) {
+        AirportInfo airport = resolve(airportId);
+        return airport != null ? attribute.apply(airport) : null;
+    }
+}
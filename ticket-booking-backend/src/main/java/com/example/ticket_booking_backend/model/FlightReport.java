@@ -21,6 +21,7 @@ public class FlightReport {
     private Map<String, Integer> searchDistribution;
 
     // Price Analysis
+    private String currency;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private BigDecimal averagePrice;
@@ -17,6 +17,7 @@ public class RevenueReport {
 
     // Monthly/Annual Revenue
     private String period; // "MONTHLY" or "ANNUAL"
+    private String currency; // ISO 4217 code of every amount in the report
     private int year;
     private int month; // 1-12 for monthly reports
     private BigDecimal periodTotalRevenue;
@@ -2,6 +2,7 @@ package com.example.ticket_booking_backend.model;
 
 import com.example.ticket_booking_backend.dto.SeatUpdateDTO;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,10 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", indexes = {
+        // Seat counts per flight for the list-view projection (index-only scans)
+        @Index(name = "idx_seats_flight_available", columnList = "flight_id, available")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,6 +42,12 @@ public class Seat {
     @Column(name = "held_by")
     private Long heldByUserId;
 
+    // Incremented by a row trigger (db/add-flight-versions.sql) on every update of this seat, whichever
+    // code path made it; the flight's seat-map version is derived from these. Read-only here
+    @JsonIgnore
+    @Column(name = "version", insertable = false, updatable = false)
+    private Long version;
+
     @JsonBackReference
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flight_id", nullable = false)
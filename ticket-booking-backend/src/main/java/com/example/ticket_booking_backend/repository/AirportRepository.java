@@ -3,13 +3,30 @@ package com.example.ticket_booking_backend.repository;
 import com.example.ticket_booking_backend.model.Airport;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import java.util.List;
 import java.util.Optional;
 
 public interface AirportRepository extends JpaRepository<Airport, Long> {
+    // Read-mostly lookups go through the query cache (region "airport-queries"); any write to
+    // airports through Hibernate invalidates them, JDBC imports evict via EntityCacheService
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "airport-queries")
+    })
     Optional<Airport> findByCode(String code);
+
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "airport-queries")
+    })
+    List<Airport> findAll();
     
     @Query("SELECT a FROM Airport a WHERE " +
            "LOWER(a.code) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
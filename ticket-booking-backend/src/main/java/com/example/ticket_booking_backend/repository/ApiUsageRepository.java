@@ -0,0 +1,21 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.model.ApiUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface ApiUsageRepository extends JpaRepository<ApiUsage, String> {
+
+    // Additive upsert so concurrent flushes from several nodes never lose increments
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO api_usage (period, calls, updated_at) VALUES (:period, :delta, NOW()) " +
+                   "ON CONFLICT (period) DO UPDATE SET calls = api_usage.calls + EXCLUDED.calls, updated_at = NOW()",
+           nativeQuery = true)
+    void addCalls(@Param("period") String period, @Param("delta") long delta);
+}
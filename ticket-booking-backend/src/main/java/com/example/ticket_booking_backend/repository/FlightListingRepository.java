@@ -0,0 +1,18 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.dto.FlightListingQuery;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Dynamic listing query mixed into FlightRepository; implemented by FlightListingRepositoryImpl
+ */
+public interface FlightListingRepository {
+
+    /**
+     * Up to limit summaries matching the query's filters, in its sort order, starting after the
+     * row whose sort key and id are afterKey and afterId (from the start when afterId is null)
+     */
+    List<FlightSummaryDTO> findSummaryPage(FlightListingQuery query, Object afterKey, Long afterId, int limit);
+}
@@ -0,0 +1,83 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.dto.FlightListingQuery;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.util.Money;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the listing query from only the filters that are set, so each combination gets a
+ * plain predicate the planner can match to an index, and seeks past the previous page with
+ * (sort key, id) instead of OFFSET: page 500 reads the same number of rows as page 1.
+ */
+public class FlightListingRepositoryImpl implements FlightListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FlightSummaryDTO> findSummaryPage(FlightListingQuery query, Object afterKey, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(FlightRepository.SUMMARY_SELECT).append("WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (query.getOrigin() != null) {
+            jpql.append(" AND f.origin = :origin");
+            parameters.put("origin", query.getOrigin());
+        }
+        if (query.getDestination() != null) {
+            jpql.append(" AND f.destination = :destination");
+            parameters.put("destination", query.getDestination());
+        }
+        if (query.getAirline() != null) {
+            jpql.append(" AND LOWER(f.airline) = :airline");
+            parameters.put("airline", query.getAirline().toLowerCase(Locale.ROOT));
+        }
+        if (query.getMinPrice() != null) {
+            jpql.append(" AND f.priceMinor >= :minPrice");
+            parameters.put("minPrice", Money.toMinorUnits(query.getMinPrice(), Money.DEFAULT_CURRENCY));
+        }
+        if (query.getMaxPrice() != null) {
+            jpql.append(" AND f.priceMinor <= :maxPrice");
+            parameters.put("maxPrice", Money.toMinorUnits(query.getMaxPrice(), Money.DEFAULT_CURRENCY));
+        }
+        if (query.getStatus() != null) {
+            jpql.append(" AND f.status = :status");
+            parameters.put("status", query.getStatus());
+        }
+        if (query.getDepartureFrom() != null) {
+            jpql.append(" AND f.departureTime >= :departureFrom");
+            parameters.put("departureFrom", query.getDepartureFrom());
+        }
+        if (query.getDepartureTo() != null) {
+            jpql.append(" AND f.departureTime < :departureTo");
+            parameters.put("departureTo", query.getDepartureTo());
+        }
+
+        FlightListingQuery.Sort sort = query.getSort();
+        String key = sort.getColumn();
+        String direction = sort.isAscending() ? "ASC" : "DESC";
+        if (afterId != null) {
+            // Expanded row comparison (key, id) > (:afterKey, :afterId); the leading range
+            // predicate on the key alone is what lets the index scan start at the cursor
+            String after = sort.isAscending() ? ">" : "<";
+            jpql.append(" AND ").append(key).append(' ').append(after).append("= :afterKey")
+                    .append(" AND (").append(key).append(' ').append(after).append(" :afterKey")
+                    .append(" OR f.id ").append(after).append(" :afterId)");
+            parameters.put("afterKey", afterKey);
+            parameters.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY ").append(key).append(' ').append(direction)
+                .append(", f.id ").append(direction);
+
+        TypedQuery<FlightSummaryDTO> typedQuery = entityManager.createQuery(jpql.toString(), FlightSummaryDTO.class);
+        parameters.forEach(typedQuery::setParameter);
+        return typedQuery.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,27 +1,110 @@
 package com.example.ticket_booking_backend.repository;
 
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import com.example.ticket_booking_backend.dto.ItineraryLegDTO;
 import com.example.ticket_booking_backend.model.Flight;
 import com.example.ticket_booking_backend.model.FlightStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightListingRepository {
 
-    // ✅ Case-insensitive search for flights by origin, destination, and departure time range
-    @Query("SELECT f FROM Flight f WHERE LOWER(f.origin) = LOWER(:origin) AND LOWER(f.destination) = LOWER(:destination) AND f.departureTime BETWEEN :startDateTime AND :endDateTime")
-    List<Flight> searchFlightsIgnoreCase(
+    // List-view projection: flight columns plus seat counts from idx_seats_flight_available, no Seat entities
+    String SUMMARY_SELECT = "SELECT new com.example.ticket_booking_backend.dto.FlightSummaryDTO(" +
+            "f.id, f.flightNumber, f.airline, f.origin, f.originAirportId, " +
+            "f.destination, f.destinationAirportId, f.departureTime, f.arrivalTime, " +
+            "f.priceMinor, f.currency, f.status, f.apiSourced, f.apiId, " +
+            "(SELECT COUNT(s) FROM Seat s WHERE s.flight = f AND s.available = true), " +
+            "(SELECT COUNT(s) FROM Seat s WHERE s.flight = f)) " +
+            "FROM Flight f ";
+
+    // ✅ Route search by origin, destination, and departure time range
+    // Codes are stored upper-cased (see Flight.normalizeRoute), so callers must pass normalized codes;
+    // plain equality keeps the predicate sargable on idx_flights_route_departure
+    @Query("SELECT f FROM Flight f WHERE f.origin = :origin AND f.destination = :destination AND f.departureTime BETWEEN :startDateTime AND :endDateTime")
+    List<Flight> searchFlightsByRoute(
+            @Param("origin") String origin,
+            @Param("destination") String destination,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime
+    );
+
+    // ✅ Route search as list-view summaries (same predicate as searchFlightsByRoute)
+    @Query(SUMMARY_SELECT + "WHERE f.origin = :origin AND f.destination = :destination " +
+           "AND f.departureTime BETWEEN :startDateTime AND :endDateTime ORDER BY f.departureTime")
+    List<FlightSummaryDTO> findRouteSummaries(
             @Param("origin") String origin,
             @Param("destination") String destination,
             @Param("startDateTime") LocalDateTime startDateTime,
             @Param("endDateTime") LocalDateTime endDateTime
     );
 
+    // ✅ Flight listings as summaries: upcoming departures only, or everything for admins
+    @Query(SUMMARY_SELECT + "WHERE f.departureTime > :now ORDER BY f.departureTime")
+    List<FlightSummaryDTO> findUpcomingSummaries(@Param("now") LocalDateTime now);
+
+    @Query(SUMMARY_SELECT + "ORDER BY f.departureTime")
+    List<FlightSummaryDTO> findAllSummaries();
+
+    // ✅ One flight as a summary, e.g. the response to an admin patch
+    @Query(SUMMARY_SELECT + "WHERE f.id = :id")
+    Optional<FlightSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    // ✅ Flight and seat-map versions for conditional GETs, without loading the flight or its seats.
+    // The seat-map version is the sum of the seat versions plus the seat count, so it moves on every
+    // seat update, insert and delete without seat writes ever touching the flight row
+    @Query("SELECT new com.example.ticket_booking_backend.dto.FlightVersionDTO(" +
+           "f.id, f.version, " +
+           "(SELECT COALESCE(SUM(s.version), 0L) + COUNT(s) FROM Seat s WHERE s.flight = f), f.departureTime, " +
+           "(SELECT COUNT(s) FROM Seat s WHERE s.flight = f AND s.holdUntil <= :now)) " +
+           "FROM Flight f WHERE f.id = :id")
+    Optional<FlightVersionDTO> findVersions(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // ✅ Low-fare calendar: cheapest price and flight count per departure day, in one aggregate query
+    // Each row is [day (DATE), min price in minor units (BIGINT), flight count (BIGINT)]
+    @Query(value = "SELECT CAST(f.departure_time AS DATE) AS day, MIN(f.price_minor) AS min_price_minor, COUNT(*) AS flight_count " +
+            "FROM flights f WHERE f.origin = :origin AND f.destination = :destination " +
+            "AND f.departure_time >= :startDateTime AND f.departure_time < :endDateTime " +
+            "GROUP BY CAST(f.departure_time AS DATE) ORDER BY day",
+            nativeQuery = true)
+    List<Object[]> findDailyMinFares(
+            @Param("origin") String origin,
+            @Param("destination") String destination,
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime
+    );
+
+    // ✅ Connection graph source: every non-cancelled departure in a window as a lightweight leg
+    @Query("SELECT new com.example.ticket_booking_backend.dto.ItineraryLegDTO(" +
+           "f.id, f.flightNumber, f.airline, f.origin, f.destination, f.departureTime, f.arrivalTime, f.priceMinor, f.currency) " +
+           "FROM Flight f WHERE f.departureTime >= :startDateTime AND f.departureTime < :endDateTime " +
+           "AND f.status <> :excludedStatus ORDER BY f.departureTime")
+    List<ItineraryLegDTO> findConnectionLegs(
+            @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("endDateTime") LocalDateTime endDateTime,
+            @Param("excludedStatus") FlightStatus excludedStatus
+    );
+
+    // ✅ Flight deletion: only flights without bookings are deleted, their seats in one statement
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.flight.id = :flightId")
+    long countBookingsByFlightId(@Param("flightId") Long flightId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Seat s WHERE s.flight.id = :flightId")
+    int deleteSeatsByFlightId(@Param("flightId") Long flightId);
+
+    // ✅ Lookup by the natural key (uq_flights_number_departure); the flight number must be normalized
+    Optional<Flight> findByFlightNumberAndDepartureTime(String flightNumber, LocalDateTime departureTime);
+
     // ✅ Find flights by exact origin and destination
     List<Flight> findByOriginAndDestination(String origin, String destination);
 
@@ -44,8 +127,8 @@ public interface FlightRepository extends JpaRepository<Flight, Long> {
     // Find flights by destination only
     List<Flight> findByDestination(String destination);
 
-    // Find flights by price range
-    List<Flight> findByPriceBetween(double minPrice, double maxPrice);
+    // Find flights by price range, in minor units
+    List<Flight> findByPriceMinorBetween(long minPriceMinor, long maxPriceMinor);
     
     // ✅ Flight Status Scheduler methods:
     
@@ -0,0 +1,224 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.model.Flight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based flight writes over JDBC for the bulk paths (schedule import, saving API search results).
+ *
+ * Flights are matched on their natural key (flight_number, departure_time), unique through
+ * uq_flights_number_departure, so concurrent writers of the same flight cannot both insert it.
+ * Inserts use ON CONFLICT DO NOTHING: existing rows are never written (no row lock, trigger or
+ * new tuple), which also keeps second-level cached Flight entries valid even though Hibernate
+ * does not see these statements. An upsert looks the skipped rows up with a second statement;
+ * under READ COMMITTED it sees a row a concurrent writer committed while the insert waited.
+ */
+@Repository
+public class FlightWriteRepository {
+
+    // Rows per statement; PostgreSQL allows at most 32767 bind parameters
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    static final String INSERT_COLUMNS =
+            "INSERT INTO flights (flight_number, airline, origin, origin_airport_id, destination, destination_airport_id, " +
+            "departure_time, arrival_time, price_minor, currency, status, is_api_sourced, api_id, available_seats, version) VALUES ";
+
+    static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Conflicting rows are skipped and not returned
+    static final String INSERT_NEW_SUFFIX =
+            " ON CONFLICT (flight_number, departure_time) DO NOTHING RETURNING id, flight_number, departure_time";
+
+    // Rows an upsert skipped, by natural key: WHERE (flight_number, departure_time) IN ((?, ?), ...)
+    static final String SELECT_EXISTING_SQL =
+            "SELECT id, flight_number, departure_time FROM flights WHERE (flight_number, departure_time) IN ";
+
+    // The A1-F10 cabin FlightService.initializeSeatsForFlight creates, for many flights in one statement
+    static final String INSERT_SEATS_SQL =
+            "INSERT INTO seats (flight_id, seat_number, available, booked, reserved) " +
+            "SELECT f.id, chr(65 + r) || n, TRUE, FALSE, FALSE " +
+            "FROM flights f CROSS JOIN generate_series(0, 5) AS r CROSS JOIN generate_series(1, 10) AS n " +
+            "WHERE f.id IN ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public FlightWriteRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the flights whose natural key is not taken yet
+     *
+     * @return ids of the flights inserted; flights already present (in the table or earlier in the
+     *         list) are left out
+     */
+    public List<Long> insertNew(List<Flight> flights) {
+        List<Long> ids = new ArrayList<>();
+        for (List<Flight> chunk : chunks(distinct(flights))) {
+            ids.addAll(jdbcTemplate.query(INSERT_COLUMNS + rows(chunk.size()) + INSERT_NEW_SUFFIX,
+                    bind(chunk), (rs, rowNum) -> rs.getLong("id")));
+        }
+        return ids;
+    }
+
+    /**
+     * Insert the flights that are new and look up the ones that already exist, in two statements
+     * per chunk (one if every flight is new)
+     *
+     * @return the stored row per natural key, in the order the flights were given
+     */
+    public Map<NaturalKey, StoredFlight> upsert(List<Flight> flights) {
+        Map<NaturalKey, StoredFlight> stored = new LinkedHashMap<>();
+        for (List<Flight> chunk : chunks(distinct(flights))) {
+            Map<NaturalKey, StoredFlight> byKey = new HashMap<>();
+            jdbcTemplate.query(INSERT_COLUMNS + rows(chunk.size()) + INSERT_NEW_SUFFIX, bind(chunk), storedFlight(true))
+                    .forEach(row -> byKey.put(row.key(), row));
+            List<Flight> existing = chunk.stream().filter(flight -> !byKey.containsKey(NaturalKey.of(flight))).toList();
+            if (!existing.isEmpty()) {
+                jdbcTemplate.query(SELECT_EXISTING_SQL + placeholders(existing.size(), "(?, ?)"), bindKeys(existing),
+                        storedFlight(false)).forEach(row -> byKey.put(row.key(), row));
+            }
+            // RETURNING order is not guaranteed; report in input order
+            for (Flight flight : chunk) {
+                NaturalKey key = NaturalKey.of(flight);
+                StoredFlight row = byKey.get(key);
+                if (row == null) {
+                    // Deleted between the two statements, or a key the database stores differently
+                    throw new IllegalStateException("No stored flight " + key.flightNumber() + " departing "
+                            + key.departureTime() + " after the upsert");
+                }
+                stored.put(key, row);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Create the standard seat map of each flight
+     *
+     * @return seats inserted
+     */
+    public int createSeatMaps(Collection<Long> flightIds) {
+        int seats = 0;
+        List<Long> ids = new ArrayList<>(flightIds);
+        for (int from = 0; from < ids.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_ROWS_PER_STATEMENT));
+            seats += jdbcTemplate.update(INSERT_SEATS_SQL + placeholders(chunk.size(), "?"), chunk.toArray());
+        }
+        return seats;
+    }
+
+    // A statement may not touch the same row twice, so only the first flight per key is written
+    private static List<Flight> distinct(List<Flight> flights) {
+        Map<NaturalKey, Flight> byKey = new LinkedHashMap<>();
+        for (Flight flight : flights) {
+            byKey.putIfAbsent(NaturalKey.of(flight), flight);
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static List<List<Flight>> chunks(List<Flight> flights) {
+        List<List<Flight>> chunks = new ArrayList<>();
+        for (int from = 0; from < flights.size(); from += MAX_ROWS_PER_STATEMENT) {
+            chunks.add(flights.subList(from, Math.min(flights.size(), from + MAX_ROWS_PER_STATEMENT)));
+        }
+        return chunks;
+    }
+
+    // VALUES list of count rows: (?, ...), (?, ...)
+    static String rows(int count) {
+        return String.join(", ", Collections.nCopies(count, ROW_PLACEHOLDERS));
+    }
+
+    // Parenthesized IN list of count placeholders
+    private static String placeholders(int count, String placeholder) {
+        return "(" + String.join(", ", Collections.nCopies(count, placeholder)) + ")";
+    }
+
+    private static RowMapper<StoredFlight> storedFlight(boolean inserted) {
+        return (rs, rowNum) -> new StoredFlight(rs.getLong("id"),
+                new NaturalKey(rs.getString("flight_number"), rs.getObject("departure_time", LocalDateTime.class)),
+                inserted);
+    }
+
+    private static PreparedStatementSetter bindKeys(List<Flight> flights) {
+        return ps -> {
+            int index = 1;
+            for (Flight flight : flights) {
+                NaturalKey key = NaturalKey.of(flight);
+                ps.setString(index++, key.flightNumber());
+                ps.setTimestamp(index++, Timestamp.valueOf(key.departureTime()));
+            }
+        };
+    }
+
+    private static PreparedStatementSetter bind(List<Flight> flights) {
+        return ps -> {
+            int index = 1;
+            for (Flight flight : flights) {
+                index = bind(ps, index, flight);
+            }
+        };
+    }
+
+    private static int bind(PreparedStatement ps, int index, Flight flight) throws SQLException {
+        ps.setString(index++, flight.getFlightNumber());
+        ps.setString(index++, flight.getAirline());
+        ps.setString(index++, flight.getOrigin());
+        ps.setObject(index++, flight.getOriginAirportId(), Types.BIGINT);
+        ps.setString(index++, flight.getDestination());
+        ps.setObject(index++, flight.getDestinationAirportId(), Types.BIGINT);
+        ps.setTimestamp(index++, Timestamp.valueOf(NaturalKey.of(flight).departureTime()));
+        ps.setTimestamp(index++, Timestamp.valueOf(flight.getArrivalTime()));
+        ps.setLong(index++, flight.getPriceMinor());
+        ps.setString(index++, flight.getCurrency());
+        ps.setString(index++, flight.getStatus().name());
+        ps.setBoolean(index++, flight.isApiSourced());
+        if (flight.getApiId() != null) {
+            ps.setString(index++, flight.getApiId());
+        } else {
+            ps.setNull(index++, Types.VARCHAR);
+        }
+        ps.setInt(index++, flight.getAvailableSeats());
+        return index;
+    }
+
+    /**
+     * (flight_number, departure_time), the departure truncated to the microseconds a PostgreSQL
+     * timestamp keeps, so a key built from a flight equals the one read back from its row
+     */
+    public record NaturalKey(String flightNumber, LocalDateTime departureTime) {
+        public NaturalKey {
+            departureTime = departureTime != null ? departureTime.truncatedTo(ChronoUnit.MICROS) : null;
+        }
+
+        public static NaturalKey of(Flight flight) {
+            return new NaturalKey(flight.getFlightNumber(), flight.getDepartureTime());
+        }
+    }
+
+    /**
+     * A flight row after an upsert, and whether this statement created it
+     */
+    public record StoredFlight(Long id, NaturalKey key, boolean inserted) {
+    }
+}
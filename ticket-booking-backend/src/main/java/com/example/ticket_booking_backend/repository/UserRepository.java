@@ -1,11 +1,19 @@
 package com.example.ticket_booking_backend.repository;
 
 import com.example.ticket_booking_backend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Runs on every authenticated request; served from the query cache (region "user-queries")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-queries")
+    })
     Optional<User> findByEmail(String email);  // For login authentication
 }
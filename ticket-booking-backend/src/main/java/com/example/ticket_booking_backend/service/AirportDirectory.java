@@ -0,0 +1,220 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.NearbyAirport;
+import com.example.ticket_booking_backend.model.Airport;
+import com.example.ticket_booking_backend.model.FlightAirports;
+import com.example.ticket_booking_backend.repository.AirportRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory airport dimension used for flight airport details, city-to-code resolution,
+ * autocomplete and nearby-airport search.
+ *
+ * The airports table is small and changes rarely, so it is loaded once when the application
+ * is ready into an immutable snapshot (by id, by code, by accent-folded city, plus an
+ * AirportSearchIndex and an AirportGeoIndex) and lookups never touch the database. Any change
+ * to airports calls refresh(), which builds a new snapshot and swaps it in atomically; readers
+ * always see either the old or the new one. The load time of the current snapshot doubles as
+ * the version of the airport data for HTTP validators (ETag / Last-Modified).
+ *
+ * The snapshot's airports are also what flights resolve their airport ids to (FlightAirports).
+ */
+@Service
+public class AirportDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(AirportDirectory.class);
+
+    private final AirportRepository airportRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Autowired
+    public AirportDirectory(AirportRepository airportRepository) {
+        this.airportRepository = airportRepository;
+    }
+
+    // Flights read their airport details from the current snapshot
+    @PostConstruct
+    public void registerFlightAirports() {
+        FlightAirports.register(id -> snapshot.byId.get(id));
+    }
+
+    /**
+     * Reload all airports and swap the new snapshot in; on failure the previous snapshot is
+     * kept and the error only logged
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep serving the previous snapshot if the reload fails
+            logger.error("Error loading airport directory: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reload all airports and swap the new snapshot in, for callers that must know whether it
+     * worked; the previous snapshot stays in place if it throws
+     */
+    public void reload() {
+        List<Airport> airports = airportRepository.findAll();
+        snapshot = Snapshot.build(airports);
+        logger.info("Airport directory loaded with {} airports", snapshot.airports.size());
+    }
+
+    /**
+     * Id of the airport with this code, or null if there is none; what flights store
+     */
+    public Long findIdByCode(String code) {
+        return findByCode(code).map(AirportInfo::getId).orElse(null);
+    }
+
+    public Optional<AirportInfo> findByCode(String code) {
+        if (code == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot.byCode.get(code.trim().toUpperCase()));
+    }
+
+    /**
+     * Resolve free text to an airport code: an exact city match first, then the first airport
+     * whose code, name, city, state or country contains the text (same fields the database search used),
+     * looked up in the search index's precomputed folded text
+     */
+    public Optional<String> resolveCode(String text) {
+        if (text == null || text.isBlank()) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        String query = AirportSearchIndex.fold(text);
+
+        String cityCode = current.codeByCity.get(query);
+        if (cityCode != null) {
+            return Optional.of(cityCode);
+        }
+        return current.searchIndex.findFirstContaining(query).map(AirportInfo::getCode);
+    }
+
+    /**
+     * Autocomplete: best matches for the query in rank order
+     */
+    public List<AirportInfo> search(String query, int limit) {
+        return snapshot.searchIndex.search(query, limit);
+    }
+
+    /**
+     * Airports within radiusKm of a point, nearest first
+     */
+    public List<NearbyAirport> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        return snapshot.geoIndex.nearby(latitude, longitude, radiusKm, limit);
+    }
+
+    /**
+     * The airport itself followed by the other airports within radiusKm of it, nearest first,
+     * at most limit codes in total. Airports without coordinates only expand to themselves.
+     */
+    public List<String> findNearbyCodes(String code, double radiusKm, int limit) {
+        List<String> codes = new ArrayList<>();
+        if (code == null || limit <= 0) {
+            return codes;
+        }
+        String normalized = code.trim().toUpperCase();
+        codes.add(normalized);
+        AirportInfo airport = snapshot.byCode.get(normalized);
+        if (airport == null || !AirportGeoIndex.hasCoordinates(airport)) {
+            return codes;
+        }
+        for (NearbyAirport nearby : findNearby(airport.getLatitude(), airport.getLongitude(), radiusKm, limit + 1)) {
+            String nearbyCode = nearby.getAirport().getCode();
+            if (codes.size() < limit && !nearbyCode.equals(normalized)) {
+                codes.add(nearbyCode);
+            }
+        }
+        return codes;
+    }
+
+    public List<AirportInfo> getAll() {
+        return snapshot.airports;
+    }
+
+    public int size() {
+        return snapshot.airports.size();
+    }
+
+    /**
+     * When the current snapshot was loaded; changes on every refresh
+     */
+    public Instant getLoadedAt() {
+        return snapshot.loadedAt;
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Map.of(), Map.of(),
+                AirportSearchIndex.EMPTY, AirportGeoIndex.EMPTY, Instant.EPOCH);
+
+        private final List<AirportInfo> airports;
+        private final Map<Long, AirportInfo> byId;
+        private final Map<String, AirportInfo> byCode;
+        private final Map<String, String> codeByCity;
+        private final AirportSearchIndex searchIndex;
+        private final AirportGeoIndex geoIndex;
+        private final Instant loadedAt;
+
+        private Snapshot(List<AirportInfo> airports, Map<Long, AirportInfo> byId, Map<String, AirportInfo> byCode,
+                         Map<String, String> codeByCity, AirportSearchIndex searchIndex, AirportGeoIndex geoIndex,
+                         Instant loadedAt) {
+            this.airports = airports;
+            this.byId = byId;
+            this.byCode = byCode;
+            this.codeByCity = codeByCity;
+            this.searchIndex = searchIndex;
+            this.geoIndex = geoIndex;
+            this.loadedAt = loadedAt;
+        }
+
+        private static Snapshot build(List<Airport> rows) {
+            List<Airport> ordered = new ArrayList<>(rows);
+            // Stable order so the first airport of a city is always the same one
+            ordered.sort(Comparator.comparing(Airport::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+            List<AirportInfo> airports = new ArrayList<>(ordered.size());
+            Map<Long, AirportInfo> byId = new HashMap<>();
+            Map<String, AirportInfo> byCode = new HashMap<>();
+            Map<String, String> codeByCity = new HashMap<>();
+            for (Airport row : ordered) {
+                if (row.getCode() == null) {
+                    continue;
+                }
+                AirportInfo airport = AirportInfo.from(row);
+                airports.add(airport);
+                if (airport.getId() != null) {
+                    byId.put(airport.getId(), airport);
+                }
+                byCode.put(airport.getCode(), airport);
+                if (airport.getCity() != null) {
+                    codeByCity.putIfAbsent(AirportSearchIndex.fold(airport.getCity()), airport.getCode());
+                }
+            }
+            List<AirportInfo> airportList = Collections.unmodifiableList(airports);
+            return new Snapshot(airportList, Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byCode),
+                    Collections.unmodifiableMap(codeByCity), new AirportSearchIndex(airportList),
+                    new AirportGeoIndex(airportList), Instant.now());
+        }
+    }
+}
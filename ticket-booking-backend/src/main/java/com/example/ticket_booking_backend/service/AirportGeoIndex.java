@@ -0,0 +1,139 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.NearbyAirport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radius-search index over the airports that have coordinates.
+ *
+ * Airports are placed on the unit sphere as 3D points and stored in a KD-tree laid out in
+ * arrays (each subrange's median is its node). A great-circle radius is one chord length in
+ * 3D, so a query is a plain sphere search in the tree, with no special cases at the poles or
+ * the antimeridian. Candidates are then measured with haversine and returned nearest first.
+ */
+public class AirportGeoIndex {
+
+    public static final AirportGeoIndex EMPTY = new AirportGeoIndex(List.of());
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final AirportInfo[] airports;
+    // Unit vectors, in tree order
+    private final double[][] points;
+
+    public AirportGeoIndex(List<AirportInfo> source) {
+        List<AirportInfo> located = new ArrayList<>();
+        for (AirportInfo airport : source) {
+            if (hasCoordinates(airport)) {
+                located.add(airport);
+            }
+        }
+        Integer[] order = new Integer[located.size()];
+        double[][] vectors = new double[located.size()][];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            vectors[i] = toVector(located.get(i).getLatitude(), located.get(i).getLongitude());
+        }
+        build(order, vectors, 0, order.length, 0);
+
+        this.airports = new AirportInfo[order.length];
+        this.points = new double[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            airports[i] = located.get(order[i]);
+            points[i] = vectors[order[i]];
+        }
+    }
+
+    /**
+     * Airports within radiusKm of the point, nearest first, at most limit
+     */
+    public List<NearbyAirport> nearby(double latitude, double longitude, double radiusKm, int limit) {
+        List<NearbyAirport> results = new ArrayList<>();
+        if (airports.length == 0 || radiusKm < 0 || limit <= 0) {
+            return results;
+        }
+        // Chord length subtending the radius; anything beyond half the circumference is everything
+        double angle = Math.min(radiusKm / EARTH_RADIUS_KM, Math.PI);
+        double chord = 2 * Math.sin(angle / 2);
+        collect(toVector(latitude, longitude), chord * chord, 0, airports.length, 0, latitude, longitude, radiusKm, results);
+
+        results.sort(Comparator.comparingDouble(NearbyAirport::getDistanceKm));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    public int size() {
+        return airports.length;
+    }
+
+    /**
+     * Great-circle distance between two points in kilometres
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    static boolean hasCoordinates(AirportInfo airport) {
+        return airport.getLatitude() != null && airport.getLongitude() != null
+                && Math.abs(airport.getLatitude()) <= 90 && Math.abs(airport.getLongitude()) <= 180;
+    }
+
+    private void collect(double[] query, double chordSquared, int from, int to, int axis,
+                         double latitude, double longitude, double radiusKm, List<NearbyAirport> results) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        double[] point = points[mid];
+        double dx = query[0] - point[0];
+        double dy = query[1] - point[1];
+        double dz = query[2] - point[2];
+        if (dx * dx + dy * dy + dz * dz <= chordSquared) {
+            AirportInfo airport = airports[mid];
+            double distance = distanceKm(latitude, longitude, airport.getLatitude(), airport.getLongitude());
+            if (distance <= radiusKm) {
+                results.add(new NearbyAirport(airport, distance));
+            }
+        }
+
+        double diff = query[axis] - point[axis];
+        int nextAxis = (axis + 1) % 3;
+        if (diff <= 0) {
+            collect(query, chordSquared, from, mid, nextAxis, latitude, longitude, radiusKm, results);
+            if (diff * diff <= chordSquared) {
+                collect(query, chordSquared, mid + 1, to, nextAxis, latitude, longitude, radiusKm, results);
+            }
+        } else {
+            collect(query, chordSquared, mid + 1, to, nextAxis, latitude, longitude, radiusKm, results);
+            if (diff * diff <= chordSquared) {
+                collect(query, chordSquared, from, mid, nextAxis, latitude, longitude, radiusKm, results);
+            }
+        }
+    }
+
+    // Sort each subrange on the current axis so its median splits it, then recurse into both halves
+    private static void build(Integer[] order, double[][] vectors, int from, int to, int axis) {
+        if (to - from <= 1) {
+            return;
+        }
+        Arrays.sort(order, from, to, Comparator.comparingDouble((Integer i) -> vectors[i][axis]));
+        int mid = (from + to) >>> 1;
+        int nextAxis = (axis + 1) % 3;
+        build(order, vectors, from, mid, nextAxis);
+        build(order, vectors, mid + 1, to, nextAxis);
+    }
+
+    private static double[] toVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        return new double[] {Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AirportImportConfig;
+import com.example.ticket_booking_backend.dto.AirportImportResult;
+import com.example.ticket_booking_backend.util.CsvReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk airport import from CSV.
+ *
+ * Accepts either our own column names (code, name, city, state, country, latitude, longitude)
+ * or the OurAirports airports.csv layout (iata_code, name, municipality, iso_region,
+ * iso_country, latitude_deg, longitude_deg, type). The file is parsed as a stream, each row is
+ * validated and the rows are upserted by code in JDBC batches inside a single transaction, so
+ * a failed import leaves the table untouched. After commit, flights saved before their airport
+ * existed are linked to it, the airport second-level cache is evicted and the in-memory
+ * AirportDirectory is rebuilt once and swapped in atomically; autocomplete keeps serving the
+ * previous snapshot until then. If that rebuild fails the import still reports its counts, with
+ * the failure in directoryError, since the rows themselves are committed.
+ *
+ * Only rows with a three-letter IATA code can be stored, since the airports table is keyed by
+ * it; heliports and small fields without one are counted as skipped.
+ */
+@Service
+public class AirportImportService {
+    private static final Logger logger = LoggerFactory.getLogger(AirportImportService.class);
+
+    private static final Pattern IATA_CODE = Pattern.compile("[A-Z]{3}");
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    static final String UPSERT_SQL =
+            "INSERT INTO airports (code, name, city, state, country, latitude, longitude) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (code) DO UPDATE SET name = EXCLUDED.name, city = EXCLUDED.city, " +
+            "state = EXCLUDED.state, country = EXCLUDED.country, " +
+            "latitude = EXCLUDED.latitude, longitude = EXCLUDED.longitude";
+
+    // Same relink as db/populate-airport-details.sql runs at startup
+    static final String LINK_ORIGINS_SQL =
+            "UPDATE flights f SET origin_airport_id = a.id FROM airports a " +
+            "WHERE f.origin = a.code AND f.origin_airport_id IS NULL";
+    static final String LINK_DESTINATIONS_SQL =
+            "UPDATE flights f SET destination_airport_id = a.id FROM airports a " +
+            "WHERE f.destination = a.code AND f.destination_airport_id IS NULL";
+
+    private static final int[] UPSERT_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE
+    };
+
+    // Accepted header names per column, ours first
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("code", "code"), Map.entry("iata_code", "code"), Map.entry("iata", "code"),
+            Map.entry("name", "name"),
+            Map.entry("city", "city"), Map.entry("municipality", "city"),
+            Map.entry("state", "state"), Map.entry("iso_region", "state"), Map.entry("region", "state"),
+            Map.entry("country", "country"), Map.entry("iso_country", "country"),
+            Map.entry("latitude", "latitude"), Map.entry("latitude_deg", "latitude"),
+            Map.entry("longitude", "longitude"), Map.entry("longitude_deg", "longitude"),
+            Map.entry("type", "type"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AirportDirectory airportDirectory;
+    private final EntityCacheService entityCacheService;
+    private final FlightDetailCache flightDetailCache;
+    private final AirportImportConfig importConfig;
+
+    private final AtomicBoolean importRunning = new AtomicBoolean(false);
+
+    @Autowired
+    public AirportImportService(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                AirportDirectory airportDirectory,
+                                EntityCacheService entityCacheService,
+                                FlightDetailCache flightDetailCache,
+                                AirportImportConfig importConfig) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.airportDirectory = airportDirectory;
+        this.entityCacheService = entityCacheService;
+        this.flightDetailCache = flightDetailCache;
+        this.importConfig = importConfig;
+    }
+
+    public AirportImportResult importFile(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return importCsv(in);
+        }
+    }
+
+    /**
+     * Import airports from a UTF-8 CSV stream with a header row.
+     *
+     * @throws IllegalArgumentException if the header lacks the code, name or country column
+     * @throws IllegalStateException if another import is running
+     */
+    public AirportImportResult importCsv(InputStream in) throws IOException {
+        if (!importRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("An airport import is already running");
+        }
+        try {
+            long start = System.currentTimeMillis();
+            CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            ImportRun run = new ImportRun(readHeader(reader), Math.max(1, importConfig.getBatchSize()),
+                    importConfig.getMaxReportedErrors());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> run.execute(reader));
+            } catch (UncheckedIOException e) {
+                // Malformed CSV: everything written so far was rolled back
+                throw e.getCause();
+            }
+
+            long flightsLinked = linkFlights();
+
+            // The upsert bypassed Hibernate, so cached airports and airport queries are stale now;
+            // swap the new snapshot in only after the rows are committed
+            entityCacheService.evictAirports();
+            if (flightsLinked > 0) {
+                entityCacheService.evictFlights();
+                flightDetailCache.invalidateAll();
+            }
+            String directoryError = null;
+            try {
+                airportDirectory.reload();
+            } catch (RuntimeException e) {
+                // The rows are committed; only the in-memory copy is behind, until the next refresh
+                logger.error("Airports imported but the airport directory could not be reloaded: {}", e.getMessage(), e);
+                directoryError = "Airport directory still serves the previous airports: " + e.getMessage();
+            }
+
+            long durationMs = System.currentTimeMillis() - start;
+            logger.info("Airport import finished in {} ms: {} rows read, {} upserted, {} skipped, {} rejected, {} flights linked",
+                    durationMs, run.rowsRead, run.upserted, run.skipped, run.rejected, flightsLinked);
+            return new AirportImportResult(run.rowsRead, run.upserted, run.skipped, run.rejected,
+                    run.errors, flightsLinked, airportDirectory.size(), directoryError, durationMs);
+        } finally {
+            importRunning.set(false);
+        }
+    }
+
+    /**
+     * Point flights without an airport id at the airport their code now matches
+     *
+     * @return origins and destinations linked
+     */
+    private long linkFlights() {
+        return transactionTemplate.execute(status ->
+                (long) jdbcTemplate.update(LINK_ORIGINS_SQL) + jdbcTemplate.update(LINK_DESTINATIONS_SQL));
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = HEADER_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        for (String required : List.of("code", "name", "country")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * State of one import: column positions, the pending batch and the running counts
+     */
+    private final class ImportRun {
+        private final int code;
+        private final int name;
+        private final int city;
+        private final int state;
+        private final int country;
+        private final int latitude;
+        private final int longitude;
+        private final int type;
+        private final int batchSize;
+        private final int maxReportedErrors;
+
+        // Keyed by code: a batch may not upsert the same row twice, and the last row in the file wins
+        private final Map<String, Object[]> batch = new LinkedHashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private long rowsRead;
+        private long upserted;
+        private long skipped;
+        private long rejected;
+
+        private ImportRun(Map<String, Integer> columns, int batchSize, int maxReportedErrors) {
+            this.code = columns.get("code");
+            this.name = columns.get("name");
+            this.city = columns.getOrDefault("city", -1);
+            this.state = columns.getOrDefault("state", -1);
+            this.country = columns.get("country");
+            this.latitude = columns.getOrDefault("latitude", -1);
+            this.longitude = columns.getOrDefault("longitude", -1);
+            this.type = columns.getOrDefault("type", -1);
+            this.batchSize = batchSize;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void execute(CsvReader reader) {
+            try {
+                List<String> record;
+                while ((record = reader.readRecord()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    rowsRead++;
+                    accept(record, reader.getRecordLine());
+                    if (batch.size() >= batchSize) {
+                        flush();
+                    }
+                }
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void accept(List<String> record, long line) {
+            String iata = field(record, code).toUpperCase(Locale.ROOT);
+            if (!IATA_CODE.matcher(iata).matches() || "closed".equalsIgnoreCase(field(record, type))) {
+                skipped++;
+                return;
+            }
+
+            String airportName = field(record, name);
+            String countryName = field(record, country);
+            String cityName = field(record, city);
+            String stateName = field(record, state);
+            if (airportName.isEmpty()) {
+                reject(line, iata + " has no name");
+                return;
+            }
+            if (countryName.isEmpty()) {
+                reject(line, iata + " has no country");
+                return;
+            }
+            if (airportName.length() > MAX_TEXT_LENGTH || cityName.length() > MAX_TEXT_LENGTH
+                    || stateName.length() > MAX_TEXT_LENGTH || countryName.length() > MAX_TEXT_LENGTH) {
+                reject(line, iata + " has a value longer than " + MAX_TEXT_LENGTH + " characters");
+                return;
+            }
+
+            Double lat;
+            Double lon;
+            try {
+                lat = coordinate(field(record, latitude), 90);
+                lon = coordinate(field(record, longitude), 180);
+            } catch (NumberFormatException e) {
+                reject(line, iata + " has invalid coordinates");
+                return;
+            }
+
+            // City is mandatory in our schema; some airports only have a name
+            batch.put(iata, new Object[] {
+                    iata, airportName, cityName.isEmpty() ? airportName : cityName,
+                    stateName.isEmpty() ? null : stateName, countryName, lat, lon
+            });
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(UPSERT_SQL, new ArrayList<>(batch.values()), UPSERT_TYPES);
+            upserted += batch.size();
+            batch.clear();
+        }
+
+        private void reject(long line, String reason) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add("line " + line + ": " + reason);
+            }
+        }
+    }
+
+    private static String field(List<String> record, int index) {
+        if (index < 0 || index >= record.size()) {
+            return "";
+        }
+        return record.get(index).trim();
+    }
+
+    private static Double coordinate(String value, double bound) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        double parsed = Double.parseDouble(value);
+        if (Double.isNaN(parsed) || Math.abs(parsed) > bound) {
+            throw new NumberFormatException("Coordinate out of range: " + value);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable autocomplete index over a fixed list of airports.
+ *
+ * Matches are ranked in tiers: exact IATA code, city prefix, name word prefix, then substring
+ * of any field. Prefix tiers use sorted key arrays searched with binary search, so a prefix is
+ * one contiguous range that is already in alphabetical order. Substrings are found through a
+ * trigram posting index and verified against the folded text. All text is accent-folded and
+ * lower-cased, so "sao paulo" matches "São Paulo".
+ */
+public class AirportSearchIndex {
+
+    public static final AirportSearchIndex EMPTY = new AirportSearchIndex(List.of());
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final List<AirportInfo> airports;
+    private final Map<String, Integer> byCode;
+    private final PrefixKeys cityKeys;
+    private final PrefixKeys nameKeys;
+    // Folded "code name city state country" per airport, for substring verification
+    private final String[] searchText;
+    // The same fields separated by NUL, so a match can be checked to lie within one field
+    private final String[] fieldText;
+    private final Map<String, int[]> trigramPostings;
+
+    public AirportSearchIndex(List<AirportInfo> airports) {
+        this.airports = airports;
+        this.byCode = new HashMap<>();
+        this.searchText = new String[airports.size()];
+        this.fieldText = new String[airports.size()];
+
+        List<String> cities = new ArrayList<>();
+        List<Integer> cityOwners = new ArrayList<>();
+        List<String> nameWords = new ArrayList<>();
+        List<Integer> nameOwners = new ArrayList<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+
+        for (int i = 0; i < airports.size(); i++) {
+            AirportInfo airport = airports.get(i);
+            byCode.putIfAbsent(fold(airport.getCode()), i);
+
+            String city = fold(airport.getCity());
+            if (!city.isEmpty()) {
+                cities.add(city);
+                cityOwners.add(i);
+            }
+            for (String word : WORD_SEPARATORS.split(fold(airport.getName()))) {
+                if (!word.isEmpty()) {
+                    nameWords.add(word);
+                    nameOwners.add(i);
+                }
+            }
+
+            String[] fields = {fold(airport.getCode()), fold(airport.getName()), city,
+                    fold(airport.getState()), fold(airport.getCountry())};
+            String text = String.join(" ", fields);
+            searchText[i] = text;
+            fieldText[i] = String.join("\0", fields);
+            for (int t = 0; t + 3 <= text.length(); t++) {
+                List<Integer> list = postings.computeIfAbsent(text.substring(t, t + 3), k -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+        }
+
+        this.cityKeys = new PrefixKeys(cities, cityOwners);
+        this.nameKeys = new PrefixKeys(nameWords, nameOwners);
+        this.trigramPostings = new HashMap<>(postings.size() * 2);
+        postings.forEach((trigram, list) -> trigramPostings.put(trigram, list.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Lower-case and strip diacritics so accented and plain spellings compare equal
+     */
+    public static String fold(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Best matches for the query, at most limit, in rank order
+     */
+    public List<AirportInfo> search(String query, int limit) {
+        String q = fold(query);
+        List<AirportInfo> results = new ArrayList<>(Math.min(limit, 16));
+        if (q.isEmpty() || limit <= 0) {
+            return results;
+        }
+        BitSet taken = new BitSet(airports.size());
+
+        Integer exact = byCode.get(q);
+        if (exact != null) {
+            add(exact, taken, results);
+        }
+        cityKeys.collect(q, limit, taken, results);
+        nameKeys.collect(q, limit, taken, results);
+        if (results.size() < limit) {
+            collectSubstrings(q, limit, taken, results);
+        }
+        return results;
+    }
+
+    /**
+     * First airport, in list order, whose code, name, city, state or country contains the
+     * already folded text; found through the trigram postings without folding any airport
+     */
+    public Optional<AirportInfo> findFirstContaining(String foldedQuery) {
+        if (foldedQuery.isEmpty() || foldedQuery.indexOf('\0') >= 0) {
+            return Optional.empty();
+        }
+        if (foldedQuery.length() < 3) {
+            for (int i = 0; i < fieldText.length; i++) {
+                if (fieldText[i].contains(foldedQuery)) {
+                    return Optional.of(airports.get(i));
+                }
+            }
+            return Optional.empty();
+        }
+        int[] candidates = rarestPosting(foldedQuery);
+        if (candidates == null) {
+            return Optional.empty();
+        }
+        // Postings are in list order, so the first verified candidate is the first match
+        for (int i : candidates) {
+            if (fieldText[i].contains(foldedQuery)) {
+                return Optional.of(airports.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size() {
+        return airports.size();
+    }
+
+    private void collectSubstrings(String q, int limit, BitSet taken, List<AirportInfo> results) {
+        if (q.length() < 3) {
+            // Too short for trigrams; a scan is cheap next to the prefix tiers having come up short
+            for (int i = 0; i < searchText.length && results.size() < limit; i++) {
+                if (!taken.get(i) && searchText[i].contains(q)) {
+                    add(i, taken, results);
+                }
+            }
+            return;
+        }
+
+        // Start from the rarest trigram of the query and verify each candidate
+        int[] candidates = rarestPosting(q);
+        if (candidates == null) {
+            return;
+        }
+        for (int i : candidates) {
+            if (results.size() >= limit) {
+                return;
+            }
+            if (!taken.get(i) && searchText[i].contains(q)) {
+                add(i, taken, results);
+            }
+        }
+    }
+
+    /**
+     * Shortest posting list among the query's trigrams, or null if one of them occurs nowhere
+     */
+    private int[] rarestPosting(String q) {
+        int[] rarest = null;
+        for (int t = 0; t + 3 <= q.length(); t++) {
+            int[] posting = trigramPostings.get(q.substring(t, t + 3));
+            if (posting == null) {
+                return null;
+            }
+            if (rarest == null || posting.length < rarest.length) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private void add(int index, BitSet taken, List<AirportInfo> results) {
+        taken.set(index);
+        results.add(airports.get(index));
+    }
+
+    /**
+     * Sorted (key, airport) pairs; all keys starting with a prefix form one contiguous range
+     */
+    private final class PrefixKeys {
+        private final String[] keys;
+        private final int[] owners;
+
+        private PrefixKeys(List<String> keyList, List<Integer> ownerList) {
+            Integer[] order = new Integer[keyList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byKey = keyList.get(a).compareTo(keyList.get(b));
+                return byKey != 0 ? byKey : Integer.compare(ownerList.get(a), ownerList.get(b));
+            });
+            keys = new String[order.length];
+            owners = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                keys[i] = keyList.get(order[i]);
+                owners[i] = ownerList.get(order[i]);
+            }
+        }
+
+        private void collect(String prefix, int limit, BitSet taken, List<AirportInfo> results) {
+            int from = Arrays.binarySearch(keys, prefix);
+            if (from < 0) {
+                from = -from - 1;
+            } else {
+                // binarySearch may land on any of several equal keys
+                while (from > 0 && keys[from - 1].equals(prefix)) {
+                    from--;
+                }
+            }
+            for (int i = from; i < keys.length && results.size() < limit && keys[i].startsWith(prefix); i++) {
+                if (!taken.get(owners[i])) {
+                    add(owners[i], taken, results);
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.ticket_booking_backend.service;
 
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.NearbyAirport;
 import com.example.ticket_booking_backend.model.Airport;
 import com.example.ticket_booking_backend.repository.AirportRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,10 +18,23 @@ import java.util.Optional;
 public class AirportService {
 
     private final AirportRepository airportRepository;
+    private final AirportDirectory airportDirectory;
+    private final EntityCacheService entityCacheService;
 
     @Autowired
-    public AirportService(AirportRepository airportRepository) {
+    public AirportService(AirportRepository airportRepository, AirportDirectory airportDirectory,
+                          EntityCacheService entityCacheService) {
         this.airportRepository = airportRepository;
+        this.airportDirectory = airportDirectory;
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * Version of the airport data for HTTP validators: the load time of the directory snapshot,
+     * which is replaced whenever airports are imported or reloaded
+     */
+    public Instant getDataVersion() {
+        return airportDirectory.getLoadedAt();
     }
 
     @Transactional(readOnly = true)
@@ -31,13 +47,46 @@ public class AirportService {
         return airportRepository.findByCode(code);
     }
     
-    @Transactional(readOnly = true)
-    public List<Airport> searchAirports(String query) {
-        return airportRepository.searchAirports(query);
+    /**
+     * Autocomplete search served from the in-memory airport index
+     */
+    public List<AirportInfo> searchAirports(String query, int limit) {
+        return airportDirectory.search(query, limit);
+    }
+    
+    /**
+     * Airports within radiusKm of a point, nearest first
+     */
+    public List<NearbyAirport> findNearbyAirports(double latitude, double longitude, double radiusKm, int limit) {
+        return airportDirectory.findNearby(latitude, longitude, radiusKm, limit);
+    }
+    
+    /**
+     * Other airports within radiusKm of the given one, nearest first; empty if the airport is
+     * unknown or has no coordinates
+     */
+    public Optional<List<NearbyAirport>> findNearbyAirports(String code, double radiusKm, int limit) {
+        return airportDirectory.findByCode(code)
+                .filter(airport -> airport.getLatitude() != null && airport.getLongitude() != null)
+                .map(airport -> airportDirectory.findNearby(airport.getLatitude(), airport.getLongitude(), radiusKm, limit + 1)
+                        .stream()
+                        .filter(nearby -> !nearby.getAirport().getCode().equals(airport.getCode()))
+                        .limit(limit)
+                        .toList());
     }
     
     @Transactional(readOnly = true)
     public Page<Airport> getPagedAirports(Pageable pageable) {
         return airportRepository.findAll(pageable);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Reload the in-memory airport directory after airports were changed outside the application
+     */
+    public int refreshAirportDirectory() {
+        // The reload exists to pick up changes made outside the application, which the entity cache cannot see
+        entityCacheService.evictAirports();
+        airportDirectory.refresh();
+        return airportDirectory.size();
+    }
+}
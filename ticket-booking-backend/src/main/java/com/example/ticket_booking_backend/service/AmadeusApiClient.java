@@ -1,87 +1,137 @@
 package com.example.ticket_booking_backend.service;
 
 import com.example.ticket_booking_backend.config.AmadeusApiConfig;
-import com.example.ticket_booking_backend.config.ApiQuotaConfig;
-import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffersResponse;
-import com.example.ticket_booking_backend.dto.amadeus.AmadeusTokenResponse;
+import com.example.ticket_booking_backend.config.AmadeusClientConfig;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.example.ticket_booking_backend.exception.ApiQuotaExceededException;
+import com.example.ticket_booking_backend.exception.UpstreamUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
 
+/**
+ * Amadeus flight search client.
+ *
+ * Calls go through a circuit breaker and a concurrency bulkhead before the quota is charged:
+ * while the upstream is failing or saturated, searches are rejected immediately with
+ * UpstreamUnavailableException and FlightService falls back to the database without waiting.
+ */
 @Service
 public class AmadeusApiClient {
     private static final Logger logger = LoggerFactory.getLogger(AmadeusApiClient.class);
     private final WebClient webClient;
     private final AmadeusApiConfig amadeusApiConfig;
-    private final ApiQuotaConfig apiQuotaConfig;
-    private AmadeusTokenResponse tokenResponse;
+    private final ApiQuotaService apiQuotaService;
+    private final AmadeusTokenManager amadeusTokenManager;
+    private final AmadeusOfferParser amadeusOfferParser;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
     @Autowired
-    public AmadeusApiClient(AmadeusApiConfig amadeusApiConfig, ApiQuotaConfig apiQuotaConfig) {
+    public AmadeusApiClient(AmadeusApiConfig amadeusApiConfig, 
+                            AmadeusClientConfig amadeusClientConfig,
+                            ApiQuotaService apiQuotaService,
+                            AmadeusTokenManager amadeusTokenManager,
+                            AmadeusOfferParser amadeusOfferParser,
+                            @Qualifier("amadeusWebClient") WebClient webClient) {
         this.amadeusApiConfig = amadeusApiConfig;
-        this.apiQuotaConfig = apiQuotaConfig;
-        this.webClient = WebClient.builder()
-                .baseUrl(amadeusApiConfig.getBaseUrl())
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                .build();
+        this.apiQuotaService = apiQuotaService;
+        this.amadeusTokenManager = amadeusTokenManager;
+        this.amadeusOfferParser = amadeusOfferParser;
+        this.webClient = webClient;
+        this.circuitBreaker = new CircuitBreaker("amadeus",
+                amadeusClientConfig.getFailureRateThreshold(),
+                amadeusClientConfig.getSlidingWindowSize(),
+                amadeusClientConfig.getMinimumCalls(),
+                amadeusClientConfig.getOpenStateSeconds() * 1000L,
+                amadeusClientConfig.getHalfOpenTrialCalls());
+        this.maxConcurrentCalls = amadeusClientConfig.getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
     }
 
     /**
-     * Get authorization token from Amadeus API
+     * Search for flights using Amadeus API on behalf of a user; emits the parsed offers
      */
-    private synchronized Mono<String> getAuthToken() {
-        // If we have a token already and it's not expired, return it
-        if (tokenResponse != null && !tokenResponse.isExpired()) {
-            logger.debug("Using existing token");
-            return Mono.just(tokenResponse.getAccessToken());
-        }
+    public Mono<List<AmadeusOfferSummary>> searchFlights(String origin, String destination, LocalDate departureDate) {
+        return searchFlights(origin, destination, departureDate, ApiQuotaService.Priority.USER);
+    }
 
-        logger.info("Requesting new token from Amadeus API");
-        
-        // Otherwise, request a new token
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add("grant_type", "client_credentials");
-        formData.add("client_id", amadeusApiConfig.getKey());
-        formData.add("client_secret", amadeusApiConfig.getSecret());
+    /**
+     * Search for flights using Amadeus API; background callers can't use the share of the quota kept for users
+     */
+    public Mono<List<AmadeusOfferSummary>> searchFlights(String origin, String destination, LocalDate departureDate,
+                                                           ApiQuotaService.Priority priority) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                logger.warn("Amadeus circuit breaker is {}, skipping flight search", circuitBreaker.getState());
+                return Mono.error(new UpstreamUnavailableException("Amadeus API is temporarily unavailable"));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                logger.warn("Amadeus bulkhead full ({} concurrent calls), skipping flight search", maxConcurrentCalls);
+                return Mono.error(new UpstreamUnavailableException("Too many concurrent Amadeus API calls"));
+            }
+            try {
+                apiQuotaService.acquire(priority);
+            } catch (ApiQuotaExceededException e) {
+                bulkhead.release();
+                circuitBreaker.releasePermission();
+                logger.warn("Cannot perform {} flight search: {}", priority, e.getMessage());
+                return Mono.error(e);
+            }
 
-        return webClient.post()
-                .uri(amadeusApiConfig.getTokenUrl())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(AmadeusTokenResponse.class)
-                .doOnNext(token -> this.tokenResponse = token)
-                .map(AmadeusTokenResponse::getAccessToken);
+            logger.info("Searching flights from {} to {} on {}", origin, destination, departureDate);
+
+            return requestFlightOffers(origin, destination, departureDate)
+                    .doOnSuccess(response -> circuitBreaker.onSuccess())
+                    .doOnError(error -> {
+                        if (isUpstreamFailure(error)) {
+                            circuitBreaker.onError();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        }).doOnError(error -> logger.error("Error searching flights: {}", error.getMessage()));
     }
 
     /**
-     * Search for flights using Amadeus API
+     * Circuit breaker and bulkhead figures for the admin API status page
      */
-    public Mono<AmadeusFlightOffersResponse> searchFlights(String origin, String destination, LocalDate departureDate) {
-        if (!apiQuotaConfig.hasQuotaRemaining()) {
-            logger.warn("API quota has been exceeded for the month. Cannot perform flight search.");
-            return Mono.error(new RuntimeException("API quota exceeded for the month"));
-        }
+    public Map<String, Object> getResilienceMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("circuitBreaker", circuitBreaker.getMetrics());
+        metrics.put("bulkheadMaxConcurrentCalls", maxConcurrentCalls);
+        metrics.put("bulkheadAvailableCalls", bulkhead.availablePermits());
+        return metrics;
+    }
 
-        logger.info("Searching flights from {} to {} on {}", origin, destination, departureDate);
-        
-        return getAuthToken()
+    CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    private Mono<List<AmadeusOfferSummary>> requestFlightOffers(String origin, String destination, LocalDate departureDate) {
+        return amadeusTokenManager.getAccessToken()
                 .flatMap(token -> {
-                    apiQuotaConfig.incrementCallCount();
-                    
                     // Build the query parameters
                     String formattedDate = departureDate.format(DATE_FORMATTER);
                     
@@ -97,8 +147,18 @@ public class AmadeusApiClient {
                             .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
                             .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                             .retrieve()
-                            .bodyToMono(AmadeusFlightOffersResponse.class);
-                })
-                .doOnError(error -> logger.error("Error searching flights: {}", error.getMessage()));
+                            .bodyToMono(byte[].class)
+                            // Read the offers straight from the raw body instead of binding the full DTO tree
+                            .map(amadeusOfferParser::parse);
+                });
+    }
+
+    // Client errors (bad route, bad date) say nothing about upstream health; throttling and server errors do
+    private static boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                    || responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return true;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,223 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for Amadeus flight-offers responses.
+ *
+ * Walks the JSON tokens once and keeps only the fields search needs, skipping everything
+ * else (later segments, fare details, dictionaries) without binding it to objects.
+ * Offers missing any required field are dropped.
+ */
+@Component
+public class AmadeusOfferParser {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusOfferParser.class);
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public List<AmadeusOfferSummary> parse(byte[] body) {
+        List<AmadeusOfferSummary> offers = new ArrayList<>();
+        if (body == null || body.length == 0) {
+            return offers;
+        }
+
+        int skipped = 0;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        AmadeusOfferSummary offer = readOffer(parser);
+                        if (offer != null) {
+                            offers.add(offer);
+                        } else {
+                            skipped++;
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error parsing Amadeus flight offers", e);
+        }
+
+        if (skipped > 0) {
+            logger.warn("Skipped {} incomplete flight offers", skipped);
+        }
+        return offers;
+    }
+
+    private AmadeusOfferSummary readOffer(JsonParser parser) throws IOException {
+        String id = null;
+        String total = null;
+        String currency = null;
+        SegmentFields segment = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "price" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String priceField = parser.currentName();
+                            parser.nextToken();
+                            if ("total".equals(priceField)) {
+                                total = parser.getValueAsString();
+                            } else if ("currency".equals(priceField)) {
+                                currency = parser.getValueAsString();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+                case "itineraries" -> {
+                    if (value == JsonToken.START_ARRAY) {
+                        segment = readFirstSegmentOfFirstItinerary(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (segment == null || !segment.isComplete() || total == null) {
+            return null;
+        }
+        try {
+            return new AmadeusOfferSummary(id, segment.carrierCode, segment.carrierCode + segment.number,
+                    segment.origin, segment.destination,
+                    parseDateTime(segment.departureAt), parseDateTime(segment.arrivalAt),
+                    Double.parseDouble(total), currency);
+        } catch (RuntimeException e) {
+            logger.warn("Invalid flight offer {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    // Positioned on the itineraries START_ARRAY; leaves the parser on its END_ARRAY
+    private SegmentFields readFirstSegmentOfFirstItinerary(JsonParser parser) throws IOException {
+        SegmentFields segment = null;
+        boolean firstItinerary = true;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (!firstItinerary) {
+                parser.skipChildren();
+                continue;
+            }
+            firstItinerary = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("segments".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        if (segment == null) {
+                            segment = readSegment(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return segment;
+    }
+
+    private SegmentFields readSegment(JsonParser parser) throws IOException {
+        SegmentFields segment = new SegmentFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "carrierCode" -> segment.carrierCode = parser.getValueAsString();
+                case "number" -> segment.number = parser.getValueAsString();
+                case "departure", "arrival" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    boolean departure = "departure".equals(field);
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String endpointField = parser.currentName();
+                        parser.nextToken();
+                        if ("iataCode".equals(endpointField)) {
+                            if (departure) {
+                                segment.origin = parser.getValueAsString();
+                            } else {
+                                segment.destination = parser.getValueAsString();
+                            }
+                        } else if ("at".equals(endpointField)) {
+                            if (departure) {
+                                segment.departureAt = parser.getValueAsString();
+                            } else {
+                                segment.arrivalAt = parser.getValueAsString();
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return segment;
+    }
+
+    /**
+     * Parses the fixed "yyyy-MM-ddTHH:mm[:ss]" layout Amadeus uses without going through DateTimeFormatter
+     */
+    static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.length() < 16 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != 'T' || value.charAt(13) != ':') {
+            throw new IllegalArgumentException("Unexpected date-time: " + value);
+        }
+        int second = value.length() >= 19 && value.charAt(16) == ':' ? digits(value, 17, 19) : 0;
+        return LocalDateTime.of(digits(value, 0, 4), digits(value, 5, 7), digits(value, 8, 10),
+                digits(value, 11, 13), digits(value, 14, 16), second);
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Unexpected date-time: " + value);
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static final class SegmentFields {
+        private String carrierCode;
+        private String number;
+        private String origin;
+        private String destination;
+        private String departureAt;
+        private String arrivalAt;
+
+        private boolean isComplete() {
+            return carrierCode != null && number != null && origin != null && destination != null
+                    && departureAt != null && arrivalAt != null;
+        }
+    }
+}
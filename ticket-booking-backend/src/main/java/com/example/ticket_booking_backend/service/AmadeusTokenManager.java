@@ -0,0 +1,133 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AmadeusApiConfig;
+import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusTokenResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the Amadeus OAuth token without locks.
+ *
+ * The current token lives in an AtomicReference and is refreshed proactively by a background
+ * task before it expires, so searches read it without waiting on the token endpoint. Refreshes
+ * are single-flight: concurrent callers that find no valid token all share the one in-flight
+ * request instead of each firing their own.
+ */
+@Service
+public class AmadeusTokenManager {
+    private static final Logger logger = LoggerFactory.getLogger(AmadeusTokenManager.class);
+
+    private final WebClient webClient;
+    private final AmadeusApiConfig amadeusApiConfig;
+    private final AppFeatureConfig appFeatureConfig;
+
+    private final AtomicReference<AmadeusTokenResponse> currentToken = new AtomicReference<>();
+    private final AtomicReference<Mono<AmadeusTokenResponse>> inFlightRefresh = new AtomicReference<>();
+
+    // Refresh this long before the token actually expires
+    @Value("${amadeus.api.token-refresh-margin-seconds:300}")
+    private long refreshMarginSeconds;
+
+    @Autowired
+    public AmadeusTokenManager(AmadeusApiConfig amadeusApiConfig,
+                               AppFeatureConfig appFeatureConfig,
+                               @Qualifier("amadeusWebClient") WebClient webClient) {
+        this.amadeusApiConfig = amadeusApiConfig;
+        this.appFeatureConfig = appFeatureConfig;
+        this.webClient = webClient;
+    }
+
+    /**
+     * Current access token; only waits on the token endpoint when no usable token exists
+     */
+    public Mono<String> getAccessToken() {
+        AmadeusTokenResponse token = currentToken.get();
+        if (token != null && !token.isExpired()) {
+            return Mono.just(token.getAccessToken());
+        }
+        return refresh().map(AmadeusTokenResponse::getAccessToken);
+    }
+
+    /**
+     * Fetch a token at startup so the first search doesn't pay for it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (appFeatureConfig.isUseApi()) {
+            refreshInBackground();
+        }
+    }
+
+    /**
+     * Refresh ahead of expiry so steady-state searches always find a valid token
+     */
+    @Scheduled(fixedDelayString = "${amadeus.api.token-check-interval-ms:30000}")
+    public void refreshIfExpiringSoon() {
+        if (!appFeatureConfig.isUseApi()) {
+            return;
+        }
+        AmadeusTokenResponse token = currentToken.get();
+        if (token == null || token.expiresWithin(refreshMarginSeconds * 1000)) {
+            logger.info("Amadeus token missing or expiring within {}s, refreshing proactively", refreshMarginSeconds);
+            refreshInBackground();
+        }
+    }
+
+    /**
+     * Single-flight refresh: the first caller installs the request, everyone else joins it
+     */
+    Mono<AmadeusTokenResponse> refresh() {
+        while (true) {
+            Mono<AmadeusTokenResponse> existing = inFlightRefresh.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            Mono<AmadeusTokenResponse> request = requestToken()
+                    .doOnNext(currentToken::set)
+                    .doFinally(signal -> inFlightRefresh.set(null))
+                    .cache();
+            if (inFlightRefresh.compareAndSet(null, request)) {
+                return request;
+            }
+        }
+    }
+
+    private void refreshInBackground() {
+        refresh().subscribe(
+                token -> logger.info("Amadeus token refreshed, valid for {}s", token.getExpiresIn()),
+                error -> logger.error("Error refreshing Amadeus token: {}", error.getMessage()));
+    }
+
+    private Mono<AmadeusTokenResponse> requestToken() {
+        logger.info("Requesting new token from Amadeus API");
+
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "client_credentials");
+        formData.add("client_id", amadeusApiConfig.getKey());
+        formData.add("client_secret", amadeusApiConfig.getSecret());
+
+        return webClient.post()
+                .uri(amadeusApiConfig.getTokenUrl())
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData(formData))
+                .retrieve()
+                .bodyToMono(AmadeusTokenResponse.class);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ApiQuotaConfig;
+import com.example.ticket_booking_backend.exception.ApiQuotaExceededException;
+import com.example.ticket_booking_backend.exception.ApiRateLimitedException;
+import com.example.ticket_booking_backend.model.ApiUsage;
+import com.example.ticket_booking_backend.repository.ApiUsageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monthly upstream API quota and per-second rate limit.
+ *
+ * Calls are counted in a local atomic counter and flushed to the api_usage table in batches
+ * with an additive upsert, after which the cluster-wide total is re-read; this keeps the
+ * count across restarts and across nodes. A token bucket enforces the per-second limit.
+ * Background callers (e.g. prefetch) must leave part of the monthly quota and half of the
+ * burst capacity untouched so user searches win when the budget is tight.
+ */
+@Service
+public class ApiQuotaService {
+    private static final Logger logger = LoggerFactory.getLogger(ApiQuotaService.class);
+
+    public enum Priority {
+        USER,
+        BACKGROUND
+    }
+
+    private final ApiQuotaConfig apiQuotaConfig;
+    private final ApiUsageRepository apiUsageRepository;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    // Calls counted on this node and not yet written to the database
+    private final AtomicLong unflushedCalls = new AtomicLong();
+    // Cluster-wide total for the current period as of the last flush
+    private final AtomicLong persistedCalls = new AtomicLong();
+    private volatile YearMonth currentPeriod = YearMonth.now();
+
+    @Autowired
+    public ApiQuotaService(ApiQuotaConfig apiQuotaConfig, ApiUsageRepository apiUsageRepository) {
+        this.apiQuotaConfig = apiQuotaConfig;
+        this.apiUsageRepository = apiUsageRepository;
+        this.rateLimiter = new TokenBucketRateLimiter(apiQuotaConfig.getCallsPerSecond(), apiQuotaConfig.getBurstCapacity());
+    }
+
+    @PostConstruct
+    public void init() {
+        reloadPersistedCalls(currentPeriod);
+        logger.info("API quota loaded: {} of {} calls used in {}", getCallsThisMonth(),
+                apiQuotaConfig.getMaxCallsPerMonth(), currentPeriod);
+    }
+
+    /**
+     * Reserve one upstream call for the given priority
+     *
+     * @throws ApiQuotaExceededException if the monthly quota or the rate limit doesn't allow the call
+     */
+    public void acquire(Priority priority) {
+        rollOverIfNeeded();
+
+        long limit = apiQuotaConfig.getMaxCallsPerMonth()
+                - (priority == Priority.BACKGROUND ? userReserveCalls() : 0);
+        // Checked before a token is taken, so calls refused for the month don't drain the
+        // rate limit other callers (users, when background work is over its share) still have
+        if (getCallsThisMonth() >= limit) {
+            throw new ApiQuotaExceededException("API quota exceeded for the month");
+        }
+
+        double bucketReserve = priority == Priority.BACKGROUND ? rateLimiter.getCapacity() / 2 : 0;
+        if (!rateLimiter.tryAcquire(bucketReserve)) {
+            throw new ApiRateLimitedException("API rate limit reached, try again shortly");
+        }
+
+        while (true) {
+            long local = unflushedCalls.get();
+            if (persistedCalls.get() + local >= limit) {
+                throw new ApiQuotaExceededException("API quota exceeded for the month");
+            }
+            if (unflushedCalls.compareAndSet(local, local + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write locally counted calls to the database and pick up calls made by other nodes
+     */
+    @Scheduled(fixedDelayString = "${app.api.flush-interval-ms:10000}")
+    @PreDestroy
+    public synchronized void flush() {
+        rollOverIfNeeded();
+        YearMonth period = currentPeriod;
+
+        long delta = unflushedCalls.getAndSet(0);
+        if (delta != 0) {
+            // Keep the calls visible while the write is in progress
+            persistedCalls.addAndGet(delta);
+            try {
+                apiUsageRepository.addCalls(period.toString(), delta);
+            } catch (Exception e) {
+                logger.error("Error flushing {} API calls for {}: {}", delta, period, e.getMessage());
+                persistedCalls.addAndGet(-delta);
+                unflushedCalls.addAndGet(delta);
+                return;
+            }
+        }
+        reloadPersistedCalls(period);
+    }
+
+    public long getCallsThisMonth() {
+        return persistedCalls.get() + unflushedCalls.get();
+    }
+
+    public int getMaxCallsPerMonth() {
+        return apiQuotaConfig.getMaxCallsPerMonth();
+    }
+
+    public long getRemainingCalls() {
+        return Math.max(0, apiQuotaConfig.getMaxCallsPerMonth() - getCallsThisMonth());
+    }
+
+    public boolean hasQuotaRemaining() {
+        return getRemainingCalls() > 0;
+    }
+
+    /**
+     * Calls background work may still make this month without touching the user reserve
+     */
+    public long getRemainingBackgroundCalls() {
+        return Math.max(0, getRemainingCalls() - userReserveCalls());
+    }
+
+    private long userReserveCalls() {
+        return (long) apiQuotaConfig.getMaxCallsPerMonth() * apiQuotaConfig.getUserReservePercent() / 100;
+    }
+
+    private void rollOverIfNeeded() {
+        YearMonth now = YearMonth.now();
+        if (now.equals(currentPeriod)) {
+            return;
+        }
+        synchronized (this) {
+            if (now.equals(currentPeriod)) {
+                return;
+            }
+            YearMonth previous = currentPeriod;
+            long delta = unflushedCalls.getAndSet(0);
+            if (delta != 0) {
+                try {
+                    apiUsageRepository.addCalls(previous.toString(), delta);
+                } catch (Exception e) {
+                    logger.error("Error flushing {} API calls for {} at month rollover: {}", delta, previous, e.getMessage());
+                }
+            }
+            currentPeriod = now;
+            persistedCalls.set(0);
+            reloadPersistedCalls(now);
+            logger.info("API quota rolled over from {} to {}", previous, now);
+        }
+    }
+
+    private void reloadPersistedCalls(YearMonth period) {
+        try {
+            long calls = apiUsageRepository.findById(period.toString())
+                    .map(ApiUsage::getCalls)
+                    .orElse(0L);
+            persistedCalls.set(calls);
+        } catch (Exception e) {
+            logger.warn("Could not load API usage for {}: {}", period, e.getMessage());
+        }
+    }
+}
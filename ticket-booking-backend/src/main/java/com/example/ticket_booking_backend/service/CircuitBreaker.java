@@ -0,0 +1,177 @@
+package com.example.ticket_booking_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED records the outcome of the last {@code slidingWindowSize} calls and opens once at least
+ * {@code minimumCalls} were recorded and the failure rate reaches the threshold. OPEN rejects every
+ * call until {@code openStateMillis} have passed, then HALF_OPEN lets a few trial calls through:
+ * if they all succeed the breaker closes, a single failure opens it again.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openStateNanos;
+    private final int halfOpenTrialCalls;
+    private final LongSupplier nanoClock;
+
+    // Ring buffer of recent outcomes while CLOSED
+    private final boolean[] outcomes;
+    private int nextOutcome;
+    private int bufferedCalls;
+    private int bufferedFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private long notPermittedCalls;
+    private long timesOpened;
+
+    public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          long openStateMillis, int halfOpenTrialCalls) {
+        this(name, failureRateThreshold, slidingWindowSize, minimumCalls, openStateMillis, halfOpenTrialCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                   long openStateMillis, int halfOpenTrialCalls, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.openStateNanos = openStateMillis * 1_000_000L;
+        this.halfOpenTrialCalls = Math.max(1, halfOpenTrialCalls);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a call may go ahead. Every permitted call must be followed by exactly one of
+     * onSuccess, onError or releasePermission.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openStateNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (halfOpenPermits > 0) {
+                    halfOpenPermits--;
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        notPermittedCalls++;
+        return false;
+    }
+
+    /**
+     * Give back a permission whose call never reached the upstream
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenTrialCalls - halfOpenSuccesses) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenTrialCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onError() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (bufferedCalls >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure percentage over the buffered calls, or -1 when fewer than the minimum were recorded
+     */
+    public synchronized float getFailureRate() {
+        if (bufferedCalls < minimumCalls) {
+            return -1;
+        }
+        return bufferedFailures * 100f / bufferedCalls;
+    }
+
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("state", state.name());
+        metrics.put("failureRate", getFailureRate());
+        metrics.put("bufferedCalls", bufferedCalls);
+        metrics.put("failedCalls", bufferedFailures);
+        metrics.put("notPermittedCalls", notPermittedCalls);
+        metrics.put("timesOpened", timesOpened);
+        return metrics;
+    }
+
+    private void record(boolean failure) {
+        if (bufferedCalls == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                bufferedFailures--;
+            }
+        } else {
+            bufferedCalls++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            bufferedFailures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State newState) {
+        logger.warn("Circuit breaker '{}' changing from {} to {}", name, state, newState);
+        state = newState;
+        switch (newState) {
+            case OPEN:
+                openedAt = nanoClock.getAsLong();
+                timesOpened++;
+                break;
+            case HALF_OPEN:
+                halfOpenPermits = halfOpenTrialCalls;
+                halfOpenSuccesses = 0;
+                break;
+            case CLOSED:
+                nextOutcome = 0;
+                bufferedCalls = 0;
+                bufferedFailures = 0;
+                break;
+        }
+    }
+}
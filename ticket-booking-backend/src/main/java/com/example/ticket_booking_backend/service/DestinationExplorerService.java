@@ -0,0 +1,271 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ExploreConfig;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.DestinationSummaryDTO;
+import com.example.ticket_booking_backend.dto.ItineraryLegDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * "Where can I fly from X": cheapest fare and earliest departure per destination.
+ *
+ * Upcoming, non-cancelled departures are held in memory as origin -> month -> destination
+ * buckets. FlightService reports every create, update and delete once its transaction
+ * commits, and only the touched bucket is updated; a bucket recomputes its summary lazily,
+ * from the handful of flights on that route in that month, the next time it is read. A
+ * periodic full rebuild (the same lightweight projection the connection graph uses) picks up
+ * writes made outside FlightService and drops departed flights.
+ */
+@Service
+public class DestinationExplorerService {
+    private static final Logger logger = LoggerFactory.getLogger(DestinationExplorerService.class);
+
+    private final FlightRepository flightRepository;
+    private final AirportDirectory airportDirectory;
+    private final ExploreConfig exploreConfig;
+
+    private final Object lock = new Object();
+    private volatile RouteTable table = new RouteTable();
+    // Changes applied while a rebuild is reading the database, replayed onto the rebuilt table; guarded by lock
+    private List<Consumer<RouteTable>> changesDuringRebuild;
+
+    @Autowired
+    public DestinationExplorerService(FlightRepository flightRepository,
+                                      AirportDirectory airportDirectory,
+                                      ExploreConfig exploreConfig) {
+        this.flightRepository = flightRepository;
+        this.airportDirectory = airportDirectory;
+        this.exploreConfig = exploreConfig;
+    }
+
+    /**
+     * Rebuilds the route table from the schedule and swaps it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.explore.rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.explore.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<ItineraryLegDTO> legs = flightRepository.findConnectionLegs(
+                    now, now.plusDays(exploreConfig.getHorizonDays()), FlightStatus.CANCELLED);
+            RouteTable rebuilt = new RouteTable();
+            for (ItineraryLegDTO leg : legs) {
+                rebuilt.put(leg.getFlightId(), Flight.normalizeAirportCode(leg.getOrigin()),
+                        Flight.normalizeAirportCode(leg.getDestination()), leg.getDepartureTime(), leg.getPriceMinor());
+            }
+            synchronized (lock) {
+                changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                table = rebuilt;
+            }
+            logger.info("Destination explorer rebuilt with {} upcoming flights", legs.size());
+        } catch (Exception e) {
+            // Keep serving the previous table if the rebuild fails
+            logger.error("Error rebuilding destination explorer: {}", e.getMessage(), e);
+        } finally {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Record a created or updated flight once the surrounding transaction commits
+     */
+    public void onFlightSaved(Flight flight) {
+        if (flight == null || flight.getId() == null) {
+            return;
+        }
+        // Copy the values now; the entity may change again before the commit
+        Long id = flight.getId();
+        String origin = Flight.normalizeAirportCode(flight.getOrigin());
+        String destination = Flight.normalizeAirportCode(flight.getDestination());
+        LocalDateTime departureTime = flight.getDepartureTime();
+        long price = flight.getPriceMinor();
+        boolean listed = flight.getStatus() != FlightStatus.CANCELLED
+                && origin != null && destination != null && departureTime != null;
+
+        afterCommit(() -> apply(routes -> {
+            routes.remove(id);
+            if (listed) {
+                routes.put(id, origin, destination, departureTime, price);
+            }
+        }));
+    }
+
+    /**
+     * Forget a deleted flight once the surrounding transaction commits
+     */
+    public void onFlightDeleted(Long flightId) {
+        if (flightId != null) {
+            afterCommit(() -> apply(routes -> routes.remove(flightId)));
+        }
+    }
+
+    /**
+     * Every destination reachable from origin, cheapest first. With a month only departures in
+     * that month count, otherwise all upcoming departures within the horizon.
+     */
+    public List<DestinationSummaryDTO> explore(String origin, YearMonth month) {
+        LocalDateTime now = LocalDateTime.now();
+        YearMonth currentMonth = YearMonth.from(now);
+
+        Map<String, RouteSummary> byDestination = new HashMap<>();
+        table.months(Flight.normalizeAirportCode(origin)).forEach((bucketMonth, buckets) -> {
+            if (month != null ? bucketMonth.equals(month) : !bucketMonth.isBefore(currentMonth)) {
+                buckets.forEach((destination, bucket) -> {
+                    RouteSummary summary = bucket.summary(now);
+                    if (summary != null) {
+                        byDestination.merge(destination, summary, RouteSummary::combine);
+                    }
+                });
+            }
+        });
+
+        List<DestinationSummaryDTO> results = new ArrayList<>(byDestination.size());
+        byDestination.forEach((destination, summary) -> {
+            Optional<AirportInfo> airport = airportDirectory.findByCode(destination);
+            results.add(new DestinationSummaryDTO(destination,
+                    airport.map(AirportInfo::getCity).orElse(null),
+                    airport.map(AirportInfo::getName).orElse(null),
+                    Money.toMajorUnits(summary.cheapestFareMinor(), Money.DEFAULT_CURRENCY),
+                    summary.earliestDeparture(), summary.flightCount()));
+        });
+        results.sort(Comparator.comparingDouble(DestinationSummaryDTO::getCheapestFare)
+                .thenComparing(DestinationSummaryDTO::getDestination));
+        return results;
+    }
+
+    private void apply(Consumer<RouteTable> change) {
+        synchronized (lock) {
+            change.accept(table);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        }
+    }
+
+    // A rolled-back write must not show up in the explorer
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Placement(String origin, YearMonth month, String destination) {
+    }
+
+    private record Fare(long priceMinor, LocalDateTime departureTime) {
+    }
+
+    private record RouteSummary(long cheapestFareMinor, LocalDateTime earliestDeparture, int flightCount) {
+        private RouteSummary combine(RouteSummary other) {
+            return new RouteSummary(Math.min(cheapestFareMinor, other.cheapestFareMinor),
+                    earliestDeparture.isBefore(other.earliestDeparture) ? earliestDeparture : other.earliestDeparture,
+                    flightCount + other.flightCount);
+        }
+    }
+
+    /**
+     * origin -> departure month -> destination -> bucket, plus where each flight is filed
+     */
+    private static final class RouteTable {
+        private final Map<String, Map<YearMonth, Map<String, RouteBucket>>> byOrigin = new ConcurrentHashMap<>();
+        private final Map<Long, Placement> placements = new ConcurrentHashMap<>();
+
+        private void put(Long id, String origin, String destination, LocalDateTime departureTime, long price) {
+            YearMonth month = YearMonth.from(departureTime);
+            byOrigin.computeIfAbsent(origin, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(month, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(destination, key -> new RouteBucket())
+                    .put(id, new Fare(price, departureTime));
+            placements.put(id, new Placement(origin, month, destination));
+        }
+
+        private void remove(Long id) {
+            Placement placement = placements.remove(id);
+            if (placement == null) {
+                return;
+            }
+            RouteBucket bucket = months(placement.origin())
+                    .getOrDefault(placement.month(), Map.of())
+                    .get(placement.destination());
+            if (bucket != null) {
+                bucket.remove(id);
+            }
+        }
+
+        private Map<YearMonth, Map<String, RouteBucket>> months(String origin) {
+            return origin == null ? Map.of() : byOrigin.getOrDefault(origin, Map.of());
+        }
+    }
+
+    /**
+     * Flights on one route in one month with a lazily computed summary
+     */
+    private static final class RouteBucket {
+        private final Map<Long, Fare> flights = new HashMap<>();
+        private RouteSummary summary;
+        private boolean stale = true;
+
+        private synchronized void put(Long id, Fare fare) {
+            flights.put(id, fare);
+            stale = true;
+        }
+
+        private synchronized void remove(Long id) {
+            if (flights.remove(id) != null) {
+                stale = true;
+            }
+        }
+
+        /**
+         * Summary over the flights still to depart, or null if there are none
+         */
+        private synchronized RouteSummary summary(LocalDateTime now) {
+            if (stale || (summary != null && !summary.earliestDeparture().isAfter(now))) {
+                flights.values().removeIf(fare -> !fare.departureTime().isAfter(now));
+                summary = null;
+                for (Fare fare : flights.values()) {
+                    RouteSummary single = new RouteSummary(fare.priceMinor(), fare.departureTime(), 1);
+                    summary = summary == null ? single : summary.combine(single);
+                }
+                stale = false;
+            }
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.CacheRegionStatsDTO;
+import com.example.ticket_booking_backend.model.Airport;
+import com.example.ticket_booking_backend.model.Flight;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Eviction and statistics for the Hibernate second-level and query caches.
+ *
+ * Writes made through Hibernate keep the caches current on their own (READ_WRITE regions,
+ * per-table query invalidation). Writes that bypass it, such as the JDBC airport import, must
+ * evict the affected regions here once they commit.
+ */
+@Service
+public class EntityCacheService {
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheService.class);
+
+    private final SessionFactory sessionFactory;
+
+    @Autowired
+    public EntityCacheService(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Drop cached airports and every cached query result
+     */
+    public void evictAirports() {
+        sessionFactory.getCache().evictEntityData(Airport.class);
+        sessionFactory.getCache().evictQueryRegions();
+        logger.info("Evicted airports from the second-level cache");
+    }
+
+    /**
+     * Drop cached flights, e.g. after their airport ids were set in SQL
+     */
+    public void evictFlights() {
+        sessionFactory.getCache().evictEntityData(Flight.class);
+        logger.info("Evicted flights from the second-level cache");
+    }
+
+    public void evictAll() {
+        sessionFactory.getCache().evictAllRegions();
+        logger.info("Evicted all second-level and query cache regions");
+    }
+
+    /**
+     * Per-region counters, busiest first. Requires hibernate.generate_statistics.
+     */
+    public List<CacheRegionStatsDTO> getStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                long entries = region.getElementCountInMemory();
+                regions.add(new CacheRegionStatsDTO(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(),
+                        entries == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? -1 : entries));
+            }
+        });
+        regions.sort((a, b) -> Long.compare(b.getHits() + b.getMisses(), a.getHits() + a.getMisses()));
+        return regions;
+    }
+}
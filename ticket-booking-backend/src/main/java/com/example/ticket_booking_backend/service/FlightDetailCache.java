@@ -0,0 +1,147 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightDetailCacheConfig;
+import com.example.ticket_booking_backend.dto.CacheRegionStatsDTO;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Bounded read-through cache of flight details (the flight with its seat map) for the detail
+ * endpoints that seat-selection pages poll.
+ *
+ * An entry is a detached copy loaded in one read-only transaction, stamped with the flight and
+ * seat-map versions read just before it, so the ETag built from them is never newer than the
+ * body. Concurrent misses on a flight share one load. Flight writes evict the entry when they
+ * commit; seat holds and bookings change the seat map from many places and are picked up when
+ * the entry expires.
+ *
+ * Entries are shared between requests and must not be modified: code that changes a flight
+ * loads it through FlightService.
+ */
+@Service
+public class FlightDetailCache {
+    private static final Logger logger = LoggerFactory.getLogger(FlightDetailCache.class);
+
+    static final String REGION = "flight-details";
+
+    private final FlightRepository flightRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<Long, FlightDetails> cache;
+
+    @Autowired
+    public FlightDetailCache(FlightRepository flightRepository, PlatformTransactionManager transactionManager,
+                             FlightDetailCacheConfig config) {
+        this(flightRepository, transactionManager, config, Ticker.systemTicker());
+    }
+
+    FlightDetailCache(FlightRepository flightRepository, PlatformTransactionManager transactionManager,
+                      FlightDetailCacheConfig config, Ticker ticker) {
+        this.flightRepository = flightRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaxEntries())
+                .expireAfterWrite(Duration.ofSeconds(config.getTtlSeconds()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Details of a flight, loaded on a miss; empty if the flight does not exist
+     */
+    public Optional<FlightDetails> get(Long id) {
+        return Optional.ofNullable(cache.get(id, this::load));
+    }
+
+    /**
+     * Drop a flight's entry once the surrounding transaction commits. A request loading the
+     * flight meanwhile still sees the old row; the eviction waits for that load and removes it.
+     */
+    public void invalidate(Long flightId) {
+        if (flightId != null) {
+            afterCommit(() -> cache.invalidate(flightId));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Counters in the shape of the second-level cache regions; puts are completed loads
+     */
+    public CacheRegionStatsDTO getStatistics() {
+        CacheStats stats = cache.stats();
+        return new CacheRegionStatsDTO(REGION, stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+                cache.estimatedSize());
+    }
+
+    private FlightDetails load(Long id) {
+        return readOnlyTransaction.execute(status -> {
+            // Versions first, so the tag is never newer than the seats loaded after it; the flight
+            // row itself may come from the second-level cache
+            Optional<FlightVersionDTO> versions = flightRepository.findVersions(id, LocalDateTime.now());
+            if (versions.isEmpty()) {
+                return null;
+            }
+            Flight flight = flightRepository.findById(id).orElse(null);
+            if (flight == null) {
+                return null;
+            }
+            Hibernate.initialize(flight.getSeats());
+            logger.debug("Loaded details of flight {} into the detail cache", id);
+            return new FlightDetails(flight, versions.get().getVersion(), versions.get().getSeatMapVersion());
+        });
+    }
+
+    // A rolled-back write leaves the cached entry valid
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * A flight and its seats as of the given flight and seat-map versions
+     */
+    public record FlightDetails(Flight flight, Long version, Long seatMapVersion) {
+
+        /**
+         * Versions for the ETag at the given time. Seats serialize their hold state relative to
+         * the current time, so holds that lapsed since the load are counted here, the same way
+         * FlightRepository.findVersions counts them.
+         */
+        public FlightVersionDTO versions(LocalDateTime now) {
+            long lapsedHolds = flight.getSeats().stream()
+                    .filter(seat -> seat.getHoldUntil() != null && !seat.getHoldUntil().isAfter(now))
+                    .count();
+            return new FlightVersionDTO(flight.getId(), version, seatMapVersion, flight.getDepartureTime(), lapsedHolds);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.dto.FlightListingQuery;
+import com.example.ticket_booking_backend.dto.FlightPageDTO;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Paginated flight listing with keyset (seek) pagination.
+ *
+ * A page is the next size rows after the last row of the previous page in (sort key, id)
+ * order; the cursor handed back to the client is that row's sort key and id. Unlike OFFSET
+ * nothing before the cursor is read, so every page costs the same, and rows inserted or
+ * deleted meanwhile do not shift later pages.
+ */
+@Service
+public class FlightListingService {
+
+    private final FlightRepository flightRepository;
+    private final FlightSearchConfig searchConfig;
+
+    @Autowired
+    public FlightListingService(FlightRepository flightRepository, FlightSearchConfig searchConfig) {
+        this.flightRepository = flightRepository;
+        this.searchConfig = searchConfig;
+    }
+
+    /**
+     * One page of flights. Unless includePast is set only upcoming departures are listed.
+     *
+     * @throws IllegalArgumentException for an invalid cursor or filter combination
+     */
+    public FlightPageDTO listFlights(FlightListingQuery query, boolean includePast) {
+        if (query.getSort() == null) {
+            query.setSort(FlightListingQuery.Sort.DEPARTURE_ASC);
+        }
+        if (query.getMinPrice() != null && query.getMaxPrice() != null && query.getMinPrice() > query.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        query.setOrigin(blankToNull(Flight.normalizeAirportCode(query.getOrigin())));
+        query.setDestination(blankToNull(Flight.normalizeAirportCode(query.getDestination())));
+        query.setAirline(blankToNull(query.getAirline() != null ? query.getAirline().trim() : null));
+
+        if (!includePast) {
+            LocalDateTime now = LocalDateTime.now();
+            if (query.getDepartureFrom() == null || query.getDepartureFrom().isBefore(now)) {
+                query.setDepartureFrom(now);
+            }
+        }
+
+        int size = query.getSize() > 0
+                ? Math.min(query.getSize(), searchConfig.getListingMaxPageSize())
+                : searchConfig.getListingPageSize();
+
+        Cursor after = query.getCursor() != null && !query.getCursor().isBlank()
+                ? decodeCursor(query.getCursor(), query.getSort())
+                : new Cursor(null, null);
+
+        // One extra row tells whether there is a next page without counting
+        List<FlightSummaryDTO> rows = flightRepository.findSummaryPage(query, after.key(), after.id(), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<FlightSummaryDTO> flights = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? encodeCursor(flights.get(flights.size() - 1), query.getSort()) : null;
+        return new FlightPageDTO(List.copyOf(flights), nextCursor, hasMore);
+    }
+
+    static String encodeCursor(FlightSummaryDTO last, FlightListingQuery.Sort sort) {
+        Object key = sort.isByPrice() ? last.getPriceMinor() : last.getDepartureTime();
+        String raw = sort.name() + "|" + key + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A cursor is only valid for the sort order it was issued for
+    static Cursor decodeCursor(String cursor, FlightListingQuery.Sort sort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new IllegalArgumentException("it does not belong to sort order " + sort);
+            }
+            Object key = sort.isByPrice() ? Long.valueOf(parts[1]) : LocalDateTime.parse(parts[1]);
+            return new Cursor(key, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + e.getMessage(), e);
+        }
+    }
+
+    record Cursor(Object key, Long id) {
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
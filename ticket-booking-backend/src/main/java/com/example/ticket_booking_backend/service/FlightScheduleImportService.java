@@ -0,0 +1,620 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightImportConfig;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.FlightImportProgress;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository.NaturalKey;
+import com.example.ticket_booking_backend.util.CsvReader;
+import com.example.ticket_booking_backend.util.SsimReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk flight schedule import from CSV or SSIM.
+ *
+ * The file is parsed as a stream on the job's thread. Each flight is validated (both airports
+ * must be in the in-memory AirportDirectory, which also supplies their airport ids) and
+ * handed to one of several writer threads by flight number, so the same flight
+ * number is always written by the same worker and duplicates within the file cannot race.
+ * A worker writes each full batch in its own transaction with two statements: an
+ * INSERT ... ON CONFLICT DO NOTHING of the flights, which skips those whose (flight number,
+ * departure time) is already scheduled, and one INSERT ... SELECT creating the seat maps of the
+ * flights it inserted. Bounded queues keep the parser at most a few batches ahead of the writers.
+ *
+ * Rows are validated before they are queued, so a batch that cannot be written points at the
+ * database, not the data: the first such failure stops the import and fails the job. Committed
+ * batches stay committed, and flights already in the table are skipped as duplicates, so a
+ * failed or interrupted import is resumed by submitting the same file again.
+ * Progress can be polled while the job runs; once it finishes the route aggregates (destination
+ * explorer, connection graph) are rebuilt once.
+ */
+@Service
+public class FlightScheduleImportService {
+    private static final Logger logger = LoggerFactory.getLogger(FlightScheduleImportService.class);
+
+    // Accepted CSV header names per column
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("flight_number", "flightNumber"), Map.entry("flightnumber", "flightNumber"),
+            Map.entry("flight_no", "flightNumber"), Map.entry("flight", "flightNumber"),
+            Map.entry("airline", "airline"), Map.entry("carrier", "airline"),
+            Map.entry("origin", "origin"), Map.entry("from", "origin"),
+            Map.entry("destination", "destination"), Map.entry("to", "destination"),
+            Map.entry("departure_time", "departureTime"), Map.entry("departuretime", "departureTime"),
+            Map.entry("departure", "departureTime"), Map.entry("std", "departureTime"),
+            Map.entry("arrival_time", "arrivalTime"), Map.entry("arrivaltime", "arrivalTime"),
+            Map.entry("arrival", "arrivalTime"), Map.entry("sta", "arrivalTime"),
+            Map.entry("price", "price"), Map.entry("fare", "price"),
+            Map.entry("status", "status"));
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "flightNumber", "airline", "origin", "destination", "departureTime", "arrivalTime", "price");
+
+    public enum ScheduleFormat {
+        CSV,
+        SSIM
+    }
+
+    private final FlightWriteRepository flightWriteRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AirportDirectory airportDirectory;
+    private final DestinationExplorerService destinationExplorerService;
+    private final ItinerarySearchService itinerarySearchService;
+    private final FlightImportConfig importConfig;
+
+    private final AtomicBoolean importRunning = new AtomicBoolean(false);
+    // Recent jobs by id, oldest first; guarded by itself
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Autowired
+    public FlightScheduleImportService(FlightWriteRepository flightWriteRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       AirportDirectory airportDirectory,
+                                       DestinationExplorerService destinationExplorerService,
+                                       ItinerarySearchService itinerarySearchService,
+                                       FlightImportConfig importConfig) {
+        this.flightWriteRepository = flightWriteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.airportDirectory = airportDirectory;
+        this.destinationExplorerService = destinationExplorerService;
+        this.itinerarySearchService = itinerarySearchService;
+        this.importConfig = importConfig;
+    }
+
+    /**
+     * Start importing a schedule file in the background; the file is deleted once it was read.
+     * The returned snapshot carries the job id for {@link #getProgress(String)}.
+     *
+     * @throws IllegalStateException if another import is running
+     */
+    public FlightImportProgress startImport(Path file, String fileName, ScheduleFormat format) {
+        ImportJob job = begin(fileName, format);
+        Thread thread = new Thread(() -> {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                run(job, in);
+            } catch (Exception e) {
+                // Already recorded on the job
+                logger.debug("Flight import {} ended with an error", job.id, e);
+            } finally {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Could not delete flight import file {}: {}", file, e.getMessage());
+                }
+            }
+        }, "flight-import-" + job.id.substring(0, 8));
+        thread.start();
+        return job.snapshot();
+    }
+
+    /**
+     * Import a UTF-8 schedule stream and wait for it to finish
+     *
+     * @throws IllegalArgumentException if a CSV header lacks a required column
+     * @throws IllegalStateException if another import is running
+     */
+    public FlightImportProgress importSchedule(InputStream in, String fileName, ScheduleFormat format) throws IOException {
+        ImportJob job = begin(fileName, format);
+        run(job, in);
+        return job.snapshot();
+    }
+
+    public Optional<FlightImportProgress> getProgress(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(ImportJob::snapshot);
+        }
+    }
+
+    /**
+     * Recent imports, newest first
+     */
+    public List<FlightImportProgress> getRecentImports() {
+        List<FlightImportProgress> recent = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> recent.add(job.snapshot()));
+        }
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    private ImportJob begin(String fileName, ScheduleFormat format) {
+        if (!importRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A flight schedule import is already running");
+        }
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), fileName, format, importConfig.getMaxReportedErrors());
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<ImportJob> oldest = jobs.values().iterator();
+            while (jobs.size() > Math.max(1, importConfig.getRetainedJobs()) && oldest.hasNext()) {
+                if (oldest.next().finished()) {
+                    oldest.remove();
+                }
+            }
+        }
+        return job;
+    }
+
+    private void run(ImportJob job, InputStream in) throws IOException {
+        int workers = Math.max(1, importConfig.getWorkers());
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "flight-import-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            logger.info("Flight schedule import {} started: {} ({})", job.id, job.fileName, job.format);
+            ImportRun run = new ImportRun(job, workers, Math.max(1, importConfig.getBatchSize()), executor);
+            try {
+                InputStreamReader reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+                if (job.format == ScheduleFormat.SSIM) {
+                    run.readSsim(new SsimReader(reader));
+                } else {
+                    run.readCsv(new CsvReader(reader));
+                }
+            } finally {
+                // Let the writers drain what was queued, also when parsing failed
+                run.finish();
+            }
+            job.complete();
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage());
+            logger.error("Flight schedule import {} failed: {}", job.id, e.getMessage());
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            importRunning.set(false);
+            if (job.inserted.get() > 0) {
+                // Rows written with JDBC never passed through FlightService's change hooks
+                destinationExplorerService.rebuild();
+                itinerarySearchService.refreshGraph();
+            }
+            logger.info("Flight schedule import {} finished in {} ms: {} flights read, {} inserted, {} duplicates, {} rejected",
+                    job.id, job.durationMs(), job.flightsRead.get(), job.inserted.get(), job.duplicates.get(), job.rejected.get());
+        }
+    }
+
+    /**
+     * Write one batch: insert the flights not scheduled yet and their seat maps
+     *
+     * @return flights inserted
+     */
+    int writeBatch(List<ScheduledFlight> batch) {
+        Integer written = transactionTemplate.execute(status -> {
+            List<Long> ids = flightWriteRepository.insertNew(batch.stream().map(ScheduledFlight::toFlight).toList());
+            flightWriteRepository.createSeatMaps(ids);
+            return ids.size();
+        });
+        return written != null ? written : 0;
+    }
+
+    /**
+     * A validated flight from the file, with the line it came from
+     */
+    record ScheduledFlight(long line, String flightNumber, String airline, AirportInfo origin, AirportInfo destination,
+                           LocalDateTime departureTime, LocalDateTime arrivalTime, double price, FlightStatus status) {
+        NaturalKey key() {
+            return new NaturalKey(flightNumber, departureTime);
+        }
+
+        Flight toFlight() {
+            Flight flight = new Flight();
+            flight.setFlightNumber(flightNumber);
+            flight.setAirline(airline);
+            flight.setOrigin(origin.getCode());
+            flight.setOriginAirportId(origin.getId());
+            flight.setDestination(destination.getCode());
+            flight.setDestinationAirportId(destination.getId());
+            flight.setDepartureTime(departureTime);
+            flight.setArrivalTime(arrivalTime);
+            flight.setPrice(price);
+            flight.setStatus(status);
+            // Open until booked: createSeatMaps gives every imported flight the full cabin
+            flight.setAvailableSeats(Flight.CABIN_SEATS);
+            return flight;
+        }
+    }
+
+    /**
+     * Parsing side of one import: validation, partitioning and the writer queues
+     */
+    private final class ImportRun {
+        private final ImportJob job;
+        private final int batchSize;
+        private final List<Map<NaturalKey, ScheduledFlight>> pending = new ArrayList<>();
+        private final List<BlockingQueue<List<ScheduledFlight>>> queues = new ArrayList<>();
+        private final List<Future<?>> writers = new ArrayList<>();
+        // First batch write failure; once set nothing more is queued or written
+        private final AtomicReference<RuntimeException> writeFailure = new AtomicReference<>();
+
+        private ImportRun(ImportJob job, int workers, int batchSize, ExecutorService executor) {
+            this.job = job;
+            this.batchSize = batchSize;
+            for (int i = 0; i < workers; i++) {
+                BlockingQueue<List<ScheduledFlight>> queue =
+                        new ArrayBlockingQueue<>(Math.max(1, importConfig.getQueuedBatchesPerWorker()));
+                pending.add(new LinkedHashMap<>());
+                queues.add(queue);
+                writers.add(executor.submit(() -> write(queue)));
+            }
+        }
+
+        private void readCsv(CsvReader reader) throws IOException {
+            Map<String, Integer> columns = readHeader(reader);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                job.linesRead.incrementAndGet();
+                job.flightsRead.incrementAndGet();
+                long line = reader.getRecordLine();
+
+                LocalDateTime departure;
+                LocalDateTime arrival;
+                double price;
+                FlightStatus status;
+                try {
+                    departure = dateTime(field(record, columns.get("departureTime")));
+                    arrival = dateTime(field(record, columns.get("arrivalTime")));
+                } catch (DateTimeParseException e) {
+                    job.reject(line, "invalid departure or arrival time");
+                    continue;
+                }
+                try {
+                    price = Double.parseDouble(field(record, columns.get("price")));
+                } catch (NumberFormatException e) {
+                    job.reject(line, "invalid price");
+                    continue;
+                }
+                String statusName = field(record, columns.getOrDefault("status", -1));
+                try {
+                    status = statusName.isEmpty() ? FlightStatus.SCHEDULED
+                            : FlightStatus.valueOf(statusName.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    job.reject(line, "unknown status " + statusName);
+                    continue;
+                }
+
+                accept(validate(line, field(record, columns.get("flightNumber")), field(record, columns.get("airline")),
+                        field(record, columns.get("origin")), field(record, columns.get("destination")),
+                        departure, arrival, price, status));
+            }
+        }
+
+        private void readSsim(SsimReader reader) throws IOException {
+            while (true) {
+                SsimReader.Leg leg;
+                try {
+                    leg = reader.readLeg();
+                } catch (IllegalArgumentException e) {
+                    job.linesRead.incrementAndGet();
+                    job.reject(reader.getRecordLine(), e.getMessage());
+                    continue;
+                }
+                if (leg == null) {
+                    return;
+                }
+                job.linesRead.incrementAndGet();
+
+                // One flight per operating day; the record's problems are the same on every day
+                for (LocalDate date = leg.periodFrom(); !date.isAfter(leg.periodTo()); date = date.plusDays(1)) {
+                    if (!leg.days().contains(date.getDayOfWeek())) {
+                        continue;
+                    }
+                    LocalDateTime departure = date.plusDays(leg.departureDays()).atTime(leg.departureTime());
+                    LocalDateTime arrival = leg.arrivalDays() != null
+                            ? date.plusDays(leg.arrivalDays()).atTime(leg.arrivalTime())
+                            : departure.toLocalDate().atTime(leg.arrivalTime());
+                    if (leg.arrivalDays() == null && !arrival.isAfter(departure)) {
+                        arrival = arrival.plusDays(1);
+                    }
+                    job.flightsRead.incrementAndGet();
+                    ScheduledFlight flight = validate(reader.getRecordLine(), leg.flightNumber(), leg.airline(),
+                            leg.origin(), leg.destination(), departure, arrival,
+                            importConfig.getSsimDefaultFare(), FlightStatus.SCHEDULED);
+                    if (flight == null) {
+                        break;
+                    }
+                    accept(flight);
+                }
+            }
+        }
+
+        private ScheduledFlight validate(long line, String flightNumber, String airline, String originCode,
+                                         String destinationCode, LocalDateTime departure, LocalDateTime arrival,
+                                         double price, FlightStatus status) {
+            String number = Flight.normalizeFlightNumber(flightNumber);
+            if (number.isEmpty()) {
+                job.reject(line, "no flight number");
+                return null;
+            }
+            if (airline.isEmpty()) {
+                job.reject(line, number + " has no airline");
+                return null;
+            }
+            Optional<AirportInfo> origin = airportDirectory.findByCode(Flight.normalizeAirportCode(originCode));
+            if (origin.isEmpty()) {
+                job.reject(line, number + " departs from unknown airport '" + originCode + "'");
+                return null;
+            }
+            Optional<AirportInfo> destination = airportDirectory.findByCode(Flight.normalizeAirportCode(destinationCode));
+            if (destination.isEmpty()) {
+                job.reject(line, number + " arrives at unknown airport '" + destinationCode + "'");
+                return null;
+            }
+            if (origin.get().getCode().equals(destination.get().getCode())) {
+                job.reject(line, number + " departs from and arrives at " + originCode);
+                return null;
+            }
+            if (!arrival.isAfter(departure)) {
+                job.reject(line, number + " arrives before it departs");
+                return null;
+            }
+            if (!Double.isFinite(price) || price < 0) {
+                job.reject(line, number + " has an invalid price");
+                return null;
+            }
+            return new ScheduledFlight(line, number, airline, origin.get(), destination.get(), departure, arrival, price, status);
+        }
+
+        private void accept(ScheduledFlight flight) {
+            if (flight == null) {
+                return;
+            }
+            int partition = Math.floorMod(flight.flightNumber().hashCode(), pending.size());
+            Map<NaturalKey, ScheduledFlight> batch = pending.get(partition);
+            if (batch.putIfAbsent(flight.key(), flight) != null) {
+                // Listed twice in the file; the first one wins
+                job.duplicates.incrementAndGet();
+                return;
+            }
+            if (batch.size() >= batchSize) {
+                enqueue(partition);
+            }
+        }
+
+        private void enqueue(int partition) {
+            Map<NaturalKey, ScheduledFlight> batch = pending.get(partition);
+            if (batch.isEmpty()) {
+                return;
+            }
+            if (writeFailure.get() != null) {
+                throw stopped();
+            }
+            try {
+                queues.get(partition).put(new ArrayList<>(batch.values()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Flight import interrupted", e);
+            }
+            batch.clear();
+        }
+
+        /**
+         * Queue the partial batches, stop the writers and wait for them
+         */
+        private void finish() {
+            if (writeFailure.get() == null) {
+                for (int i = 0; i < pending.size(); i++) {
+                    enqueue(i);
+                }
+            }
+            try {
+                for (BlockingQueue<List<ScheduledFlight>> queue : queues) {
+                    queue.put(List.of());
+                }
+                for (Future<?> writer : writers) {
+                    writer.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Flight import interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Flight import writer failed", e.getCause());
+            }
+            if (writeFailure.get() != null) {
+                throw stopped();
+            }
+        }
+
+        private IllegalStateException stopped() {
+            RuntimeException cause = writeFailure.get();
+            return new IllegalStateException("a batch could not be written: " + cause.getMessage(), cause);
+        }
+
+        // Writer loop; an empty batch ends it
+        private void write(BlockingQueue<List<ScheduledFlight>> queue) {
+            while (true) {
+                List<ScheduledFlight> batch;
+                try {
+                    batch = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                if (writeFailure.get() != null) {
+                    // Keep draining so the parser never blocks on this queue
+                    continue;
+                }
+                try {
+                    int written = writeBatch(batch);
+                    job.inserted.addAndGet(written);
+                    job.duplicates.addAndGet(batch.size() - written);
+                } catch (RuntimeException e) {
+                    // The batch rolled back on its own; the import stops after it
+                    long firstLine = batch.stream().mapToLong(ScheduledFlight::line).min().orElse(0);
+                    if (writeFailure.compareAndSet(null, e)) {
+                        job.error("batch from line " + firstLine + " was not written: " + e.getMessage());
+                    }
+                    logger.error("Flight import {} batch of {} flights failed: {}", job.id, batch.size(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> readHeader(CsvReader reader) throws IOException {
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = HEADER_ALIASES.get(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, int index) {
+        if (index < 0 || index >= record.size()) {
+            return "";
+        }
+        return record.get(index).trim();
+    }
+
+    // 2026-11-01T09:30 or 2026-11-01 09:30
+    private static LocalDateTime dateTime(String value) {
+        return LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    /**
+     * State and counters of one import, shared by the parser and the writers
+     */
+    private static final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final ScheduleFormat format;
+        private final int maxReportedErrors;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+
+        private final AtomicLong linesRead = new AtomicLong();
+        private final AtomicLong flightsRead = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicInteger errorCount = new AtomicInteger();
+        private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile long durationMs;
+
+        private ImportJob(String id, String fileName, ScheduleFormat format, int maxReportedErrors) {
+            this.id = id;
+            this.fileName = fileName;
+            this.format = format;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        private void reject(long line, String reason) {
+            rejected.incrementAndGet();
+            error("line " + line + ": " + reason);
+        }
+
+        private void error(String message) {
+            if (errorCount.getAndIncrement() < maxReportedErrors) {
+                errors.add(message);
+            }
+        }
+
+        private void complete() {
+            end("COMPLETED");
+        }
+
+        private void fail(String message) {
+            error("import failed: " + message);
+            end("FAILED");
+        }
+
+        private void end(String finalStatus) {
+            durationMs = durationMs();
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        private boolean finished() {
+            return finishedAt != null;
+        }
+
+        private long durationMs() {
+            return finishedAt != null ? durationMs : (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        private FlightImportProgress snapshot() {
+            List<String> reported;
+            synchronized (errors) {
+                reported = List.copyOf(errors);
+            }
+            return new FlightImportProgress(id, fileName, format.name(), status, linesRead.get(), flightsRead.get(),
+                    inserted.get(), duplicates.get(), rejected.get(), reported, startedAt, finishedAt, durationMs());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.config.PrefetchConfig;
+import com.example.ticket_booking_backend.model.Flight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded cache of API flight search results keyed by (origin, destination, date).
+ * Shared by the regular search, the fare calendar and any other caller that needs
+ * per-day results, so the same Amadeus lookup is never paid twice within the TTL.
+ * Entries written by the background prefetcher live longer than on-demand entries.
+ */
+@Service
+public class FlightSearchCache {
+    private static final Logger logger = LoggerFactory.getLogger(FlightSearchCache.class);
+
+    private final Cache<String, CachedSearch> cache;
+    private final long searchTtlNanos;
+    private final long prefetchTtlNanos;
+
+    @Autowired
+    public FlightSearchCache(FlightSearchConfig flightSearchConfig, PrefetchConfig prefetchConfig) {
+        this.searchTtlNanos = Duration.ofMinutes(flightSearchConfig.getCacheTtlMinutes()).toNanos();
+        this.prefetchTtlNanos = Duration.ofHours(prefetchConfig.getCacheTtlHours()).toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(flightSearchConfig.getCacheMaxEntries())
+                .expireAfter(new Expiry<String, CachedSearch>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedSearch value, long currentTime) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedSearch value, long currentTime, long currentDuration) {
+                        return value.ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedSearch value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<List<Flight>> get(String origin, String destination, LocalDate date) {
+        CachedSearch cached = cache.getIfPresent(key(origin, destination, date));
+        if (cached != null) {
+            logger.debug("Search cache hit for {}-{} on {}", origin, destination, date);
+            return Optional.of(cached.flights);
+        }
+        return Optional.empty();
+    }
+
+    public void put(String origin, String destination, LocalDate date, List<Flight> flights) {
+        cache.put(key(origin, destination, date), new CachedSearch(List.copyOf(flights), searchTtlNanos, false));
+    }
+
+    /**
+     * Stores a result fetched ahead of demand with the longer prefetch TTL
+     */
+    public void putPrefetched(String origin, String destination, LocalDate date, List<Flight> flights) {
+        cache.put(key(origin, destination, date), new CachedSearch(List.copyOf(flights), prefetchTtlNanos, true));
+    }
+
+    /**
+     * Whether a result stored by the prefetcher is still cached for the search; unlike get this
+     * does not count towards the hit rate
+     */
+    public boolean hasPrefetched(String origin, String destination, LocalDate date) {
+        CachedSearch cached = cache.policy().getIfPresentQuietly(key(origin, destination, date));
+        return cached != null && cached.prefetched;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public double hitRate() {
+        return cache.stats().hitRate();
+    }
+
+    private static String key(String origin, String destination, LocalDate date) {
+        return Flight.normalizeAirportCode(origin) + "-" + Flight.normalizeAirportCode(destination) + "@" + date;
+    }
+
+    private static final class CachedSearch {
+        private final List<Flight> flights;
+        private final long ttlNanos;
+        private final boolean prefetched;
+
+        private CachedSearch(List<Flight> flights, long ttlNanos, boolean prefetched) {
+            this.flights = flights;
+            this.ttlNanos = ttlNanos;
+            this.prefetched = prefetched;
+        }
+    }
+}
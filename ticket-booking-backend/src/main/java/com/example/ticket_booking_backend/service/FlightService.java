@@ -1,30 +1,50 @@
 package com.example.ticket_booking_backend.service;
 
 import com.example.ticket_booking_backend.config.AppFeatureConfig;
-import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffersResponse;
-import com.example.ticket_booking_backend.model.Airport;
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.dto.FareCalendarDayDTO;
+import com.example.ticket_booking_backend.dto.FlightPatchRequest;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.dto.FlightUpsertResult;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.example.ticket_booking_backend.exception.FlightHasBookingsException;
 import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
 import com.example.ticket_booking_backend.model.Seat;
 import com.example.ticket_booking_backend.model.FlightReportFilter;
 import com.example.ticket_booking_backend.model.FlightReport;
-import com.example.ticket_booking_backend.repository.AirportRepository;
 import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository.NaturalKey;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository.StoredFlight;
+import com.example.ticket_booking_backend.service.FlightDetailCache.FlightDetails;
 import com.example.ticket_booking_backend.repository.BookingRepository;
 import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.util.Money;
+import com.example.ticket_booking_backend.util.MoneyTotals;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.math.BigDecimal;
 import java.util.HashMap;
 
 @Service
@@ -36,8 +56,15 @@ public class FlightService {
     private final FlightMapperService flightMapperService;
     private final AppFeatureConfig appFeatureConfig;
     private final SeatService seatService;
-    private final AirportRepository airportRepository;
+    private final AirportDirectory airportDirectory;
     private final BookingRepository bookingRepository;
+    private final FlightSearchCache flightSearchCache;
+    private final FlightSearchConfig flightSearchConfig;
+    private final SearchPrefetchService searchPrefetchService;
+    private final DestinationExplorerService destinationExplorerService;
+    private final ItinerarySearchService itinerarySearchService;
+    private final FlightWriteRepository flightWriteRepository;
+    private final FlightDetailCache flightDetailCache;
 
     @Autowired
     public FlightService(FlightRepository flightRepository, 
@@ -45,15 +72,29 @@ public class FlightService {
                          FlightMapperService flightMapperService,
                          AppFeatureConfig appFeatureConfig,
                          SeatService seatService,
-                         AirportRepository airportRepository,
-                         BookingRepository bookingRepository) {
+                         AirportDirectory airportDirectory,
+                         BookingRepository bookingRepository,
+                         FlightSearchCache flightSearchCache,
+                         FlightSearchConfig flightSearchConfig,
+                         SearchPrefetchService searchPrefetchService,
+                         DestinationExplorerService destinationExplorerService,
+                         ItinerarySearchService itinerarySearchService,
+                         FlightWriteRepository flightWriteRepository,
+                         FlightDetailCache flightDetailCache) {
         this.flightRepository = flightRepository;
         this.amadeusApiClient = amadeusApiClient;
         this.flightMapperService = flightMapperService;
         this.appFeatureConfig = appFeatureConfig;
         this.seatService = seatService;
-        this.airportRepository = airportRepository;
+        this.airportDirectory = airportDirectory;
         this.bookingRepository = bookingRepository;
+        this.flightSearchCache = flightSearchCache;
+        this.flightSearchConfig = flightSearchConfig;
+        this.searchPrefetchService = searchPrefetchService;
+        this.destinationExplorerService = destinationExplorerService;
+        this.itinerarySearchService = itinerarySearchService;
+        this.flightWriteRepository = flightWriteRepository;
+        this.flightDetailCache = flightDetailCache;
     }
 
     // Add the missing getAllFlights method
@@ -63,6 +104,48 @@ public class FlightService {
 
     // Add searchFlights method
     public List<Flight> searchFlights(String origin, String destination, LocalDate departureDate) {
+        return searchFlights(origin, destination, departureDate, flight -> flight, flightRepository::searchFlightsByRoute);
+    }
+    
+    /**
+     * Same search as searchFlights, returned as list-view summaries: database results come from
+     * a projection query, so no Flight entities or seats are loaded
+     */
+    public List<FlightSummaryDTO> searchFlightSummaries(String origin, String destination, LocalDate departureDate) {
+        return searchFlights(origin, destination, departureDate, FlightSummaryDTO::from, flightRepository::findRouteSummaries);
+    }
+    
+    /**
+     * One flight as a list-view summary, seat counts included, without loading its seats
+     */
+    public Optional<FlightSummaryDTO> getFlightSummary(Long id) {
+        return flightRepository.findSummaryById(id);
+    }
+    
+    /**
+     * Upcoming flights as list-view summaries
+     */
+    public List<FlightSummaryDTO> getUpcomingFlightSummaries() {
+        return flightRepository.findUpcomingSummaries(LocalDateTime.now());
+    }
+    
+    /**
+     * All flights, past ones included, as list-view summaries
+     */
+    public List<FlightSummaryDTO> getAllFlightSummaries() {
+        return flightRepository.findAllSummaries();
+    }
+    
+    /**
+     * Database side of a route search, for full flights or summaries
+     */
+    @FunctionalInterface
+    private interface RouteQuery<T> {
+        List<T> find(String origin, String destination, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    }
+    
+    private <T> List<T> searchFlights(String origin, String destination, LocalDate departureDate,
+                                      Function<Flight, T> apiResultMapper, RouteQuery<T> databaseQuery) {
         logger.info("Searching flights from {} to {} on {}, API mode: {}", 
                 origin, destination, departureDate, appFeatureConfig.isUseApi());
         
@@ -82,19 +165,18 @@ public class FlightService {
         
         logger.info("Using origin code: {} and destination code: {}", originCode, destinationCode);
         
+        // Feed search popularity to the off-peak prefetcher
+        searchPrefetchService.recordSearch(originCode, destinationCode, departureDate);
+        
         // If API feature is enabled, try to get flights from API first
         if (appFeatureConfig.isUseApi()) {
             try {
                 logger.info("Attempting to search flights using Amadeus API");
-                List<Flight> apiFlights = searchFlightsFromApi(originCode, destinationCode, departureDate);
+                List<Flight> apiFlights = searchFlightsFromApiCached(originCode, destinationCode, departureDate);
                 
                 if (!apiFlights.isEmpty()) {
                     logger.info("Found {} flights from API", apiFlights.size());
-                    
-                    // Convert prices from EUR to INR for display
-                    apiFlights.forEach(this::convertFlightPriceForDisplay);
-                    
-                    return apiFlights;
+                    return apiFlights.stream().map(apiResultMapper).collect(Collectors.toList());
                 } else {
                     logger.info("No flights found from API, falling back to database");
                 }
@@ -109,9 +191,9 @@ public class FlightService {
         LocalDateTime endOfDay = departureDate.atTime(23, 59, 59);
 
         // First try exact match
-        List<Flight> dbFlights = flightRepository.searchFlightsIgnoreCase(
-                originCode,
-                destinationCode,
+        List<T> dbFlights = databaseQuery.find(
+                Flight.normalizeAirportCode(originCode),
+                Flight.normalizeAirportCode(destinationCode),
                 startOfDay,
                 endOfDay
         );
@@ -126,6 +208,13 @@ public class FlightService {
         return dbFlights;
     }
     
+    /**
+     * Resolve user input (city name or airport code) to a normalized airport code
+     */
+    public String resolveAirportCode(String input) {
+        return Flight.normalizeAirportCode(convertToAirportCode(input != null ? input.trim() : null));
+    }
+    
     /**
      * Convert city name to airport code if possible
      * @param input - Can be either city name or airport code
@@ -234,49 +323,143 @@ public class FlightService {
                 return "JNB";
         }
         
-        // Check if we can map this city name to an airport code from the database
-        try {
-            // Try to find the airport code for the city
-            List<Airport> airports = airportRepository.searchAirports(normalizedInput);
+        // Check if we can map this city name to an airport code from the airport directory
+        Optional<String> code = airportDirectory.resolveCode(normalizedInput);
+        if (code.isPresent()) {
+            logger.info("Converted city '{}' to airport code '{}'", normalizedInput, code.get());
+            return code.get();
+        }
+        
+        // If we couldn't find a match, return the input normalized the same way stored codes are
+        return Flight.normalizeAirportCode(normalizedInput);
+    }
+    
+    /**
+     * Search flights from the Amadeus API, serving repeated (route, date) lookups from the search cache.
+     * Prices are converted for display before caching so cached entries are ready to return.
+     */
+    private List<Flight> searchFlightsFromApiCached(String origin, String destination, LocalDate departureDate) {
+        Optional<List<Flight>> cached = flightSearchCache.get(origin, destination, departureDate);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        
+        List<Flight> flights = searchFlightsFromApi(origin, destination, departureDate, ApiQuotaService.Priority.USER);
+        
+        // Convert prices from EUR to INR for display
+        flights.forEach(this::convertFlightPriceForDisplay);
+        
+        // Empty results are cached too so an empty day doesn't cost a call on every view
+        flightSearchCache.put(origin, destination, departureDate, flights);
+        return flights;
+    }
+    
+    /**
+     * Fetch a (route, date) from the API ahead of demand and store it in the search cache
+     * with the longer prefetch TTL. Used by SearchPrefetchService during off-peak hours.
+     */
+    public void prefetchApiSearch(String origin, String destination, LocalDate departureDate) {
+        List<Flight> flights = searchFlightsFromApi(origin, destination, departureDate, ApiQuotaService.Priority.BACKGROUND);
+        flights.forEach(this::convertFlightPriceForDisplay);
+        flightSearchCache.putPrefetched(origin, destination, departureDate, flights);
+    }
+    
+    /**
+     * Low-fare calendar: cheapest price and flight count for every day in [from, to].
+     * The database side is a single aggregate query; in API mode each day is searched
+     * with bounded concurrency through the search cache and overrides the database day.
+     */
+    public List<FareCalendarDayDTO> getFareCalendar(String origin, String destination, LocalDate from, LocalDate to) {
+        if (origin == null || destination == null || from == null || to == null) {
+            throw new IllegalArgumentException("Origin, destination, from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The 'to' date must not be before the 'from' date");
+        }
+        
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > flightSearchConfig.getCalendarMaxDays()) {
+            throw new IllegalArgumentException("Calendar window cannot exceed " 
+                    + flightSearchConfig.getCalendarMaxDays() + " days");
+        }
+        
+        String originCode = resolveAirportCode(origin);
+        String destinationCode = resolveAirportCode(destination);
+        logger.info("Building fare calendar for {}-{} from {} to {}, API mode: {}", 
+                originCode, destinationCode, from, to, appFeatureConfig.isUseApi());
+        
+        // Start with an empty entry for every day so the calendar has no gaps
+        Map<LocalDate, FareCalendarDayDTO> calendar = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            calendar.put(day, FareCalendarDayDTO.empty(day));
+        }
+        
+        // Database fares for the whole window in one query
+        List<Object[]> rows = flightRepository.findDailyMinFares(
+                originCode, destinationCode, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        for (Object[] row : rows) {
+            LocalDate day = toLocalDate(row[0]);
+            calendar.put(day, new FareCalendarDayDTO(day,
+                    Money.toMajorUnits(((Number) row[1]).longValue(), Money.DEFAULT_CURRENCY), ((Number) row[2]).intValue()));
+        }
+        
+        if (appFeatureConfig.isUseApi()) {
+            List<FareCalendarDayDTO> apiDays = Flux.fromIterable(new ArrayList<>(calendar.keySet()))
+                    .flatMap(day -> Mono.fromCallable(() -> toCalendarDay(day, 
+                                    searchFlightsFromApiCached(originCode, destinationCode, day)))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .onErrorResume(e -> {
+                                logger.warn("API calendar lookup failed for {}, keeping database fares: {}", 
+                                        day, e.getMessage());
+                                return Mono.empty();
+                            }), flightSearchConfig.getCalendarConcurrency())
+                    .collectList()
+                    .block();
             
-            if (!airports.isEmpty()) {
-                // Use the first matching airport's code
-                String code = airports.get(0).getCode().toUpperCase();
-                logger.info("Converted city '{}' to airport code '{}'", normalizedInput, code);
-                return code;
+            if (apiDays != null) {
+                // API results win for days where the API returned flights, matching searchFlights fallback rules
+                apiDays.stream()
+                        .filter(day -> day.getFlightCount() > 0)
+                        .forEach(day -> calendar.put(day.getDate(), day));
             }
-        } catch (Exception e) {
-            logger.warn("Error trying to convert city name to airport code: {}", e.getMessage());
         }
         
-        // If we couldn't find a match, return the original input (in uppercase if it's 3 chars)
-        return normalizedInput.length() == 3 ? normalizedInput.toUpperCase() : normalizedInput;
+        return new ArrayList<>(calendar.values());
+    }
+    
+    private FareCalendarDayDTO toCalendarDay(LocalDate day, List<Flight> flights) {
+        if (flights.isEmpty()) {
+            return FareCalendarDayDTO.empty(day);
+        }
+        long minPrice = flights.stream().mapToLong(Flight::getPriceMinor).min().orElse(0);
+        return new FareCalendarDayDTO(day, Money.toMajorUnits(minPrice, Money.DEFAULT_CURRENCY), flights.size());
+    }
+    
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        return LocalDate.parse(value.toString());
     }
     
     /**
-     * Search flights from the Amadeus API
+     * Search flights from the Amadeus API, charging the call to the given quota priority
      */
-    private List<Flight> searchFlightsFromApi(String origin, String destination, LocalDate departureDate) {
+    private List<Flight> searchFlightsFromApi(String origin, String destination, LocalDate departureDate,
+                                              ApiQuotaService.Priority priority) {
         try {
-            Mono<AmadeusFlightOffersResponse> responseMono = amadeusApiClient.searchFlights(
-                    origin.toUpperCase(), destination.toUpperCase(), departureDate);
+            Mono<List<AmadeusOfferSummary>> offersMono = amadeusApiClient.searchFlights(
+                    origin.toUpperCase(), destination.toUpperCase(), departureDate, priority);
             
             // Block to get the response (non-reactive approach for simplicity)
-            AmadeusFlightOffersResponse response = responseMono.block();
+            List<AmadeusOfferSummary> offers = offersMono.block();
             
-            if (response != null && response.getData() != null && !response.getData().isEmpty()) {
-                // Map the API response to our Flight model
-                List<Flight> flights = flightMapperService.mapApiResponseToFlights(response);
-                
-                // Mark all flights as API sourced
-                flights.forEach(flight -> {
-                    flight.setApiSourced(true);
-                    if (response.getData().size() > 0) {
-                    flight.setApiId(response.getData().get(0).getId());
-                    }
-                });
-                
-                return flights;
+            if (offers != null && !offers.isEmpty()) {
+                // Map the parsed offers to our Flight model (marked as API sourced)
+                return flightMapperService.mapOffersToFlights(offers);
             }
         } catch (Exception e) {
             logger.error("Error searching flights from API: {}", e.getMessage());
@@ -291,6 +474,21 @@ public class FlightService {
         return flightRepository.findById(id)
                 .orElse(null);
     }
+
+    /**
+     * Flight with its seat map for the detail endpoints, from the detail cache. The copy is
+     * shared and read-only; use getFlightById to change a flight.
+     */
+    public Optional<FlightDetails> getFlightDetails(Long id) {
+        return flightDetailCache.get(id);
+    }
+
+    /**
+     * Flight and seat-map versions for HTTP validators; empty if the flight does not exist
+     */
+    public Optional<FlightVersionDTO> getFlightVersions(Long id) {
+        return flightRepository.findVersions(id, LocalDateTime.now());
+    }
     
     /**
      * Create a new flight
@@ -302,22 +500,70 @@ public class FlightService {
     }
     
     /**
-     * Update an existing flight
+     * Update an existing flight from a full flight body (PUT). Only its scalar fields are
+     * applied; the seat map is never taken from the request.
      */
     @Transactional
     public Flight updateFlight(Flight flight) {
-        logger.info("Updating flight with ID: {}", flight.getId());
+        return patchFlight(flight.getId(), FlightPatchRequest.from(flight));
+    }
+    
+    /**
+     * Apply the non-null fields of a patch to a flight.
+     *
+     * The flight is loaded (usually from the second-level cache) and changed in place, so the
+     * flush issues a single UPDATE of just the changed columns (@DynamicUpdate) and the seats
+     * collection is neither loaded nor cascaded over, whatever the cabin size.
+     *
+     * @throws ObjectOptimisticLockingFailureException if the patch carries a stale version
+     */
+    @Transactional
+    public Flight patchFlight(Long id, FlightPatchRequest patch) {
+        logger.info("Updating flight with ID: {}", id);
         
         // Check if the flight exists
-        flightRepository.findById(flight.getId())
-            .orElseThrow(() -> new RuntimeException("Flight not found with id: " + flight.getId()));
+        Flight flight = flightRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Flight not found with id: " + id));
         
-        // Save the updated flight
-        return flightRepository.save(flight);
+        // Clients that do not send the version keep last-writer-wins
+        if (patch.getVersion() != null && !patch.getVersion().equals(flight.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Flight.class, id);
+        }
+        
+        if (patch.getFlightNumber() != null) flight.setFlightNumber(patch.getFlightNumber());
+        if (patch.getAirline() != null) flight.setAirline(patch.getAirline());
+        if (patch.getOrigin() != null) flight.setOrigin(Flight.normalizeAirportCode(patch.getOrigin()));
+        if (patch.getDestination() != null) flight.setDestination(Flight.normalizeAirportCode(patch.getDestination()));
+        if (patch.getDepartureTime() != null) flight.setDepartureTime(patch.getDepartureTime());
+        if (patch.getArrivalTime() != null) flight.setArrivalTime(patch.getArrivalTime());
+        if (patch.getPrice() != null) flight.setPrice(patch.getPrice());
+        if (patch.getStatus() != null) flight.setStatus(patch.getStatus());
+        
+        if (!flight.getArrivalTime().isAfter(flight.getDepartureTime())) {
+            throw new IllegalArgumentException("Arrival time must be after departure time");
+        }
+        // A changed code is relinked; so is a flight saved before its airport was known
+        if (patch.getOrigin() != null || flight.getOriginAirportId() == null) {
+            flight.setOriginAirportId(airportDirectory.findIdByCode(flight.getOrigin()));
+        }
+        if (patch.getDestination() != null || flight.getDestinationAirportId() == null) {
+            flight.setDestinationAirportId(airportDirectory.findIdByCode(flight.getDestination()));
+        }
+        
+        destinationExplorerService.onFlightSaved(flight);
+        itinerarySearchService.onFlightChanged();
+        flightDetailCache.invalidate(id);
+        return flight;
     }
     
     /**
-     * Delete a flight by ID
+     * Delete a flight that has never been booked, with its seats.
+     *
+     * Booking history is never deleted: a flight with bookings is refused and should be cancelled
+     * (status CANCELLED) instead. The seats go in one set-based statement, then the flight
+     * itself; nothing is loaded row by row.
+     *
+     * @throws FlightHasBookingsException if the flight has bookings
      */
     @Transactional
     public void deleteFlight(Long id) {
@@ -327,8 +573,20 @@ public class FlightService {
         Flight flight = flightRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Flight not found with id: " + id));
         
-        // Delete the flight
+        long bookings = flightRepository.countBookingsByFlightId(id);
+        if (bookings > 0) {
+            throw new FlightHasBookingsException(id, bookings);
+        }
+        int seats = flightRepository.deleteSeatsByFlightId(id);
+        
+        // The seats are gone, so the cascade finds an empty collection; removing the entity (rather
+        // than a bulk delete) evicts just this flight from the second-level cache
         flightRepository.delete(flight);
+        destinationExplorerService.onFlightDeleted(id);
+        itinerarySearchService.onFlightChanged();
+        flightDetailCache.invalidate(id);
+        
+        logger.info("Deleted flight {} with {} seats", id, seats);
     }
 
     // Save a new flight
@@ -339,21 +597,83 @@ public class FlightService {
             flight.setSeats(new ArrayList<>());
         }
 
+        linkAirports(flight);
+
         // Save the flight first
         Flight savedFlight = flightRepository.save(flight);
 
         // Initialize seats for the flight
         initializeSeatsForFlight(savedFlight);
+        destinationExplorerService.onFlightSaved(savedFlight);
+        itinerarySearchService.onFlightChanged();
+        flightDetailCache.invalidate(savedFlight.getId());
 
         return savedFlight;
     }
     
     /**
-     * Save an API flight to the database
+     * Save an API flight to the database, or find the stored copy of it
      */
     @Transactional
     public Flight saveApiFlightToDatabase(Flight flight) {
         logger.info("Saving API flight to database: {}", flight.getFlightNumber());
+        Long id = saveApiFlights(List.of(flight)).get(0).getId();
+        return flightRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Flight not found with id: " + id));
+    }
+    
+    /**
+     * Persist API search results in one round trip.
+     *
+     * Flights are upserted on their natural key (flight number, departure time) with
+     * INSERT ... ON CONFLICT, up to a thousand per statement: new flights are inserted and get
+     * their seat maps from one more statement, flights already stored are returned untouched.
+     * Concurrent saves of the same offer resolve to the same row.
+     *
+     * @return one result per distinct flight, in request order
+     * @throws IllegalArgumentException if a flight lacks a required field
+     */
+    @Transactional
+    public List<FlightUpsertResult> saveApiFlights(List<Flight> flights) {
+        Map<NaturalKey, Flight> byKey = new LinkedHashMap<>();
+        for (Flight flight : flights) {
+            prepareApiFlight(flight);
+            byKey.putIfAbsent(NaturalKey.of(flight), flight);
+        }
+        
+        Map<NaturalKey, StoredFlight> stored = flightWriteRepository.upsert(new ArrayList<>(byKey.values()));
+        List<Long> created = new ArrayList<>();
+        List<FlightUpsertResult> results = new ArrayList<>(stored.size());
+        stored.forEach((key, row) -> {
+            Flight flight = byKey.get(key);
+            if (row.inserted()) {
+                flight.setId(row.id());
+                created.add(row.id());
+                destinationExplorerService.onFlightSaved(flight);
+            }
+            results.add(new FlightUpsertResult(row.id(), flight.getApiId(), flight.getFlightNumber(),
+                    flight.getDepartureTime(), row.inserted()));
+        });
+        flightWriteRepository.createSeatMaps(created);
+        if (!created.isEmpty()) {
+            itinerarySearchService.onFlightChanged();
+        }
+        
+        logger.info("Saved {} API flights: {} new, {} already stored", results.size(), created.size(),
+                results.size() - created.size());
+        return results;
+    }
+    
+    /**
+     * Validate an API flight and bring it into its stored form: normalized key, price in INR and
+     * airport details from the directory
+     */
+    private void prepareApiFlight(Flight flight) {
+        if (flight.getFlightNumber() == null || flight.getFlightNumber().isBlank() || flight.getAirline() == null
+                || flight.getOrigin() == null || flight.getDestination() == null
+                || flight.getDepartureTime() == null || flight.getArrivalTime() == null) {
+            throw new IllegalArgumentException("Flight number, airline, origin, destination, departure and arrival time are required");
+        }
         
         // Convert price from EUR to INR if the flight is from API
         if (flight.isApiSourced()) {
@@ -367,77 +687,26 @@ public class FlightService {
             }
         }
         
-        // Check if flight already exists in the database
-        // For API-sourced flights, we check with a time window to handle small variations
-        if (flight.isApiSourced()) {
-            LocalDateTime departureMinus = flight.getDepartureTime().minusMinutes(1);
-            LocalDateTime departurePlus = flight.getDepartureTime().plusMinutes(1);
-            
-            List<Flight> existingFlights = flightRepository.searchFlightsIgnoreCase(
-                flight.getOrigin(),
-                flight.getDestination(),
-                departureMinus,
-                departurePlus
-            );
-            
-            Flight existingFlight = existingFlights.stream()
-                .filter(f -> f.getFlightNumber().equalsIgnoreCase(flight.getFlightNumber()))
-                .findFirst()
-                .orElse(null);
-            
-            if (existingFlight != null) {
-                logger.info("Found existing flight in database with ID {}: {}", 
-                    existingFlight.getId(), existingFlight.getFlightNumber());
-                    
-                return existingFlight;
-            }
-        }
-        
-        // If no existing flight found, create a new one
-        logger.info("No existing flight found, creating new flight entry for: {}", 
-            flight.getFlightNumber());
-        
-        // Clear the temporary ID as it will be auto-generated when saved
+        // The temporary search ID is not ours; the row gets its own
         flight.setId(null);
-        
-        // Ensure this flight is marked as API sourced
+        // A new row gets the full cabin from createSeatMaps
+        flight.setAvailableSeats(Flight.CABIN_SEATS);
         flight.setApiSourced(true);
+        if (flight.getStatus() == null) {
+            flight.setStatus(FlightStatus.SCHEDULED);
+        }
+        // What @PrePersist would do; these rows are written without Hibernate
+        flight.normalizeRoute();
         
-        // Lookup and enrich with airport details before saving
-        enrichFlightWithAirportDetails(flight);
-        
-        // Save to database
-        return saveFlight(flight);
+        linkAirports(flight);
     }
 
     /**
-     * Enriches a flight with airport details (city and name) from the airport repository
+     * Points a flight at its origin and destination airports in the in-memory airport directory
      */
-    private void enrichFlightWithAirportDetails(Flight flight) {
-        try {
-            // Enrich origin airport details
-            if (flight.getOrigin() != null) {
-                airportRepository.findByCode(flight.getOrigin()).ifPresent(airport -> {
-                    logger.info("Enriching flight with origin airport details: {} - {}", 
-                        airport.getCode(), airport.getName());
-                    flight.setOriginCity(airport.getCity());
-                    flight.setOriginName(airport.getName());
-                });
-            }
-            
-            // Enrich destination airport details
-            if (flight.getDestination() != null) {
-                airportRepository.findByCode(flight.getDestination()).ifPresent(airport -> {
-                    logger.info("Enriching flight with destination airport details: {} - {}", 
-                        airport.getCode(), airport.getName());
-                    flight.setDestinationCity(airport.getCity());
-                    flight.setDestinationName(airport.getName());
-                });
-            }
-        } catch (Exception e) {
-            logger.warn("Error enriching flight with airport details: {}", e.getMessage());
-            // Don't fail the save operation if airport enrichment fails
-        }
+    private void linkAirports(Flight flight) {
+        flight.setOriginAirportId(airportDirectory.findIdByCode(flight.getOrigin()));
+        flight.setDestinationAirportId(airportDirectory.findIdByCode(flight.getDestination()));
     }
 
     @Transactional
@@ -453,6 +722,7 @@ public class FlightService {
             }
         }
         flightRepository.save(flight);
+        flightDetailCache.invalidate(flight.getId());
     }
 
     /**
@@ -501,19 +771,22 @@ public class FlightService {
             report.setBookingCount(bookings.size());
             report.setConversionRate(flights.size() > 0 ? (100.0 * bookings.size() / flights.size()) : 0.0);
 
-            // Price analysis
-            BigDecimal minPrice = null, maxPrice = null, totalPrice = BigDecimal.ZERO;
-            int priceCount = 0;
+            // Price analysis in minor units; amounts become decimals only in the report
+            long minPrice = Long.MAX_VALUE, maxPrice = Long.MIN_VALUE, totalPrice = 0;
+            MoneyTotals<String> pricesByRoute = new MoneyTotals<>(Money.DEFAULT_CURRENCY);
             for (Flight f : flights) {
-                BigDecimal price = BigDecimal.valueOf(f.getPrice());
-                if (minPrice == null || price.compareTo(minPrice) < 0) minPrice = price;
-                if (maxPrice == null || price.compareTo(maxPrice) > 0) maxPrice = price;
-                totalPrice = totalPrice.add(price);
-                priceCount++;
+                long price = f.getPriceMinor();
+                minPrice = Math.min(minPrice, price);
+                maxPrice = Math.max(maxPrice, price);
+                totalPrice = Math.addExact(totalPrice, price);
+                pricesByRoute.add(f.getOrigin() + "-" + f.getDestination(), price);
             }
-            report.setMinPrice(minPrice);
-            report.setMaxPrice(maxPrice);
-            report.setAveragePrice(priceCount > 0 ? totalPrice.divide(BigDecimal.valueOf(priceCount), 2, BigDecimal.ROUND_HALF_UP) : null);
+            boolean priced = !flights.isEmpty();
+            report.setCurrency(Money.DEFAULT_CURRENCY);
+            report.setMinPrice(priced ? Money.toDecimal(minPrice, Money.DEFAULT_CURRENCY) : null);
+            report.setMaxPrice(priced ? Money.toDecimal(maxPrice, Money.DEFAULT_CURRENCY) : null);
+            report.setAveragePrice(priced
+                    ? Money.toDecimal(Money.average(totalPrice, flights.size()), Money.DEFAULT_CURRENCY) : null);
 
             // Popular routes (top N in this period)
             HashMap<String, Integer> routeCounts = new HashMap<>();
@@ -524,15 +797,7 @@ public class FlightService {
             report.setPopularRoutes(routeCounts);
 
             // Average prices by route
-            HashMap<String, BigDecimal> avgPrices = new HashMap<>();
-            for (String r : routeCounts.keySet()) {
-                List<Flight> routeFlights = flights.stream().filter(f -> (f.getOrigin() + "-" + f.getDestination()).equals(r)).toList();
-                if (!routeFlights.isEmpty()) {
-                    BigDecimal sum = routeFlights.stream().map(f -> BigDecimal.valueOf(f.getPrice())).reduce(BigDecimal.ZERO, BigDecimal::add);
-                    avgPrices.put(r, sum.divide(BigDecimal.valueOf(routeFlights.size()), 2, BigDecimal.ROUND_HALF_UP));
-                }
-            }
-            report.setAveragePrices(avgPrices);
+            report.setAveragePrices(pricesByRoute.averages(Function.identity()));
 
             // Search frequency (by day)
             HashMap<String, Integer> searchFreq = new HashMap<>();
@@ -24,11 +24,14 @@ public class FlightStatusScheduler {
 
     private final FlightRepository flightRepository;
     private final WebSocketService webSocketService;
+    private final FlightDetailCache flightDetailCache;
 
     @Autowired
-    public FlightStatusScheduler(FlightRepository flightRepository, WebSocketService webSocketService) {
+    public FlightStatusScheduler(FlightRepository flightRepository, WebSocketService webSocketService,
+                                 FlightDetailCache flightDetailCache) {
         this.flightRepository = flightRepository;
         this.webSocketService = webSocketService;
+        this.flightDetailCache = flightDetailCache;
     }
 
     /**
@@ -69,6 +72,7 @@ public class FlightStatusScheduler {
                 
                 flight.setStatus(FlightStatus.IN_FLIGHT);
                 flightRepository.save(flight);
+                flightDetailCache.invalidate(flight.getId());
                 
                 // Notify via WebSocket that the flight status has changed
                 webSocketService.notifyFlightUpdate(flight.getId(), 
@@ -98,6 +102,7 @@ public class FlightStatusScheduler {
                 
                 flight.setStatus(FlightStatus.ARRIVED);
                 flightRepository.save(flight);
+                flightDetailCache.invalidate(flight.getId());
                 
                 // Notify via WebSocket that the flight status has changed
                 webSocketService.notifyFlightUpdate(flight.getId(), 
@@ -127,6 +132,7 @@ public class FlightStatusScheduler {
                 
                 flight.setStatus(FlightStatus.DELAYED);
                 flightRepository.save(flight);
+                flightDetailCache.invalidate(flight.getId());
                 
                 // Notify via WebSocket about the delay
                 webSocketService.notifyFlightUpdate(flight.getId(), 
@@ -0,0 +1,302 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ItineraryConfig;
+import com.example.ticket_booking_backend.dto.ItineraryDTO;
+import com.example.ticket_booking_backend.dto.ItineraryLegDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds direct and connecting itineraries over the flight schedule.
+ *
+ * Upcoming departures are kept in an immutable in-memory connection graph (departures grouped
+ * by origin, sorted by departure time) that is rebuilt periodically and swapped atomically.
+ * Flight writes through FlightService mark the graph stale once they commit, and a short
+ * periodic check rebuilds it once the changes have been quiet for a moment (debounce), never
+ * more often than a configured floor, so a steady stream of edits costs one rebuild per floor
+ * interval rather than one every few seconds.
+ * A search walks the graph depth-first from the origin's departures on the requested date,
+ * only following legs that leave within the connection window, and prunes partial journeys
+ * that exceed the maximum journey time or already cost more than the worst kept result.
+ */
+@Service
+public class ItinerarySearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ItinerarySearchService.class);
+
+    private static final Comparator<ItineraryDTO> RANKING = Comparator
+            .comparingLong(ItineraryDTO::getTotalPriceMinor)
+            .thenComparing(ItineraryDTO::getArrivalTime)
+            .thenComparingInt(ItineraryDTO::getStops);
+
+    private final FlightRepository flightRepository;
+    private final ItineraryConfig itineraryConfig;
+
+    private volatile ConnectionGraph graph = ConnectionGraph.EMPTY;
+    // Set by committed flight changes the current graph does not reflect yet
+    private final AtomicBoolean stale = new AtomicBoolean();
+    // System.nanoTime() of the last committed flight change and of the start of the last rebuild
+    private volatile long lastChangeNanos = System.nanoTime();
+    private volatile long lastRebuildNanos = System.nanoTime();
+
+    @Autowired
+    public ItinerarySearchService(FlightRepository flightRepository, ItineraryConfig itineraryConfig) {
+        this.flightRepository = flightRepository;
+        this.itineraryConfig = itineraryConfig;
+    }
+
+    /**
+     * Rebuilds the connection graph from the schedule and swaps it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.itinerary.refresh-interval-ms:300000}",
+               initialDelayString = "${app.itinerary.refresh-interval-ms:300000}")
+    public synchronized void refreshGraph() {
+        // Cleared before reading, so a change committed during the rebuild triggers another one
+        stale.set(false);
+        lastRebuildNanos = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<ItineraryLegDTO> legs = flightRepository.findConnectionLegs(
+                    now, now.plusDays(itineraryConfig.getHorizonDays()), FlightStatus.CANCELLED);
+            graph = ConnectionGraph.build(legs);
+            logger.info("Connection graph rebuilt with {} legs from {} airports", legs.size(), graph.airportCount());
+        } catch (Exception e) {
+            // Keep serving the previous graph if the rebuild fails
+            logger.error("Error rebuilding connection graph: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the connection graph if flights changed since the last rebuild, no change has
+     * come for the quiet period and the last rebuild is at least the minimum interval ago
+     */
+    @Scheduled(fixedDelayString = "${app.itinerary.change-check-interval-ms:5000}")
+    public void refreshGraphIfStale() {
+        if (!stale.get()) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastChangeNanos >= TimeUnit.MILLISECONDS.toNanos(itineraryConfig.getChangeQuietMs())
+                && now - lastRebuildNanos >= TimeUnit.MILLISECONDS.toNanos(itineraryConfig.getMinRebuildIntervalMs())) {
+            refreshGraph();
+        }
+    }
+
+    /**
+     * A flight was created, changed or deleted; the graph is rebuilt after the write commits
+     */
+    public void onFlightChanged() {
+        afterCommit(() -> {
+            lastChangeNanos = System.nanoTime();
+            stale.set(true);
+        });
+    }
+
+    // A rolled-back write must not cause a rebuild
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Search ranked itineraries (cheapest first) leaving origin on the given date
+     *
+     * @param maxStops requested number of intermediate stops, capped by configuration
+     */
+    public List<ItineraryDTO> searchItineraries(String origin, String destination, LocalDate departureDate, int maxStops) {
+        if (origin == null || destination == null || departureDate == null) {
+            throw new IllegalArgumentException("Origin, destination, and departure date are required");
+        }
+
+        String originCode = Flight.normalizeAirportCode(origin);
+        String destinationCode = Flight.normalizeAirportCode(destination);
+        if (originCode.equals(destinationCode)) {
+            throw new IllegalArgumentException("Origin and destination must be different");
+        }
+
+        Search search = new Search(graph, destinationCode, Math.max(0, Math.min(maxStops, itineraryConfig.getMaxStops())));
+        long startNanos = System.nanoTime();
+
+        List<ItineraryLegDTO> firstLegs = search.graph.departuresBetween(
+                originCode, departureDate.atStartOfDay(), departureDate.plusDays(1).atStartOfDay());
+        for (ItineraryLegDTO first : firstLegs) {
+            List<ItineraryLegDTO> path = new ArrayList<>(search.maxStops + 1);
+            path.add(first);
+            search.expand(path, first.getPriceMinor(),
+                    first.getDepartureTime().plusHours(itineraryConfig.getMaxJourneyHours()));
+        }
+
+        List<ItineraryDTO> results = new ArrayList<>(search.best);
+        results.sort(RANKING);
+        logger.info("Found {} itineraries from {} to {} on {} (max {} stops) in {} µs", results.size(),
+                originCode, destinationCode, departureDate, search.maxStops, (System.nanoTime() - startNanos) / 1000);
+        return results;
+    }
+
+    /**
+     * State of a single search: the kept results form a bounded max-heap on price,
+     * so the heap head is the pruning bound once it is full
+     */
+    private class Search {
+        private final ConnectionGraph graph;
+        private final String destination;
+        private final int maxStops;
+        private final int maxResults = itineraryConfig.getMaxResults();
+        private final PriorityQueue<ItineraryDTO> best = new PriorityQueue<>(RANKING.reversed());
+
+        private Search(ConnectionGraph graph, String destination, int maxStops) {
+            this.graph = graph;
+            this.destination = destination;
+            this.maxStops = maxStops;
+        }
+
+        private void expand(List<ItineraryLegDTO> path, long price, LocalDateTime latestArrival) {
+            ItineraryLegDTO last = path.get(path.size() - 1);
+
+            // Prune by arrival time and by price against the worst kept result
+            if (last.getArrivalTime().isAfter(latestArrival) || price >= priceBound()) {
+                return;
+            }
+
+            if (last.getDestination().equals(destination)) {
+                best.add(new ItineraryDTO(path, price));
+                if (best.size() > maxResults) {
+                    best.poll();
+                }
+                return;
+            }
+
+            if (path.size() > maxStops) {
+                return;
+            }
+
+            List<ItineraryLegDTO> connections = graph.departuresBetween(last.getDestination(),
+                    last.getArrivalTime().plusMinutes(itineraryConfig.getMinConnectionMinutes()),
+                    last.getArrivalTime().plusMinutes(itineraryConfig.getMaxConnectionMinutes()));
+            for (ItineraryLegDTO next : connections) {
+                if (visits(path, next.getDestination())) {
+                    continue;
+                }
+                path.add(next);
+                expand(path, price + next.getPriceMinor(), latestArrival);
+                path.remove(path.size() - 1);
+            }
+        }
+
+        private long priceBound() {
+            return best.size() < maxResults ? Long.MAX_VALUE : best.peek().getTotalPriceMinor();
+        }
+
+        // Never route back through an airport already on the path
+        private boolean visits(List<ItineraryLegDTO> path, String airport) {
+            for (ItineraryLegDTO leg : path) {
+                if (leg.getOrigin().equals(airport)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Immutable adjacency lists: departures per origin sorted by departure time,
+     * with a parallel array of departure keys for binary search
+     */
+    static final class ConnectionGraph {
+        static final ConnectionGraph EMPTY = new ConnectionGraph(Collections.emptyMap(), Collections.emptyMap());
+
+        private final Map<String, List<ItineraryLegDTO>> departures;
+        private final Map<String, long[]> departureKeys;
+
+        private ConnectionGraph(Map<String, List<ItineraryLegDTO>> departures, Map<String, long[]> departureKeys) {
+            this.departures = departures;
+            this.departureKeys = departureKeys;
+        }
+
+        static ConnectionGraph build(List<ItineraryLegDTO> legs) {
+            Map<String, List<ItineraryLegDTO>> byOrigin = new HashMap<>();
+            for (ItineraryLegDTO leg : legs) {
+                byOrigin.computeIfAbsent(leg.getOrigin(), k -> new ArrayList<>()).add(leg);
+            }
+
+            Map<String, List<ItineraryLegDTO>> departures = new HashMap<>();
+            Map<String, long[]> departureKeys = new HashMap<>();
+            byOrigin.forEach((origin, list) -> {
+                list.sort(Comparator.comparing(ItineraryLegDTO::getDepartureTime));
+                long[] keys = new long[list.size()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = key(list.get(i).getDepartureTime());
+                }
+                departures.put(origin, List.copyOf(list));
+                departureKeys.put(origin, keys);
+            });
+            return new ConnectionGraph(departures, departureKeys);
+        }
+
+        /**
+         * Departures from an airport in [from, to)
+         */
+        List<ItineraryLegDTO> departuresBetween(String origin, LocalDateTime from, LocalDateTime to) {
+            long[] keys = departureKeys.get(origin);
+            if (keys == null) {
+                return Collections.emptyList();
+            }
+            int start = lowerBound(keys, key(from));
+            int end = lowerBound(keys, key(to));
+            return departures.get(origin).subList(start, Math.max(start, end));
+        }
+
+        int airportCount() {
+            return departures.size();
+        }
+
+        private static int lowerBound(long[] keys, long value) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static long key(LocalDateTime time) {
+            return time.toEpochSecond(ZoneOffset.UTC);
+        }
+    }
+}
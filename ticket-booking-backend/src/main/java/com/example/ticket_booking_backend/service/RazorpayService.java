@@ -1,6 +1,7 @@
 package com.example.ticket_booking_backend.service;
 
 import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.model.Flight;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
@@ -119,15 +120,15 @@ public class RazorpayService {
      * @return The total price in paise (100 paise = 1 INR)
      */
     private long calculateBookingPriceInPaise(Booking booking) {
-        // Get base price from the flight
-        double basePrice = booking.getFlight().getPrice();
+        // The fare is stored in minor units, which for INR are the paise Razorpay expects
+        Flight flight = booking.getFlight();
+        if (!"INR".equals(flight.getCurrency())) {
+            throw new IllegalStateException("Razorpay orders are created in INR, flight fare is in " + flight.getCurrency());
+        }
         
         // Calculate total for all seats
         int numSeats = booking.getSeats().size();
-        double totalPrice = basePrice * numSeats;
-        
-        // Convert to paise (Razorpay requires integer amount in smallest currency unit)
-        return Math.round(totalPrice * 100);
+        return Math.multiplyExact(flight.getPriceMinor(), numSeats);
     }
     
     /**
@@ -1,18 +1,22 @@
 package com.example.ticket_booking_backend.service;
 
+import com.example.ticket_booking_backend.model.Flight;
 import com.example.ticket_booking_backend.model.RevenueReport;
 import com.example.ticket_booking_backend.model.RevenueReportFilter;
 import com.example.ticket_booking_backend.model.Booking;
 import com.example.ticket_booking_backend.repository.BookingRepository;
+import com.example.ticket_booking_backend.util.Money;
+import com.example.ticket_booking_backend.util.MoneyTotals;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.time.YearMonth;
+import java.time.temporal.Temporal;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class RevenueService {
@@ -20,54 +24,67 @@ public class RevenueService {
     private BookingRepository bookingRepository;
 
     public RevenueReport generateRevenueReport(RevenueReportFilter filter) {
-        RevenueReport report = new RevenueReport();
         try {
             LocalDate start = LocalDate.parse(filter.getStartDate());
             LocalDate end = LocalDate.parse(filter.getEndDate());
             LocalDateTime startDateTime = start.atStartOfDay();
             LocalDateTime endDateTime = end.atTime(23, 59, 59);
-            String period = filter.getPeriod();
 
             List<Booking> bookings = bookingRepository.findByBookingTimeBetween(startDateTime, endDateTime);
+            return aggregate(bookings, filter.getPeriod());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate revenue report: " + e.getMessage(), e);
+        }
+    }
 
-            BigDecimal totalRevenue = BigDecimal.ZERO;
-            int totalBookings = 0;
-            HashMap<String, BigDecimal> revenueByRoute = new HashMap<>();
-            HashMap<String, Integer> bookingsByRoute = new HashMap<>();
-            HashMap<String, BigDecimal> revenueByMonth = new HashMap<>();
-            HashMap<String, Integer> bookingsByMonth = new HashMap<>();
-            BigDecimal totalBookingValue = BigDecimal.ZERO;
+    /**
+     * Revenue of the bookings in total, per route and per day (DAILY) or month. Fares are added
+     * as minor units into primitive longs keyed by route and date; amounts become decimals and
+     * dates become "yyyy-MM-dd" / "yyyy-MM" labels once per key when the report is filled in.
+     */
+    static RevenueReport aggregate(Iterable<Booking> bookings, String period) {
+        String currency = Money.DEFAULT_CURRENCY;
+        Function<LocalDateTime, Temporal> periodOf = "DAILY".equals(period) ? LocalDateTime::toLocalDate : YearMonth::from;
 
-            DateTimeFormatter monthFmt = DateTimeFormatter.ofPattern("yyyy-MM");
-            DateTimeFormatter dayFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        long totalRevenue = 0;
+        int totalBookings = 0;
+        MoneyTotals<Route> byRoute = new MoneyTotals<>(currency);
+        MoneyTotals<Temporal> byPeriod = new MoneyTotals<>(currency);
 
-            for (Booking b : bookings) {
-                BigDecimal price = BigDecimal.valueOf(b.getFlight().getPrice());
-                totalRevenue = totalRevenue.add(price);
-                totalBookings++;
-                totalBookingValue = totalBookingValue.add(price);
-                String route = b.getFlight().getOrigin() + "-" + b.getFlight().getDestination();
-                revenueByRoute.put(route, revenueByRoute.getOrDefault(route, BigDecimal.ZERO).add(price));
-                bookingsByRoute.put(route, bookingsByRoute.getOrDefault(route, 0) + 1);
-                String monthKey = period.equals("DAILY") ? b.getBookingTime().format(dayFmt) : b.getBookingTime().format(monthFmt);
-                revenueByMonth.put(monthKey, revenueByMonth.getOrDefault(monthKey, BigDecimal.ZERO).add(price));
-                bookingsByMonth.put(monthKey, bookingsByMonth.getOrDefault(monthKey, 0) + 1);
+        for (Booking b : bookings) {
+            Flight flight = b.getFlight();
+            if (!currency.equals(flight.getCurrency())) {
+                throw new IllegalStateException("Booking " + b.getId() + " is priced in " + flight.getCurrency()
+                        + ", the revenue report in " + currency);
             }
-
-            report.setPeriod(period);
-            report.setPeriodTotalRevenue(totalRevenue);
-            report.setPeriodTotalBookings(totalBookings);
-            report.setPeriodRevenueByRoute(revenueByRoute);
-            report.setPeriodBookingsByRoute(bookingsByRoute);
-            report.setRevenueByMonth(revenueByMonth);
-            report.setBookingsByMonth(bookingsByMonth);
-            report.setPeriodAverageBookingValue(totalBookings > 0 ? totalBookingValue.divide(BigDecimal.valueOf(totalBookings), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO);
-            // Revenue growth calculation (simple: compare to previous period)
-            // For demo, set to 0 or N/A
-            report.setRevenueGrowth(BigDecimal.ZERO);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate revenue report: " + e.getMessage(), e);
+            long price = flight.getPriceMinor();
+            totalRevenue = Math.addExact(totalRevenue, price);
+            totalBookings++;
+            byRoute.add(new Route(flight.getOrigin(), flight.getDestination()), price);
+            byPeriod.add(periodOf.apply(b.getBookingTime()), price);
         }
+
+        RevenueReport report = new RevenueReport();
+        report.setPeriod(period);
+        report.setCurrency(currency);
+        report.setPeriodTotalRevenue(Money.toDecimal(totalRevenue, currency));
+        report.setPeriodTotalBookings(totalBookings);
+        report.setPeriodRevenueByRoute(byRoute.sums(Route::label));
+        report.setPeriodBookingsByRoute(byRoute.counts(Route::label));
+        report.setRevenueByMonth(byPeriod.sums(Object::toString));
+        report.setBookingsByMonth(byPeriod.counts(Object::toString));
+        report.setPeriodAverageBookingValue(totalBookings > 0
+                ? Money.toDecimal(Money.average(totalRevenue, totalBookings), currency)
+                : Money.toDecimal(0, currency));
+        // Revenue growth calculation (simple: compare to previous period)
+        // For demo, set to 0 or N/A
+        report.setRevenueGrowth(BigDecimal.ZERO);
         return report;
     }
-} 
\ No newline at end of file
+
+    private record Route(String origin, String destination) {
+        private String label() {
+            return origin + "-" + destination;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.config.PrefetchConfig;
+import com.example.ticket_booking_backend.exception.ApiQuotaExceededException;
+import com.example.ticket_booking_backend.exception.ApiRateLimitedException;
+import com.example.ticket_booking_backend.model.Flight;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Learns which (route, date) searches are most popular and refreshes them from the API
+ * into the search cache during off-peak hours, so the hottest searches are served warm.
+ *
+ * Each run spends at most a configured share of the monthly API quota left over after the
+ * user reserve, and its calls are made at background priority. A call refused by the
+ * per-second rate limit is retried after a pause; only the monthly quota ends a run. Searches
+ * whose prefetched result is still cached from an earlier run are skipped, so the hourly runs of
+ * one night spend their budget on the next most popular searches instead of the same ones.
+ *
+ * The scheduler only hands the run to a dedicated background thread: the pauses and upstream
+ * calls never hold the shared scheduling thread that the hold release, status updates, token
+ * refresh and quota flush run on. A run that is still busy when the next one is due is not
+ * started twice.
+ *
+ * Only API-mode searches between known airports departing within the horizon are counted, in a
+ * size-bounded cache, so arbitrary search input cannot grow it. Counts are halved after every
+ * scheduled run, whether or not it prefetched anything, so stale interest fades out.
+ */
+@Service
+public class SearchPrefetchService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchPrefetchService.class);
+
+    private final Map<SearchKey, LongAdder> searchCounts;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final FlightService flightService;
+    private final FlightSearchCache flightSearchCache;
+    private final ApiQuotaService apiQuotaService;
+    private final AirportDirectory airportDirectory;
+    private final AppFeatureConfig appFeatureConfig;
+    private final PrefetchConfig prefetchConfig;
+
+    @Autowired
+    public SearchPrefetchService(@Lazy FlightService flightService,
+                                 FlightSearchCache flightSearchCache,
+                                 ApiQuotaService apiQuotaService,
+                                 AirportDirectory airportDirectory,
+                                 AppFeatureConfig appFeatureConfig,
+                                 PrefetchConfig prefetchConfig) {
+        this.flightService = flightService;
+        this.flightSearchCache = flightSearchCache;
+        this.apiQuotaService = apiQuotaService;
+        this.airportDirectory = airportDirectory;
+        this.appFeatureConfig = appFeatureConfig;
+        this.prefetchConfig = prefetchConfig;
+        this.searchCounts = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, prefetchConfig.getMaxTrackedSearches()))
+                .<SearchKey, LongAdder>build()
+                .asMap();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record one user search for a (route, date); ignored outside API mode, for airports the
+     * directory does not know and for dates outside the horizon
+     */
+    public void recordSearch(String origin, String destination, LocalDate departureDate) {
+        if (!appFeatureConfig.isUseApi() || origin == null || destination == null || departureDate == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        if (departureDate.isBefore(today) || departureDate.isAfter(today.plusDays(prefetchConfig.getHorizonDays()))) {
+            return;
+        }
+        String originCode = Flight.normalizeAirportCode(origin);
+        String destinationCode = Flight.normalizeAirportCode(destination);
+        if (airportDirectory.findByCode(originCode).isEmpty() || airportDirectory.findByCode(destinationCode).isEmpty()) {
+            return;
+        }
+        searchCounts.computeIfAbsent(new SearchKey(originCode, destinationCode, departureDate), k -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * (route, date) pairs currently counted
+     */
+    int trackedSearches() {
+        return searchCounts.size();
+    }
+
+    /**
+     * Refresh the most searched upcoming (route, date) pairs into the search cache.
+     * Runs hourly during the off-peak window by default, on the prefetch thread.
+     */
+    @Scheduled(cron = "${app.prefetch.cron:0 0 1-5 * * *}")
+    public void prefetchPopularSearches() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Previous search prefetch still running, skipping this one");
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runPrefetch();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * One prefetch run on the calling thread
+     */
+    void runPrefetch() {
+        LocalDate today = LocalDate.now();
+        searchCounts.keySet().removeIf(key -> key.departureDate.isBefore(today));
+        try {
+            prefetch();
+        } finally {
+            decayCounts();
+        }
+    }
+
+    private void prefetch() {
+        if (!prefetchConfig.isEnabled() || !appFeatureConfig.isUseApi()) {
+            return;
+        }
+
+        int budget = callBudget();
+        if (budget <= 0) {
+            logger.info("Skipping search prefetch, no API budget available");
+            return;
+        }
+
+        List<SearchKey> hottest = searchCounts.entrySet().stream()
+                .filter(e -> !flightSearchCache.hasPrefetched(e.getKey().origin, e.getKey().destination,
+                        e.getKey().departureDate))
+                .sorted(Comparator.comparingLong((Map.Entry<SearchKey, LongAdder> e) -> e.getValue().sum()).reversed())
+                .limit(budget)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        logger.info("Prefetching {} popular searches (budget {} calls)", hottest.size(), budget);
+        int refreshed = 0;
+        for (SearchKey key : hottest) {
+            try {
+                if (prefetch(key)) {
+                    refreshed++;
+                }
+            } catch (ApiQuotaExceededException e) {
+                logger.info("Stopping search prefetch: {}", e.getMessage());
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.warn("Prefetch failed for {}-{} on {}: {}", key.origin, key.destination,
+                        key.departureDate, e.getMessage());
+            }
+        }
+        logger.info("Prefetched {} searches into the search cache", refreshed);
+    }
+
+    /**
+     * Refresh one search, pausing and retrying while the per-second rate limit refuses it
+     *
+     * @return false if it was still rate limited after the retries
+     */
+    private boolean prefetch(SearchKey key) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                flightService.prefetchApiSearch(key.origin, key.destination, key.departureDate);
+                return true;
+            } catch (ApiRateLimitedException e) {
+                if (attempt >= prefetchConfig.getRateLimitRetries()) {
+                    logger.info("Skipping prefetch of {}-{} on {}: {}", key.origin, key.destination,
+                            key.departureDate, e.getMessage());
+                    return false;
+                }
+                Thread.sleep(prefetchConfig.getRateLimitBackoffMs());
+            }
+        }
+    }
+
+    /**
+     * Calls this run may spend: a share of the background quota left this month, capped per run
+     */
+    int callBudget() {
+        long remaining = apiQuotaService.getRemainingBackgroundCalls();
+        long share = (long) Math.floor(remaining * prefetchConfig.getQuotaShare());
+        return (int) Math.min(share, prefetchConfig.getMaxCallsPerRun());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupts a rate-limit pause, which ends the run
+        executor.shutdownNow();
+    }
+
+    private void decayCounts() {
+        searchCounts.entrySet().removeIf(entry -> {
+            long halved = entry.getValue().sumThenReset() / 2;
+            entry.getValue().add(halved);
+            return halved == 0;
+        });
+    }
+
+    private static final class SearchKey {
+        private final String origin;
+        private final String destination;
+        private final LocalDate departureDate;
+
+        private SearchKey(String origin, String destination, LocalDate departureDate) {
+            this.origin = origin;
+            this.destination = destination;
+            this.departureDate = departureDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof SearchKey other)) return false;
+            return origin.equals(other.origin) && destination.equals(other.destination)
+                    && departureDate.equals(other.departureDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origin, destination, departureDate);
+        }
+    }
+}
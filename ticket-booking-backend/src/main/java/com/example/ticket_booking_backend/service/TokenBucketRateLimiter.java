@@ -0,0 +1,63 @@
+package com.example.ticket_booking_backend.service;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket: refills continuously at a fixed rate up to a burst capacity.
+ * Callers may ask to leave a number of tokens untouched, which lets low-priority work
+ * back off while headroom is still kept for high-priority callers.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state;
+
+    public TokenBucketRateLimiter(double tokensPerSecond, int capacity) {
+        this(tokensPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int capacity, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.state = new AtomicReference<>(new State(capacity, nanoClock.getAsLong()));
+    }
+
+    /**
+     * Take one token if at least {@code reserve} tokens would remain afterwards
+     */
+    public boolean tryAcquire(double reserve) {
+        while (true) {
+            State current = state.get();
+            long now = nanoClock.getAsLong();
+            double available = Math.min(capacity, current.tokens + (now - current.timestamp) * tokensPerNano);
+            if (available - 1 < reserve) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - 1, now))) {
+                return true;
+            }
+        }
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(0);
+    }
+
+    public double getCapacity() {
+        return capacity;
+    }
+
+    private static final class State {
+        private final double tokens;
+        private final long timestamp;
+
+        private State(double tokens, long timestamp) {
+            this.tokens = tokens;
+            this.timestamp = timestamp;
+        }
+    }
+}
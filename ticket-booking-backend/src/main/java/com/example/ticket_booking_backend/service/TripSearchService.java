@@ -0,0 +1,253 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.dto.MultiCitySearchRequest;
+import com.example.ticket_booking_backend.dto.TripOptionDTO;
+import com.example.ticket_booking_backend.exception.SearchDeadlineExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Round-trip, multi-city and nearby-airport searches.
+ *
+ * Every leg is an ordinary FlightService.searchFlightSummaries call (so it shares the search
+ * cache and the API/database fallback), but all legs run concurrently under one deadline.
+ * Legs run on worker threads outside the request's persistence session, so they return
+ * summaries rather than Flight entities whose lazy seats could not be serialized. The
+ * per-leg results are then combined cheapest-first without building the full cross product.
+ * Nearby-airport searches fan out the same way, one sub-search per origin/destination pair.
+ */
+@Service
+public class TripSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(TripSearchService.class);
+
+    // Upper bound on heap pops when many cheap combinations are invalid (overlapping legs)
+    private static final int MAX_COMBINATION_ATTEMPTS_PER_RESULT = 50;
+
+    private final FlightService flightService;
+    private final FlightSearchConfig flightSearchConfig;
+    private final AirportDirectory airportDirectory;
+
+    @Autowired
+    public TripSearchService(FlightService flightService, FlightSearchConfig flightSearchConfig,
+                             AirportDirectory airportDirectory) {
+        this.flightService = flightService;
+        this.flightSearchConfig = flightSearchConfig;
+        this.airportDirectory = airportDirectory;
+    }
+
+    /**
+     * Outbound and return flights searched in parallel, paired and sorted by total price
+     */
+    public List<TripOptionDTO> searchRoundTrip(String origin, String destination, LocalDate departureDate, LocalDate returnDate) {
+        if (returnDate == null || departureDate == null || returnDate.isBefore(departureDate)) {
+            throw new IllegalArgumentException("Return date must not be before the departure date");
+        }
+        return searchMultiCity(List.of(
+                new MultiCitySearchRequest.SearchLeg(origin, destination, departureDate),
+                new MultiCitySearchRequest.SearchLeg(destination, origin, returnDate)));
+    }
+
+    /**
+     * All legs searched in parallel, combined into trip options sorted by total price
+     */
+    public List<TripOptionDTO> searchMultiCity(List<MultiCitySearchRequest.SearchLeg> legs) {
+        validateLegs(legs);
+
+        Duration deadline = Duration.ofSeconds(flightSearchConfig.getMultiLegDeadlineSeconds());
+        long startNanos = System.nanoTime();
+
+        List<List<FlightSummaryDTO>> legResults;
+        try {
+            legResults = Flux.fromIterable(legs)
+                    .flatMapSequential(leg -> Mono.fromCallable(() -> sortedByPrice(flightService.searchFlightSummaries(
+                                    leg.getOrigin(), leg.getDestination(), leg.getDepartureDate())))
+                            .subscribeOn(Schedulers.boundedElastic()), legs.size())
+                    .collectList()
+                    .timeout(deadline)
+                    .block();
+        } catch (RuntimeException e) {
+            // block() wraps the checked TimeoutException raised by timeout()
+            if (e.getCause() instanceof TimeoutException) {
+                throw new SearchDeadlineExceededException(deadline);
+            }
+            throw e;
+        }
+
+        List<TripOptionDTO> options = combineCheapestFirst(legResults, flightSearchConfig.getMaxTripOptions());
+        logger.info("Multi-leg search over {} legs produced {} options in {} ms", legs.size(), options.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return options;
+    }
+
+    /**
+     * One-way search that also covers airports within radiusKm of the origin and the
+     * destination; every origin/destination pair is searched in parallel and the flights are
+     * merged cheapest first
+     */
+    public List<FlightSummaryDTO> searchWithNearbyAirports(String origin, String destination, LocalDate departureDate,
+                                                           double radiusKm) {
+        if (origin == null || destination == null || departureDate == null) {
+            throw new IllegalArgumentException("Origin, destination, and departure date are required");
+        }
+        double radius = Math.min(radiusKm, flightSearchConfig.getNearbyMaxRadiusKm());
+        int maxAirports = flightSearchConfig.getNearbyMaxAirports();
+        List<String> origins = airportDirectory.findNearbyCodes(flightService.resolveAirportCode(origin), radius, maxAirports);
+        List<String> destinations = airportDirectory.findNearbyCodes(flightService.resolveAirportCode(destination), radius, maxAirports);
+
+        List<String[]> routes = new ArrayList<>();
+        for (String from : origins) {
+            for (String to : destinations) {
+                if (!from.equals(to)) {
+                    routes.add(new String[] {from, to});
+                }
+            }
+        }
+        if (routes.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Duration deadline = Duration.ofSeconds(flightSearchConfig.getMultiLegDeadlineSeconds());
+        long startNanos = System.nanoTime();
+
+        List<List<FlightSummaryDTO>> routeResults;
+        try {
+            routeResults = Flux.fromIterable(routes)
+                    .flatMap(route -> Mono.fromCallable(() -> flightService.searchFlightSummaries(route[0], route[1], departureDate))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            // One failing alternative shouldn't cost the user the others
+                            .onErrorResume(e -> {
+                                logger.warn("Nearby search {} -> {} failed: {}", route[0], route[1], e.getMessage());
+                                return Mono.just(List.<FlightSummaryDTO>of());
+                            }), routes.size())
+                    .collectList()
+                    .timeout(deadline)
+                    .block();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new SearchDeadlineExceededException(deadline);
+            }
+            throw e;
+        }
+
+        List<FlightSummaryDTO> sorted = new ArrayList<>();
+        routeResults.forEach(sorted::addAll);
+        sorted.sort(Comparator.comparingLong(FlightSummaryDTO::getPriceMinor));
+        logger.info("Nearby search {} x {} ({} routes) found {} flights in {} ms", origins, destinations, routes.size(),
+                sorted.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return sorted;
+    }
+
+    private void validateLegs(List<MultiCitySearchRequest.SearchLeg> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new IllegalArgumentException("At least one leg is required");
+        }
+        if (legs.size() > flightSearchConfig.getMaxMultiCityLegs()) {
+            throw new IllegalArgumentException("A trip can have at most " + flightSearchConfig.getMaxMultiCityLegs() + " legs");
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate previous = null;
+        for (MultiCitySearchRequest.SearchLeg leg : legs) {
+            if (leg.getOrigin() == null || leg.getDestination() == null || leg.getDepartureDate() == null) {
+                throw new IllegalArgumentException("Origin, destination, and departure date are required for every leg");
+            }
+            if (leg.getDepartureDate().isBefore(today)) {
+                throw new IllegalArgumentException("Cannot search for flights in the past. Today is " + today);
+            }
+            if (previous != null && leg.getDepartureDate().isBefore(previous)) {
+                throw new IllegalArgumentException("Legs must be in chronological order");
+            }
+            previous = leg.getDepartureDate();
+        }
+    }
+
+    private static List<FlightSummaryDTO> sortedByPrice(List<FlightSummaryDTO> flights) {
+        List<FlightSummaryDTO> sorted = new ArrayList<>(flights);
+        sorted.sort(Comparator.comparingLong(FlightSummaryDTO::getPriceMinor));
+        return sorted;
+    }
+
+    /**
+     * Best-first enumeration of combinations over price-sorted legs: starting from the
+     * all-cheapest combination, each popped index vector pushes its neighbours (one leg
+     * moved to its next-cheapest flight). Combinations where a flight departs before the
+     * previous one arrives are skipped.
+     */
+    static List<TripOptionDTO> combineCheapestFirst(List<List<FlightSummaryDTO>> legResults, int limit) {
+        List<TripOptionDTO> options = new ArrayList<>();
+        if (legResults.isEmpty() || legResults.stream().anyMatch(List::isEmpty)) {
+            return options;
+        }
+
+        PriorityQueue<int[]> queue = new PriorityQueue<>(
+                Comparator.comparingLong((int[] indexes) -> totalPrice(legResults, indexes)));
+        Set<List<Integer>> seen = new HashSet<>();
+
+        int[] start = new int[legResults.size()];
+        queue.add(start);
+        seen.add(asKey(start));
+
+        int attempts = 0;
+        int maxAttempts = limit * MAX_COMBINATION_ATTEMPTS_PER_RESULT;
+        while (!queue.isEmpty() && options.size() < limit && attempts++ < maxAttempts) {
+            int[] indexes = queue.poll();
+
+            List<FlightSummaryDTO> flights = new ArrayList<>(indexes.length);
+            for (int leg = 0; leg < indexes.length; leg++) {
+                flights.add(legResults.get(leg).get(indexes[leg]));
+            }
+            if (isTimeOrdered(flights)) {
+                options.add(new TripOptionDTO(flights));
+            }
+
+            for (int leg = 0; leg < indexes.length; leg++) {
+                if (indexes[leg] + 1 < legResults.get(leg).size()) {
+                    int[] next = Arrays.copyOf(indexes, indexes.length);
+                    next[leg]++;
+                    if (seen.add(asKey(next))) {
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return options;
+    }
+
+    private static long totalPrice(List<List<FlightSummaryDTO>> legResults, int[] indexes) {
+        long total = 0;
+        for (int leg = 0; leg < indexes.length; leg++) {
+            total += legResults.get(leg).get(indexes[leg]).getPriceMinor();
+        }
+        return total;
+    }
+
+    private static boolean isTimeOrdered(List<FlightSummaryDTO> flights) {
+        for (int i = 1; i < flights.size(); i++) {
+            if (!flights.get(i).getDepartureTime().isAfter(flights.get(i - 1).getArrivalTime())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Integer> asKey(int[] indexes) {
+        return Arrays.stream(indexes).boxed().toList();
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.ticket_booking_backend.util;
+
+import com.example.ticket_booking_backend.config.FakeAmadeusServerConfig;
+import com.example.ticket_booking_backend.service.TokenBucketRateLimiter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embeddable stand-in for the Amadeus token and flight-offers endpoints.
+ *
+ * Flight-offer requests are answered from a recorded response for the route when one exists,
+ * otherwise from synthesized offers that are deterministic per (route, date). Responses are
+ * rendered once and served from memory, so the server itself is never the bottleneck of a
+ * load test. Latency, error-rate and throttling profiles come from FakeAmadeusServerConfig.
+ */
+public class FakeAmadeusServer {
+    private static final Logger logger = LoggerFactory.getLogger(FakeAmadeusServer.class);
+
+    public static final String TOKEN_PATH = "/v1/security/oauth2/token";
+    public static final String FLIGHT_OFFERS_PATH = "/v2/shopping/flight-offers";
+
+    private static final String[] CARRIERS = {"AI", "6E", "UK", "SG", "QP"};
+
+    private final FakeAmadeusServerConfig config;
+    private final TokenBucketRateLimiter throttle;
+    private final Map<String, byte[]> recordings = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> renderedResponses = new ConcurrentHashMap<>();
+
+    private final AtomicLong tokensIssued = new AtomicLong();
+    private final LongAdder offerRequests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder throttledRequests = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeAmadeusServer(FakeAmadeusServerConfig config) {
+        this.config = config;
+        this.throttle = config.getMaxRequestsPerSecond() > 0
+                ? new TokenBucketRateLimiter(config.getMaxRequestsPerSecond(), (int) Math.ceil(config.getMaxRequestsPerSecond()))
+                : null;
+    }
+
+    public synchronized void start() throws IOException {
+        loadRecordings();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", config.getPort()), 1024);
+        executor = Executors.newFixedThreadPool(config.getThreads());
+        server.setExecutor(executor);
+        server.createContext(TOKEN_PATH, this::handleToken);
+        server.createContext(FLIGHT_OFFERS_PATH, this::handleFlightOffers);
+        server.start();
+        logger.info("Fake Amadeus server listening on {} (latency {}+{} ms, error rate {}, max {} req/s)",
+                getBaseUrl(), config.getLatencyMs(), config.getLatencyJitterMs(), config.getErrorRate(),
+                config.getMaxRequestsPerSecond() > 0 ? config.getMaxRequestsPerSecond() : "unlimited");
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Fake Amadeus server stopped after {} offer requests ({} errors injected, {} throttled)",
+                    offerRequests.sum(), injectedErrors.sum(), throttledRequests.sum());
+        }
+    }
+
+    /**
+     * Base URL to use as amadeus.api.base-url; reflects the actual port when started on port 0
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Replay this response body for every search on the route
+     */
+    public void addRecording(String origin, String destination, String json) {
+        recordings.put(routeKey(origin, destination), json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getOfferRequests() {
+        return offerRequests.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    public long getThrottledRequests() {
+        return throttledRequests.sum();
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        String json = "{\"type\":\"amadeusOAuth2Token\",\"access_token\":\"fake-token-" + tokensIssued.incrementAndGet()
+                + "\",\"expires_in\":1799,\"state\":\"approved\"}";
+        send(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleFlightOffers(HttpExchange exchange) throws IOException {
+        offerRequests.increment();
+        simulateLatency();
+
+        if (throttle != null && !throttle.tryAcquire()) {
+            throttledRequests.increment();
+            send(exchange, 429, error(429, "Too many requests"));
+            return;
+        }
+        if (config.getErrorRate() > 0 && ThreadLocalRandom.current().nextDouble() < config.getErrorRate()) {
+            injectedErrors.increment();
+            send(exchange, 500, error(500, "Injected failure"));
+            return;
+        }
+
+        Map<String, String> params = queryParams(exchange.getRequestURI().getRawQuery());
+        String origin = params.get("originLocationCode");
+        String destination = params.get("destinationLocationCode");
+        String date = params.get("departureDate");
+        if (origin == null || destination == null || date == null) {
+            send(exchange, 400, error(400, "originLocationCode, destinationLocationCode and departureDate are required"));
+            return;
+        }
+        if (!origin.matches("[A-Z]{3}") || !destination.matches("[A-Z]{3}")) {
+            send(exchange, 400, error(400, "Invalid location code"));
+            return;
+        }
+
+        byte[] recorded = recordings.get(routeKey(origin, destination));
+        if (recorded != null) {
+            send(exchange, 200, recorded);
+            return;
+        }
+
+        int max = parseMax(params.get("max"));
+        byte[] body = renderedResponses.computeIfAbsent(origin + "-" + destination + "@" + date + "#" + max,
+                key -> synthesizeOffers(origin, destination, LocalDate.parse(date), max));
+        send(exchange, 200, body);
+    }
+
+    private void simulateLatency() {
+        long delay = config.getLatencyMs();
+        if (config.getLatencyJitterMs() > 0) {
+            delay += ThreadLocalRandom.current().nextInt(config.getLatencyJitterMs() + 1);
+        }
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Offers shaped like real flight-offers entries; the same (route, date) always yields the same offers
+     */
+    private byte[] synthesizeOffers(String origin, String destination, LocalDate date, int max) {
+        Random random = new Random((origin + destination + date).hashCode());
+        int count = Math.min(max, config.getOffersPerResponse());
+
+        StringBuilder json = new StringBuilder(count * 700);
+        json.append("{\"meta\":{\"count\":").append(count).append("},\"data\":[");
+        for (int i = 0; i < count; i++) {
+            String carrier = CARRIERS[random.nextInt(CARRIERS.length)];
+            int number = 100 + random.nextInt(900);
+            LocalDateTime departure = date.atTime(5 + random.nextInt(18), random.nextInt(12) * 5);
+            LocalDateTime arrival = departure.plusMinutes(60 + random.nextInt(180));
+            String price = String.format(Locale.ROOT, "%.2f", 40 + random.nextInt(400) + random.nextInt(100) / 100.0);
+
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"type\":\"flight-offer\",\"id\":\"").append(i + 1)
+                    .append("\",\"source\":\"GDS\",\"instantTicketingRequired\":false,\"nonHomogeneous\":false,\"oneWay\":false,")
+                    .append("\"lastTicketingDate\":\"").append(date).append("\",")
+                    .append("\"itineraries\":[{\"duration\":\"PT").append(Duration.between(departure, arrival).toMinutes()).append("M\",")
+                    .append("\"segments\":[{\"departure\":{\"iataCode\":\"").append(origin).append("\",\"at\":\"").append(departure).append(":00\"},")
+                    .append("\"arrival\":{\"iataCode\":\"").append(destination).append("\",\"at\":\"").append(arrival).append(":00\"},")
+                    .append("\"carrierCode\":\"").append(carrier).append("\",\"number\":\"").append(number).append("\",")
+                    .append("\"aircraft\":{\"code\":\"320\"},\"operating\":{\"carrierCode\":\"").append(carrier).append("\"},")
+                    .append("\"id\":\"1\",\"numberOfStops\":0,\"blacklistedInEU\":false}]}],")
+                    .append("\"price\":{\"currency\":\"EUR\",\"total\":\"").append(price).append("\",\"base\":\"").append(price)
+                    .append("\",\"fees\":[{\"amount\":\"0.00\",\"type\":\"SUPPLIER\"}],\"grandTotal\":\"").append(price).append("\"},")
+                    .append("\"pricingOptions\":{\"fareType\":[\"PUBLISHED\"],\"includedCheckedBagsOnly\":true}}");
+        }
+        json.append("],\"dictionaries\":{\"carriers\":{}}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void loadRecordings() throws IOException {
+        if (config.getRecordingsDir() == null || config.getRecordingsDir().isBlank()) {
+            return;
+        }
+        Path dir = Paths.get(config.getRecordingsDir());
+        if (!Files.isDirectory(dir)) {
+            logger.warn("Fake Amadeus recordings directory {} does not exist", dir);
+            return;
+        }
+        try (var files = Files.list(dir)) {
+            files.filter(file -> file.getFileName().toString().matches("[A-Za-z]{3}-[A-Za-z]{3}\\.json"))
+                    .forEach(file -> {
+                        String name = file.getFileName().toString();
+                        try {
+                            recordings.put(name.substring(0, 7).toUpperCase(), Files.readAllBytes(file));
+                        } catch (IOException e) {
+                            logger.warn("Could not read recording {}: {}", file, e.getMessage());
+                        }
+                    });
+        }
+        logger.info("Loaded {} recorded Amadeus responses from {}", recordings.size(), dir);
+    }
+
+    private static String routeKey(String origin, String destination) {
+        return (origin + "-" + destination).toUpperCase();
+    }
+
+    private static int parseMax(String value) {
+        try {
+            return value == null ? 250 : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return 250;
+        }
+    }
+
+    private static Map<String, String> queryParams(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static byte[] error(int status, String detail) {
+        return ("{\"errors\":[{\"status\":" + status + ",\"title\":\"" + detail + "\"}]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/vnd.amadeus+json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ticket_booking_backend.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Conditional GET helpers for controllers.
+ *
+ * The controller derives a strong ETag from a version it can read cheaply (an entity version
+ * column, the seat-map sequence, the airport snapshot) and checks If-None-Match before loading
+ * or serializing anything; a match is answered with a bodiless 304.
+ */
+public final class HttpCaching {
+
+    private HttpCaching() {
+    }
+
+    /**
+     * Quoted strong entity tag for a version string
+     */
+    public static String etag(String version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * True if an If-None-Match header value names the given entity tag. Per RFC 9110 the
+     * comparison is weak, so a W/ prefix added by an intermediary still matches.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 304 carrying the validator and the endpoint's caching policy, as the 200 would
+     */
+    public static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ticket_booking_backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Conversions between amounts in minor units (paise for INR) and their decimal form.
+ *
+ * Fares are stored and processed as a long count of the currency's minor unit plus an ISO 4217
+ * code, so sums, minimums and averages are exact integer arithmetic. Decimals only appear at
+ * the edges: parsing a fare that arrives as a number (API offers, imports, admin edits) and
+ * rendering one for JSON or a report. Every stored fare is in DEFAULT_CURRENCY (API fares are
+ * converted before they are saved); aggregations add fares of one currency only.
+ */
+public final class Money {
+    public static final String DEFAULT_CURRENCY = "INR";
+
+    private Money() {
+    }
+
+    /**
+     * Digits after the decimal point of the currency's minor unit (2 for INR)
+     */
+    public static int fractionDigits(String currency) {
+        return Math.max(Currency.getInstance(currency).getDefaultFractionDigits(), 0);
+    }
+
+    /**
+     * A decimal amount in minor units, rounded half up to the nearest minor unit
+     */
+    public static long toMinorUnits(double amount, String currency) {
+        return BigDecimal.valueOf(amount)
+                .movePointRight(fractionDigits(currency))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    /**
+     * Exact decimal form of an amount in minor units, e.g. 499950 paise -> 4999.50
+     */
+    public static BigDecimal toDecimal(long minorUnits, String currency) {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currency));
+    }
+
+    /**
+     * Nearest double of an amount in minor units, for JSON fields that have always been numbers
+     */
+    public static double toMajorUnits(long minorUnits, String currency) {
+        return toDecimal(minorUnits, currency).doubleValue();
+    }
+
+    /**
+     * Mean of a total in minor units over count items, rounded half up to the nearest minor unit
+     */
+    public static long average(long totalMinorUnits, long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        long quotient = totalMinorUnits / count;
+        long remainder = totalMinorUnits % count;
+        if (Math.abs(remainder) >= count - Math.abs(remainder)) {
+            quotient += Long.signum(totalMinorUnits);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ticket_booking_backend.util;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Running totals of amounts in minor units, and how many amounts went into each, per key.
+ *
+ * Each key holds a long[] {sum, count}, so adding a row is one hash lookup and two primitive
+ * additions; keys are kept in their raw form (a route, a date) and amounts are turned into
+ * decimals and keys into labels only when a report reads them out.
+ */
+public final class MoneyTotals<K> {
+    private final String currency;
+    private final Map<K, long[]> totals = new HashMap<>();
+
+    public MoneyTotals(String currency) {
+        this.currency = currency;
+    }
+
+    public void add(K key, long minorUnits) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0] = Math.addExact(total[0], minorUnits);
+        total[1]++;
+    }
+
+    /**
+     * Sum per key as a decimal amount
+     */
+    public Map<String, BigDecimal> sums(Function<? super K, String> label) {
+        Map<String, BigDecimal> sums = new HashMap<>();
+        totals.forEach((key, total) -> sums.put(label.apply(key), Money.toDecimal(total[0], currency)));
+        return sums;
+    }
+
+    /**
+     * Mean per key as a decimal amount, rounded half up to the minor unit
+     */
+    public Map<String, BigDecimal> averages(Function<? super K, String> label) {
+        Map<String, BigDecimal> averages = new HashMap<>();
+        totals.forEach((key, total) ->
+                averages.put(label.apply(key), Money.toDecimal(Money.average(total[0], total[1]), currency)));
+        return averages;
+    }
+
+    /**
+     * Number of amounts added per key
+     */
+    public Map<String, Integer> counts(Function<? super K, String> label) {
+        Map<String, Integer> counts = new HashMap<>();
+        totals.forEach((key, total) -> counts.put(label.apply(key), Math.toIntExact(total[1])));
+        return counts;
+    }
+}
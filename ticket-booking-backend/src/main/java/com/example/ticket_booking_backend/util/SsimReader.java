@@ -0,0 +1,165 @@
+package com.example.ticket_booking_backend.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streaming reader for SSIM (IATA Standard Schedules Information Manual, chapter 7) schedule files.
+ *
+ * Only flight leg records (type 3) are read; header, carrier and trailer records are skipped.
+ * Of each leg the airline designator, flight number, period and days of operation, stations,
+ * passenger departure/arrival times and the date variations are used. Times are taken as the
+ * local times they are published in; the UTC offsets, aircraft and terminal fields are ignored.
+ */
+public class SsimReader implements Closeable {
+    private static final int MIN_LEG_LENGTH = 65;
+
+    // 01NOV26; SSIM month abbreviations are upper case
+    private static final DateTimeFormatter SSIM_DATE = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("ddMMMyy")
+            .toFormatter(Locale.ENGLISH);
+
+    private final BufferedReader reader;
+    private long line;
+    private long recordLine;
+
+    public SsimReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * The next flight leg, or null at end of input
+     *
+     * @throws IllegalArgumentException if the leg record is malformed; the reader moves past it
+     */
+    public Leg readLeg() throws IOException {
+        String record;
+        while ((record = reader.readLine()) != null) {
+            line++;
+            if (line == 1 && record.startsWith("\uFEFF")) {
+                record = record.substring(1);
+            }
+            if (record.isEmpty() || record.charAt(0) != '3') {
+                continue;
+            }
+            recordLine = line;
+            return parseLeg(record);
+        }
+        return null;
+    }
+
+    /**
+     * Line the last returned (or rejected) leg record was on
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static Leg parseLeg(String record) {
+        if (record.length() < MIN_LEG_LENGTH) {
+            throw new IllegalArgumentException("leg record is shorter than " + MIN_LEG_LENGTH + " characters");
+        }
+        String airline = field(record, 3, 5);
+        String number = field(record, 6, 9).replaceFirst("^0+(?=.)", "");
+        if (airline.isEmpty() || number.isEmpty()) {
+            throw new IllegalArgumentException("leg record has no airline designator or flight number");
+        }
+
+        LocalDate periodFrom = date(field(record, 15, 21));
+        LocalDate periodTo = date(field(record, 22, 28));
+        if (periodTo.isBefore(periodFrom)) {
+            throw new IllegalArgumentException("period of operation ends before it starts");
+        }
+
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        String daysField = record.substring(28, 35);
+        for (int i = 0; i < daysField.length(); i++) {
+            char c = daysField.charAt(i);
+            if (c == (char) ('1' + i)) {
+                days.add(DayOfWeek.of(i + 1));
+            } else if (c != ' ') {
+                throw new IllegalArgumentException("invalid days of operation '" + daysField + "'");
+            }
+        }
+
+        LocalTime departure = time(field(record, 40, 43));
+        LocalTime arrival = time(field(record, 62, 65));
+        int departureDays = 0;
+        Integer arrivalDays = null;
+        if (record.length() >= 194) {
+            departureDays = dateVariation(record.charAt(192));
+            arrivalDays = record.charAt(193) == ' ' ? null : dateVariation(record.charAt(193));
+        }
+
+        return new Leg(airline, airline + number, periodFrom, periodTo, days,
+                field(record, 37, 39), departure, departureDays,
+                field(record, 55, 57), arrival, arrivalDays);
+    }
+
+    // SSIM positions are 1-based and inclusive
+    private static String field(String record, int from, int to) {
+        return record.substring(from - 1, to).trim();
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return LocalDate.parse(value, SSIM_DATE);
+        } catch (DateTimeParseException e) {
+            // 00XXX00 (open-ended period) lands here too: a bulk load needs a bounded period
+            throw new IllegalArgumentException("invalid or open-ended date '" + value + "'");
+        }
+    }
+
+    private static LocalTime time(String value) {
+        if (value.length() != 4) {
+            throw new IllegalArgumentException("invalid time '" + value + "'");
+        }
+        try {
+            return LocalTime.of(Integer.parseInt(value.substring(0, 2)), Integer.parseInt(value.substring(2)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid time '" + value + "'");
+        }
+    }
+
+    // Days the leg's local date differs from the flight date: blank or 0-9, A for the day before
+    private static int dateVariation(char c) {
+        if (c == ' ') {
+            return 0;
+        }
+        if (c == 'A') {
+            return -1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        throw new IllegalArgumentException("invalid date variation '" + c + "'");
+    }
+
+    /**
+     * One flight leg operated on the given days of the week within the period
+     *
+     * @param arrivalDays days the arrival is after the flight date, or null if the record does
+     *                    not say (the arrival is then the next day when it is not after the departure)
+     */
+    public record Leg(String airline, String flightNumber, LocalDate periodFrom, LocalDate periodTo,
+                      Set<DayOfWeek> days, String origin, LocalTime departureTime, int departureDays,
+                      String destination, LocalTime arrivalTime, Integer arrivalDays) {
+    }
+}
@@ -0,0 +1,6 @@
+-- Monthly upstream API call counters shared by all application nodes
+CREATE TABLE IF NOT EXISTS api_usage (
+    period VARCHAR(7) PRIMARY KEY,
+    calls BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,65 @@
+-- Flights reference their airports by id instead of carrying copies of the airport's city,
+-- state and name; the application resolves those from its in-memory airport directory.
+-- Flights whose codes are not in the airports table keep NULL ids (populate-airport-details.sql
+-- links them once the airport exists) and lose the copied strings.
+ALTER TABLE flights ADD COLUMN IF NOT EXISTS origin_airport_id BIGINT;
+ALTER TABLE flights ADD COLUMN IF NOT EXISTS destination_airport_id BIGINT;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_flights_origin_airport') THEN
+        ALTER TABLE flights ADD CONSTRAINT fk_flights_origin_airport
+            FOREIGN KEY (origin_airport_id) REFERENCES airports (id) ON DELETE SET NULL;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_flights_destination_airport') THEN
+        ALTER TABLE flights ADD CONSTRAINT fk_flights_destination_airport
+            FOREIGN KEY (destination_airport_id) REFERENCES airports (id) ON DELETE SET NULL;
+    END IF;
+END $$;
+
+-- Drop the copied columns once, logging row width and table size before and after. The dropped
+-- values stay on disk until rows are rewritten (updates, VACUUM FULL); the row width after is
+-- what every row takes from then on.
+DO $$
+DECLARE
+    flight_count BIGINT;
+    row_bytes_before NUMERIC;
+    row_bytes_after NUMERIC;
+    table_bytes_before BIGINT;
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'flights'
+        AND column_name = 'origin_city'
+    ) THEN
+        RAISE NOTICE 'Airport detail columns already dropped from flights table';
+        RETURN;
+    END IF;
+
+    SELECT COUNT(*), COALESCE(AVG(pg_column_size(f.*)), 0) INTO flight_count, row_bytes_before FROM flights f;
+    table_bytes_before := pg_total_relation_size('flights');
+
+    UPDATE flights f SET origin_airport_id = a.id
+    FROM airports a
+    WHERE a.code = f.origin AND f.origin_airport_id IS NULL;
+
+    UPDATE flights f SET destination_airport_id = a.id
+    FROM airports a
+    WHERE a.code = f.destination AND f.destination_airport_id IS NULL;
+
+    ALTER TABLE flights
+        DROP COLUMN IF EXISTS origin_city,
+        DROP COLUMN IF EXISTS origin_state,
+        DROP COLUMN IF EXISTS origin_name,
+        DROP COLUMN IF EXISTS destination_city,
+        DROP COLUMN IF EXISTS destination_state,
+        DROP COLUMN IF EXISTS destination_name;
+
+    SELECT COALESCE(AVG(pg_column_size(f.*)), 0) INTO row_bytes_after FROM flights f;
+
+    RAISE NOTICE 'Dropped airport detail columns from % flights: average row % -> % bytes',
+        flight_count, ROUND(row_bytes_before), ROUND(row_bytes_after);
+    RAISE NOTICE 'flights table size before: %, after: % (until rows are rewritten)',
+        pg_size_pretty(table_bytes_before), pg_size_pretty(pg_total_relation_size('flights'));
+END $$;
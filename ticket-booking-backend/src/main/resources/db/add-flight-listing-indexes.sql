@@ -0,0 +1,5 @@
+-- Keyset pagination of the flight listing: each sort order seeks on (sort column, id)
+CREATE INDEX IF NOT EXISTS idx_flights_departure_id
+    ON flights (departure_time, id);
+
+-- The price order's (price_minor, id) index is created by convert-flight-prices-to-minor-units.sql
@@ -0,0 +1,49 @@
+-- Natural key of a flight: one departure per flight number and time, the conflict target of
+-- the API-flight upsert and the schedule import. Flight numbers are stored normalized (no
+-- whitespace, upper case, see Flight.normalizeFlightNumber), so older rows such as 'ai 101'
+-- are compared and rewritten in that form.
+--
+-- Duplicates left by the old check-then-insert save (two concurrent saves of the same offer)
+-- are removed first. Per normalized key one row is kept: the booked one (the lowest booked id
+-- if several are), or the lowest id when none is booked; its unbooked siblings are deleted
+-- with their seats. Booked rows are never deleted, so only two booked copies with the same
+-- spelling still block the index, until an admin merges them by hand.
+DELETE FROM seats
+WHERE flight_id IN (
+    SELECT id FROM (
+        SELECT f.id,
+               first_value(f.id) OVER (
+                   PARTITION BY upper(regexp_replace(f.flight_number, '\s', '', 'g')), f.departure_time
+                   ORDER BY CASE WHEN EXISTS (SELECT 1 FROM bookings b WHERE b.flight_id = f.id) THEN 0 ELSE 1 END, f.id
+               ) AS keeper_id
+        FROM flights f
+    ) ranked
+    WHERE id <> keeper_id
+      AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.flight_id = ranked.id)
+);
+
+DELETE FROM flights
+WHERE id IN (
+    SELECT id FROM (
+        SELECT f.id,
+               first_value(f.id) OVER (
+                   PARTITION BY upper(regexp_replace(f.flight_number, '\s', '', 'g')), f.departure_time
+                   ORDER BY CASE WHEN EXISTS (SELECT 1 FROM bookings b WHERE b.flight_id = f.id) THEN 0 ELSE 1 END, f.id
+               ) AS keeper_id
+        FROM flights f
+    ) ranked
+    WHERE id <> keeper_id
+      AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.flight_id = ranked.id)
+);
+
+-- Normalize what is left; a second booked copy keeps its old spelling rather than colliding
+-- with the row that already holds the normalized number, so the index below is still created
+UPDATE flights f
+SET flight_number = upper(regexp_replace(f.flight_number, '\s', '', 'g'))
+WHERE f.flight_number <> upper(regexp_replace(f.flight_number, '\s', '', 'g'))
+  AND NOT EXISTS (SELECT 1 FROM flights k
+                  WHERE k.id <> f.id
+                    AND upper(regexp_replace(k.flight_number, '\s', '', 'g')) = upper(regexp_replace(f.flight_number, '\s', '', 'g'))
+                    AND k.departure_time = f.departure_time);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_flights_number_departure ON flights (flight_number, departure_time);
@@ -0,0 +1,28 @@
+-- Normalize stored airport codes so route searches can use plain equality
+UPDATE flights
+SET origin = UPPER(TRIM(origin))
+WHERE origin <> UPPER(TRIM(origin));
+
+UPDATE flights
+SET destination = UPPER(TRIM(destination))
+WHERE destination <> UPPER(TRIM(destination));
+
+-- Enforce normalized codes at write time and add the composite route index
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM information_schema.table_constraints
+        WHERE table_name = 'flights'
+        AND constraint_name = 'flights_route_normalized_check'
+    ) THEN
+        ALTER TABLE flights ADD CONSTRAINT flights_route_normalized_check
+            CHECK (origin = UPPER(TRIM(origin)) AND destination = UPPER(TRIM(destination)));
+        RAISE NOTICE 'Added flights_route_normalized_check constraint to flights table';
+    ELSE
+        RAISE NOTICE 'Constraint flights_route_normalized_check already exists on flights table';
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_flights_route_departure
+    ON flights (origin, destination, departure_time);
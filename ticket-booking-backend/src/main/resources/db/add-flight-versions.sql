@@ -0,0 +1,35 @@
+-- Flight version (optimistic locking) and seat versions, used as HTTP validators
+ALTER TABLE flights ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE flights SET version = 0 WHERE version IS NULL;
+ALTER TABLE flights ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE flights ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE seats ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE seats SET version = 0 WHERE version IS NULL;
+ALTER TABLE seats ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE seats ALTER COLUMN version SET NOT NULL;
+
+-- Every update of a seat bumps that seat's own version, whichever code path (JPA, bulk JPQL,
+-- JDBC) made it. The trigger only changes the row being written, so seat holds and bookings
+-- take no lock beyond their seats; the seat-map version of a flight is derived from its seats
+-- when read (FlightRepository.findVersions)
+CREATE OR REPLACE FUNCTION bump_seat_version() RETURNS trigger AS $$
+BEGIN
+    NEW.version := OLD.version + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS seats_bump_version ON seats;
+CREATE TRIGGER seats_bump_version
+    BEFORE UPDATE ON seats
+    FOR EACH ROW EXECUTE FUNCTION bump_seat_version();
+
+-- Replaces the triggers that bumped flights.seat_map_version, which locked the flight row on
+-- every seat write until commit
+DROP TRIGGER IF EXISTS seats_bump_seat_map_version ON seats;
+DROP TRIGGER IF EXISTS seats_insert_bump_seat_map_version ON seats;
+DROP TRIGGER IF EXISTS seats_update_bump_seat_map_version ON seats;
+DROP TRIGGER IF EXISTS seats_delete_bump_seat_map_version ON seats;
+DROP FUNCTION IF EXISTS bump_seat_map_version();
+ALTER TABLE flights DROP COLUMN IF EXISTS seat_map_version;
@@ -0,0 +1,3 @@
+-- Seat counts per flight (flight list and search summaries) without touching the seats heap
+CREATE INDEX IF NOT EXISTS idx_seats_flight_available
+    ON seats (flight_id, available);
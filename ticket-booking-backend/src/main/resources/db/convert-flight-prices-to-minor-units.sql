@@ -0,0 +1,34 @@
+-- Fares are stored as exact BIGINT minor units of their currency (paise for INR) instead of a
+-- DOUBLE PRECISION amount; the application converts to a decimal price only for display.
+ALTER TABLE flights ADD COLUMN IF NOT EXISTS price_minor BIGINT;
+ALTER TABLE flights ADD COLUMN IF NOT EXISTS currency VARCHAR(3) NOT NULL DEFAULT 'INR';
+
+-- Convert once: every stored fare is in INR (API fares are converted before they are saved).
+-- Dropping the old column also drops the (price, id) listing index built on it.
+DO $$
+DECLARE
+    converted BIGINT;
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'flights'
+        AND column_name = 'price'
+    ) THEN
+        RAISE NOTICE 'Flight prices already stored in minor units';
+        RETURN;
+    END IF;
+
+    UPDATE flights SET price_minor = ROUND(price::NUMERIC * 100) WHERE price_minor IS NULL;
+    GET DIAGNOSTICS converted = ROW_COUNT;
+
+    ALTER TABLE flights DROP COLUMN price;
+
+    RAISE NOTICE 'Converted % flight prices to minor units', converted;
+END $$;
+
+ALTER TABLE flights ALTER COLUMN price_minor SET NOT NULL;
+
+-- Seek key of the listing's price sort orders
+CREATE INDEX IF NOT EXISTS idx_flights_price_id
+    ON flights (price_minor, id);
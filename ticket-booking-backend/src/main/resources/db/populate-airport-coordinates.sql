@@ -0,0 +1,49 @@
+-- Backfill coordinates of the default airports for nearby-airport search (existing databases
+-- were seeded without them); airports that already have coordinates are left alone
+UPDATE airports a
+SET latitude = c.latitude,
+    longitude = c.longitude
+FROM (VALUES
+    ('DEL', 28.5562, 77.1000),
+    ('BOM', 19.0896, 72.8656),
+    ('BLR', 13.1986, 77.7066),
+    ('MAA', 12.9941, 80.1709),
+    ('HYD', 17.2403, 78.4294),
+    ('CCU', 22.6547, 88.4467),
+    ('COK', 10.1520, 76.4019),
+    ('GOI', 15.3808, 73.8314),
+    ('GOX', 15.7440, 73.8606),
+    ('JFK', 40.6413, -73.7781),
+    ('LHR', 51.4700, -0.4543),
+    ('CDG', 49.0097, 2.5479),
+    ('DXB', 25.2532, 55.3657),
+    ('SIN', 1.3644, 103.9915),
+    ('HND', 35.5494, 139.7798),
+    ('SYD', -33.9399, 151.1753),
+    ('HKG', 22.3080, 113.9185),
+    ('FRA', 50.0379, 8.5622),
+    ('AMS', 52.3105, 4.7683),
+    ('MAD', 40.4983, -3.5676),
+    ('FCO', 41.8003, 12.2389),
+    ('ZRH', 47.4582, 8.5555),
+    ('IST', 41.2753, 28.7519),
+    ('DOH', 25.2731, 51.6081),
+    ('AUH', 24.4330, 54.6511),
+    ('BKK', 13.6900, 100.7501),
+    ('KUL', 2.7456, 101.7072),
+    ('MNL', 14.5086, 121.0194),
+    ('CGK', -6.1256, 106.6559),
+    ('PEK', 40.0799, 116.6031),
+    ('PVG', 31.1443, 121.8083),
+    ('ICN', 37.4602, 126.4407),
+    ('MEL', -37.6690, 144.8410),
+    ('AKL', -37.0082, 174.7850),
+    ('YVR', 49.1967, -123.1815),
+    ('YYZ', 43.6777, -79.6248),
+    ('GRU', -23.4356, -46.4731),
+    ('EZE', -34.8222, -58.5358),
+    ('CPT', -33.9715, 18.6021),
+    ('JNB', -26.1367, 28.2411)
+) AS c(code, latitude, longitude)
+WHERE a.code = c.code
+  AND (a.latitude IS NULL OR a.longitude IS NULL);
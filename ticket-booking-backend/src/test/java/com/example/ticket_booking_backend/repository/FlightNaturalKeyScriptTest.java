@@ -0,0 +1,110 @@
+package com.example.ticket_booking_backend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.util.FileCopyUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs db/add-flight-natural-key.sql the way DatabaseInitializer does (one execute) against H2 in
+ * PostgreSQL mode, on the few columns the script reads
+ */
+class FlightNaturalKeyScriptTest {
+
+    private static final String DEPARTURE = "TIMESTAMP '2026-11-02 09:00:00'";
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:natural-key;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE flights (id BIGINT PRIMARY KEY, flight_number VARCHAR(20) NOT NULL, " +
+                "departure_time TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE seats (id BIGINT PRIMARY KEY, flight_id BIGINT NOT NULL REFERENCES flights (id))");
+        jdbcTemplate.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, flight_id BIGINT NOT NULL REFERENCES flights (id))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testBookedHigherIdDuplicateIsKeptAndNormalized() throws IOException {
+        flight(1, "AI101");
+        flight(2, "ai 101");
+        jdbcTemplate.update("INSERT INTO bookings (id, flight_id) VALUES (1, 2)");
+
+        runScript();
+
+        assertEquals(List.of(2L), flightIds());
+        assertEquals("AI101", jdbcTemplate.queryForObject("SELECT flight_number FROM flights WHERE id = 2", String.class));
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("SELECT DISTINCT flight_id FROM seats", Long.class));
+        assertNaturalKeyEnforced();
+    }
+
+    @Test
+    void testLowestIdIsKeptWhenNoDuplicateIsBooked() throws IOException {
+        flight(1, "AI 101");
+        flight(2, "AI101");
+        flight(3, "ai101");
+        flight(4, "AI102");
+
+        runScript();
+
+        assertEquals(List.of(1L, 4L), flightIds());
+        assertEquals(List.of("AI101", "AI102"),
+                jdbcTemplate.queryForList("SELECT flight_number FROM flights ORDER BY id", String.class));
+        assertNaturalKeyEnforced();
+    }
+
+    @Test
+    void testBookedDuplicatesAreNeverDeleted() throws IOException {
+        flight(1, "AI101");
+        flight(2, "ai 101");
+        jdbcTemplate.update("INSERT INTO bookings (id, flight_id) VALUES (1, 1)");
+        jdbcTemplate.update("INSERT INTO bookings (id, flight_id) VALUES (2, 2)");
+
+        runScript();
+
+        // The second booked copy keeps its spelling, so the index can still be created
+        assertEquals(List.of(1L, 2L), flightIds());
+        assertEquals("ai 101", jdbcTemplate.queryForObject("SELECT flight_number FROM flights WHERE id = 2", String.class));
+        assertNaturalKeyEnforced();
+    }
+
+    private void flight(long id, String flightNumber) {
+        jdbcTemplate.update("INSERT INTO flights (id, flight_number, departure_time) VALUES (?, ?, " + DEPARTURE + ")",
+                id, flightNumber);
+        jdbcTemplate.update("INSERT INTO seats (id, flight_id) VALUES (?, ?)", id * 10, id);
+    }
+
+    private List<Long> flightIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM flights ORDER BY id", Long.class);
+    }
+
+    private void assertNaturalKeyEnforced() {
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO flights (id, flight_number, departure_time) VALUES (99, 'AI101', " + DEPARTURE + ")"));
+    }
+
+    private void runScript() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource("db/add-flight-natural-key.sql").getInputStream(), StandardCharsets.UTF_8)) {
+            jdbcTemplate.execute(FileCopyUtils.copyToString(reader));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.Passenger;
+import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the route search against H2 with the schema Hibernate derives from the entities: codes
+ * are stored normalized, so the plain equality query finds them, and the statement it issues
+ * is planned on idx_flights_route_departure
+ */
+class FlightRouteSearchTest {
+
+    private final List<String> statements = new ArrayList<>();
+    private SessionFactory sessionFactory;
+
+    private final LocalDate travelDate = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() {
+        Configuration configuration = new Configuration()
+                .addAnnotatedClass(Flight.class)
+                .addAnnotatedClass(Seat.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Booking.class)
+                .addAnnotatedClass(Passenger.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:flight-route;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        configuration.setStatementInspector(sql -> {
+            statements.add(sql);
+            return sql;
+        });
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testCodesAreStoredNormalizedAndFoundByEquality() {
+        save("AI101", " del", "bom ", travelDate.atTime(9, 0));
+        save("AI102", "DEL", "BOM", travelDate.atTime(18, 0));
+        save("AI103", "DEL", "BLR", travelDate.atTime(9, 0));
+        save("AI104", "del", "bom", travelDate.plusDays(1).atTime(9, 0));
+
+        try (Session session = sessionFactory.openSession()) {
+            List<Flight> flights = repository(session).searchFlightsByRoute(Flight.normalizeAirportCode("Del "),
+                    Flight.normalizeAirportCode("bom"), travelDate.atStartOfDay(), travelDate.atTime(23, 59, 59));
+
+            assertEquals(List.of("AI101", "AI102"), flights.stream().map(Flight::getFlightNumber).sorted().toList());
+            assertTrue(flights.stream().allMatch(f -> f.getOrigin().equals("DEL") && f.getDestination().equals("BOM")));
+        }
+    }
+
+    @Test
+    void testRouteSearchIsPlannedOnTheRouteIndex() {
+        save("AI101", "DEL", "BOM", travelDate.atTime(9, 0));
+
+        statements.clear();
+        try (Session session = sessionFactory.openSession()) {
+            repository(session).searchFlightsByRoute("DEL", "BOM", travelDate.atStartOfDay(), travelDate.atTime(23, 59, 59));
+
+            String search = statements.stream().filter(sql -> sql.contains("origin=?")).findFirst().orElseThrow();
+            // Same statement with the bound values written in, since EXPLAIN plans it as issued
+            String explained = search
+                    .replaceFirst("\\?", "'DEL'")
+                    .replaceFirst("\\?", "'BOM'")
+                    .replaceFirst("\\?", "TIMESTAMP '" + travelDate + " 00:00:00'")
+                    .replaceFirst("\\?", "TIMESTAMP '" + travelDate + " 23:59:59'");
+            String plan = session.doReturningWork(connection -> {
+                try (var statement = connection.createStatement();
+                     var result = statement.executeQuery("EXPLAIN " + explained)) {
+                    result.next();
+                    return result.getString(1);
+                }
+            });
+
+            assertTrue(plan.toUpperCase().contains("IDX_FLIGHTS_ROUTE_DEPARTURE"), plan);
+        }
+    }
+
+    private void save(String flightNumber, String origin, String destination, LocalDateTime departure) {
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            Flight flight = new Flight();
+            flight.setFlightNumber(flightNumber);
+            flight.setAirline("Air India");
+            flight.setOrigin(origin);
+            flight.setDestination(destination);
+            flight.setDepartureTime(departure);
+            flight.setArrivalTime(departure.plusHours(2));
+            flight.setPrice(5000);
+            session.persist(flight);
+            session.getTransaction().commit();
+        }
+    }
+
+    private static FlightRepository repository(Session session) {
+        return new JpaRepositoryFactory(session)
+                .getRepository(FlightRepository.class, RepositoryFragments.just(new FlightListingRepositoryImpl()));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ticket_booking_backend.repository;
+
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository.NaturalKey;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository.StoredFlight;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightWriteRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FlightWriteRepository flightWriteRepository;
+
+    private final LocalDateTime departure = LocalDateTime.of(2026, 11, 2, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        flightWriteRepository = new FlightWriteRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testUpsertWritesEachKeyOnceAndReportsInInputOrder() throws SQLException {
+        NaturalKey first = new NaturalKey("AI101", departure);
+        NaturalKey second = new NaturalKey("AI102", departure);
+        // Only the new flight comes back from the insert; the existing one from the lookup
+        doReturn(List.of(new StoredFlight(8L, second, true)))
+                .when(jdbcTemplate).query(startsWith(FlightWriteRepository.INSERT_COLUMNS),
+                        any(PreparedStatementSetter.class), any(RowMapper.class));
+        doReturn(List.of(new StoredFlight(5L, first, false)))
+                .when(jdbcTemplate).query(startsWith(FlightWriteRepository.SELECT_EXISTING_SQL),
+                        any(PreparedStatementSetter.class), any(RowMapper.class));
+
+        Map<NaturalKey, StoredFlight> stored = flightWriteRepository.upsert(List.of(
+                flight("AI101", "offer-1"), flight("AI102", null), flight("AI101", "offer-1")));
+
+        assertEquals(List.of(first, second), new ArrayList<>(stored.keySet()));
+        assertEquals(5L, stored.get(first).id());
+        assertFalse(stored.get(first).inserted());
+        assertTrue(stored.get(second).inserted());
+
+        // One insert with one row per distinct key, conflicts left untouched
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate, times(2)).query(sql.capture(), setter.capture(), any(RowMapper.class));
+        // Each row its own parenthesized tuple, not one tuple of rows
+        String row = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+        assertEquals(FlightWriteRepository.INSERT_COLUMNS + row + ", " + row + FlightWriteRepository.INSERT_NEW_SUFFIX,
+                sql.getAllValues().get(0));
+        assertTrue(FlightWriteRepository.INSERT_NEW_SUFFIX.contains("DO NOTHING"));
+        assertEquals(FlightWriteRepository.INSERT_COLUMNS.split(",").length, row.split(",").length);
+        // Then a lookup of just the flight the insert skipped
+        assertEquals(FlightWriteRepository.SELECT_EXISTING_SQL + "((?, ?))", sql.getAllValues().get(1));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getAllValues().get(0).setValues(ps);
+        verify(ps).setString(1, "AI101");
+        verify(ps).setObject(4, 1L, Types.BIGINT);
+        verify(ps).setTimestamp(7, Timestamp.valueOf(departure));
+        verify(ps).setLong(9, 500000L);
+        verify(ps).setString(10, "INR");
+        verify(ps).setString(13, "offer-1");
+        verify(ps).setInt(14, Flight.CABIN_SEATS);
+        verify(ps).setString(15, "AI102");
+        verify(ps).setNull(27, Types.VARCHAR);
+        verify(ps).setInt(28, 0);
+
+        PreparedStatement lookup = mock(PreparedStatement.class);
+        setter.getAllValues().get(1).setValues(lookup);
+        verify(lookup).setString(1, "AI101");
+        verify(lookup).setTimestamp(2, Timestamp.valueOf(departure));
+        verifyNoMoreInteractions(lookup);
+    }
+
+    @Test
+    void testKeysMatchRowsReadBackAtMicrosecondPrecision() throws SQLException {
+        Flight flight = flight("AI101", "offer-1");
+        flight.setDepartureTime(departure.plusNanos(123_456_789));
+        LocalDateTime stored = departure.plusNanos(123_456_000);
+        doReturn(List.of(new StoredFlight(8L, new NaturalKey("AI101", stored), true)))
+                .when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+
+        Map<NaturalKey, StoredFlight> rows = flightWriteRepository.upsert(List.of(flight));
+
+        assertEquals(8L, rows.get(NaturalKey.of(flight)).id());
+        // The departure is written as the truncated value the key holds
+        ArgumentCaptor<PreparedStatementSetter> setter = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+        verify(jdbcTemplate).query(anyString(), setter.capture(), any(RowMapper.class));
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps);
+        verify(ps).setTimestamp(7, Timestamp.valueOf(stored));
+    }
+
+    @Test
+    void testUpsertFailsWhenAFlightHasNoStoredRow() {
+        doReturn(List.of())
+                .when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+
+        assertThrows(IllegalStateException.class,
+                () -> flightWriteRepository.upsert(List.of(flight("AI101", "offer-1"))));
+    }
+
+    @Test
+    void testLargeWritesAreSplitIntoStatements() {
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            flights.add(flight("AI" + i, null));
+        }
+
+        flightWriteRepository.insertNew(flights);
+        flightWriteRepository.createSeatMaps(LongStream.rangeClosed(1, 2500).boxed().toList());
+
+        verify(jdbcTemplate, times(3)).query(endsWith(FlightWriteRepository.INSERT_NEW_SUFFIX),
+                any(PreparedStatementSetter.class), any(RowMapper.class));
+        verify(jdbcTemplate, times(3)).update(startsWith(FlightWriteRepository.INSERT_SEATS_SQL), any(Object[].class));
+    }
+
+    private Flight flight(String flightNumber, String apiId) {
+        Flight flight = new Flight();
+        flight.setFlightNumber(flightNumber);
+        flight.setAirline("Air India");
+        flight.setOrigin("BOM");
+        flight.setOriginAirportId(1L);
+        flight.setDestination("DEL");
+        flight.setDestinationAirportId(2L);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(2));
+        flight.setPrice(5000);
+        flight.setApiSourced(apiId != null);
+        flight.setApiId(apiId);
+        if (apiId != null) {
+            flight.setAvailableSeats(Flight.CABIN_SEATS);
+        }
+        return flight;
+    }
+}
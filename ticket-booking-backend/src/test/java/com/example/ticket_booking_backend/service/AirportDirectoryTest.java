@@ -0,0 +1,106 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.model.Airport;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightAirports;
+import com.example.ticket_booking_backend.repository.AirportRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AirportDirectoryTest {
+
+    @Mock
+    private AirportRepository airportRepository;
+
+    private AirportDirectory airportDirectory;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(airportRepository.findAll()).thenReturn(List.of(
+                new Airport(1L, "BOM", "Chhatrapati Shivaji Maharaj International Airport", "Mumbai", "Maharashtra", "India", 19.09, 72.87),
+                new Airport(2L, "DEL", "Indira Gandhi International Airport", "New Delhi", "Delhi", "India", 28.56, 77.10),
+                new Airport(3L, "JFK", "John F. Kennedy International Airport", "New York", "New York", "USA", 40.64, -73.78)));
+        airportDirectory = new AirportDirectory(airportRepository);
+        airportDirectory.registerFlightAirports();
+        airportDirectory.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        FlightAirports.register(id -> null);
+    }
+
+    @Test
+    void testLookupsAreServedFromMemory() {
+        assertEquals("Mumbai", airportDirectory.findByCode("bom").orElseThrow().getCity());
+        assertEquals(Optional.of("DEL"), airportDirectory.resolveCode("New Delhi"));
+        assertEquals(Optional.of("JFK"), airportDirectory.resolveCode("kennedy"));
+        assertEquals(Optional.empty(), airportDirectory.resolveCode("Atlantis"));
+
+        // Only the initial load touched the database
+        verify(airportRepository, times(1)).findAll();
+        verifyNoMoreInteractions(airportRepository);
+    }
+
+    @Test
+    void testRefreshSwapsSnapshotAndKeepsOldOneOnFailure() {
+        when(airportRepository.findAll()).thenReturn(List.of(
+                new Airport(4L, "GOI", "Dabolim Airport", "Goa", "Goa", "India", 15.38, 73.83)));
+        airportDirectory.refresh();
+
+        assertEquals(1, airportDirectory.size());
+        assertTrue(airportDirectory.findByCode("BOM").isEmpty());
+        assertEquals(Optional.of("GOI"), airportDirectory.resolveCode("goa"));
+
+        when(airportRepository.findAll()).thenThrow(new RuntimeException("database down"));
+        airportDirectory.refresh();
+
+        assertEquals(Optional.of("GOI"), airportDirectory.resolveCode("goa"));
+    }
+
+    @Test
+    void testFlightsResolveTheirAirportsFromTheSnapshot() throws Exception {
+        Flight first = flight(airportDirectory.findIdByCode("BOM"), airportDirectory.findIdByCode("del"));
+        Flight second = flight(1L, 2L);
+
+        assertEquals("Mumbai", first.getOriginCity());
+        assertEquals("Delhi", first.getDestinationState());
+        // Every flight of an airport reads the same copy
+        assertSame(first.getOriginName(), second.getOriginName());
+
+        // The API keeps its shape: airport details in, airport ids out
+        JsonNode json = new ObjectMapper().findAndRegisterModules().valueToTree(first);
+        assertEquals("Indira Gandhi International Airport", json.get("destinationName").asText());
+        assertFalse(json.has("originAirportId"));
+
+        // Airport edits show up on the next refresh without touching flights
+        when(airportRepository.findAll()).thenReturn(List.of(
+                new Airport(1L, "BOM", "Mumbai International Airport", "Mumbai", "Maharashtra", "India", 19.09, 72.87)));
+        airportDirectory.refresh();
+        assertEquals("Mumbai International Airport", first.getOriginName());
+        assertNull(first.getDestinationCity());
+        assertNull(airportDirectory.findIdByCode("DEL"));
+    }
+
+    private static Flight flight(Long originAirportId, Long destinationAirportId) {
+        Flight flight = new Flight();
+        flight.setFlightNumber("AI101");
+        flight.setOrigin("BOM");
+        flight.setOriginAirportId(originAirportId);
+        flight.setDestination("DEL");
+        flight.setDestinationAirportId(destinationAirportId);
+        return flight;
+    }
+}
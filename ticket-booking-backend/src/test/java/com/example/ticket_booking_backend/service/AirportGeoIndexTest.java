@@ -0,0 +1,68 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.NearbyAirport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportGeoIndexTest {
+
+    @Test
+    void testNearbyAirportsNearestFirst() {
+        AirportGeoIndex index = new AirportGeoIndex(List.of(
+                airport(1L, "DXB", 25.2532, 55.3657),
+                airport(2L, "AUH", 24.4330, 54.6511),
+                airport(3L, "DOH", 25.2731, 51.6081),
+                airport(4L, "GOI", 15.3808, 73.8314),
+                airport(5L, "XXX", null, null),
+                // Either side of the antimeridian
+                airport(6L, "SUV", -18.0433, 178.5592),
+                airport(7L, "TBU", -21.2412, -175.1496)));
+
+        List<NearbyAirport> nearDubai = index.nearby(25.2532, 55.3657, 150, 10);
+        assertEquals(List.of("DXB", "AUH"), nearDubai.stream().map(n -> n.getAirport().getCode()).toList());
+        assertEquals(0, nearDubai.get(0).getDistanceKm(), 0.001);
+        assertEquals(117, nearDubai.get(1).getDistanceKm(), 5);
+
+        assertEquals(List.of("DXB"), index.nearby(25.2532, 55.3657, 500, 1).stream().map(n -> n.getAirport().getCode()).toList());
+        assertEquals(List.of("SUV", "TBU"), index.nearby(-18.0433, 178.5592, 1000, 10).stream().map(n -> n.getAirport().getCode()).toList());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        List<AirportInfo> airports = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            airports.add(airport((long) i, "A" + i, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        AirportGeoIndex index = new AirportGeoIndex(airports);
+
+        for (int q = 0; q < 50; q++) {
+            double lat = random.nextDouble() * 180 - 90;
+            double lon = random.nextDouble() * 360 - 180;
+            double radius = 200 + random.nextDouble() * 1500;
+
+            List<String> expected = airports.stream()
+                    .filter(a -> AirportGeoIndex.distanceKm(lat, lon, a.getLatitude(), a.getLongitude()) <= radius)
+                    .sorted((a, b) -> Double.compare(
+                            AirportGeoIndex.distanceKm(lat, lon, a.getLatitude(), a.getLongitude()),
+                            AirportGeoIndex.distanceKm(lat, lon, b.getLatitude(), b.getLongitude())))
+                    .map(AirportInfo::getCode)
+                    .toList();
+            List<String> actual = index.nearby(lat, lon, radius, Integer.MAX_VALUE).stream()
+                    .map(n -> n.getAirport().getCode())
+                    .toList();
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static AirportInfo airport(Long id, String code, Double latitude, Double longitude) {
+        return new AirportInfo(id, code, code + " Airport", code, null, "Country", latitude, longitude);
+    }
+}
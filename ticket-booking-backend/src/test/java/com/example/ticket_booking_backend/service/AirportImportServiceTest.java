@@ -0,0 +1,134 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AirportImportConfig;
+import com.example.ticket_booking_backend.dto.AirportImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AirportImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AirportDirectory airportDirectory;
+
+    @Mock
+    private EntityCacheService entityCacheService;
+
+    @Mock
+    private FlightDetailCache flightDetailCache;
+
+    private AirportImportService airportImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AirportImportConfig config = new AirportImportConfig();
+        config.setBatchSize(2);
+        airportImportService = new AirportImportService(jdbcTemplate, transactionManager, airportDirectory, entityCacheService,
+                flightDetailCache, config);
+    }
+
+    @Test
+    void testImportsOurAirportsLayoutInBatches() throws IOException {
+        String csv = "\"id\",\"ident\",\"type\",\"name\",\"latitude_deg\",\"longitude_deg\",\"iso_country\",\"iso_region\",\"municipality\",\"iata_code\"\r\n"
+                + "1,VABB,large_airport,\"Chhatrapati Shivaji Maharaj International Airport\",19.0887,72.8679,IN,IN-MH,Mumbai,BOM\r\n"
+                + "2,00A,heliport,\"Total RF Heliport\",40.07,-74.93,US,US-PA,Bensalem,\r\n"
+                + "3,KJFK,large_airport,\"John F. Kennedy International Airport\",40.6398,-73.7789,US,US-NY,\"New York, \"\"Queens\"\"\",jfk\r\n"
+                + "4,XXXX,closed,\"Old Field\",10,10,US,US-TX,Nowhere,OLD\r\n"
+                + "5,LFPG,large_airport,\"Charles de Gaulle\",49.0,999,FR,FR-IDF,Paris,CDG\r\n"
+                + "6,VIDP,large_airport,\"Indira Gandhi International Airport\",28.5665,77.1031,IN,IN-DL,,DEL\r\n";
+
+        AirportImportResult result = airportImportService.importCsv(stream(csv));
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(3, result.getUpserted());
+        assertEquals(2, result.getSkipped());
+        assertEquals(1, result.getRejected());
+        assertEquals(List.of("line 6: CDG has invalid coordinates"), result.getErrors());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(AirportImportService.UPSERT_SQL), batches.capture(), any(int[].class));
+        List<Object[]> rows = new ArrayList<>();
+        batches.getAllValues().forEach(rows::addAll);
+
+        assertArrayEquals(new Object[] {"JFK", "John F. Kennedy International Airport", "New York, \"Queens\"", "US-NY", "US", 40.6398, -73.7789},
+                rows.get(1));
+        // No municipality: the name stands in for the mandatory city
+        assertEquals("Indira Gandhi International Airport", rows.get(2)[2]);
+
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityCacheService).evictAirports();
+        verify(entityCacheService, never()).evictFlights();
+        verify(airportDirectory).reload();
+    }
+
+    @Test
+    void testFlightsOfImportedAirportsAreLinked() throws IOException {
+        when(jdbcTemplate.update(AirportImportService.LINK_ORIGINS_SQL)).thenReturn(3);
+        when(jdbcTemplate.update(AirportImportService.LINK_DESTINATIONS_SQL)).thenReturn(2);
+
+        AirportImportResult result = airportImportService.importCsv(stream("code,name,country\nGOX,Mopa Airport,India\n"));
+
+        assertEquals(5, result.getFlightsLinked());
+        // Cached flights still carry the null airport ids
+        verify(entityCacheService).evictFlights();
+        verify(flightDetailCache).invalidateAll();
+    }
+
+    @Test
+    void testFailedDirectoryReloadIsReported() throws IOException {
+        doThrow(new IllegalStateException("connection reset")).when(airportDirectory).reload();
+
+        AirportImportResult result = airportImportService.importCsv(stream("code,name,country\nGOX,Mopa Airport,India\n"));
+
+        assertEquals(1, result.getUpserted());
+        assertNotNull(result.getDirectoryError());
+        assertTrue(result.getDirectoryError().contains("connection reset"));
+    }
+
+    @Test
+    void testMissingRequiredColumnIsRejectedBeforeWriting() {
+        String csv = "code,name,city\nBOM,Mumbai Airport,Mumbai\n";
+
+        assertThrows(IllegalArgumentException.class, () -> airportImportService.importCsv(stream(csv)));
+
+        verifyNoInteractions(jdbcTemplate, airportDirectory);
+    }
+
+    @Test
+    void testUnterminatedQuoteRollsBack() {
+        String csv = "code,name,country\nBOM,\"Mumbai Airport,India\n";
+
+        assertThrows(IOException.class, () -> airportImportService.importCsv(stream(csv)));
+
+        verify(transactionManager).rollback(any());
+        verify(entityCacheService, never()).evictAirports();
+        verify(airportDirectory, never()).reload();
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AirportSearchIndexTest {
+
+    private static AirportInfo airport(long id, String code, String name, String city, String country) {
+        return new AirportInfo(id, code, name, city, null, country, null, null);
+    }
+
+    private final AirportSearchIndex index = new AirportSearchIndex(List.of(
+            airport(1, "GRU", "São Paulo/Guarulhos International Airport", "São Paulo", "Brazil"),
+            airport(2, "SAN", "San Diego International Airport", "San Diego", "USA"),
+            airport(3, "SFO", "San Francisco International Airport", "San Francisco", "USA"),
+            airport(4, "BOM", "Chhatrapati Shivaji Maharaj International Airport", "Mumbai", "India"),
+            airport(5, "LHR", "Heathrow Airport", "London", "United Kingdom"),
+            airport(6, "XSA", "Santa Ana Field", "Irvine", "USA")));
+
+    private static List<String> codes(List<AirportInfo> airports) {
+        return airports.stream().map(AirportInfo::getCode).toList();
+    }
+
+    @Test
+    void testRanksExactCodeThenCityPrefixThenNamePrefixThenSubstring() {
+        // SAN by exact code, SFO by city prefix ("San Francisco"), XSA by name prefix ("Santa Ana")
+        assertEquals(List.of("SAN", "SFO", "XSA"), codes(index.search("san", 10)));
+
+        // Substring only: "row" appears inside "Heathrow"
+        assertEquals(List.of("LHR"), codes(index.search("row", 10)));
+    }
+
+    @Test
+    void testFoldsAccentsAndRespectsLimit() {
+        assertEquals("GRU", index.search("Sao Paulo", 5).get(0).getCode());
+        assertEquals("GRU", index.search("SÃO", 5).get(0).getCode());
+        assertEquals(2, index.search("international", 2).size());
+        assertTrue(index.search("zzz", 5).isEmpty());
+    }
+
+    @Test
+    void testFirstContainingMatchesWithinOneFieldInListOrder() {
+        assertEquals("SAN", index.findFirstContaining("diego").map(AirportInfo::getCode).orElseThrow());
+        // Several airports contain it; the first in list order wins
+        assertEquals("GRU", index.findFirstContaining("international").map(AirportInfo::getCode).orElseThrow());
+        assertEquals("LHR", index.findFirstContaining("ro").map(AirportInfo::getCode).orElseThrow());
+        // Text spanning two fields (code "sfo", name "san francisco ...") is not a match
+        assertEquals(Optional.empty(), index.findFirstContaining("sfo san"));
+    }
+}
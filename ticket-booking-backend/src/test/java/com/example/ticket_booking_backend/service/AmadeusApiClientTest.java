@@ -0,0 +1,143 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AmadeusApiConfig;
+import com.example.ticket_booking_backend.config.AmadeusClientConfig;
+import com.example.ticket_booking_backend.config.AmadeusWebClientConfig;
+import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.config.FakeAmadeusServerConfig;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.example.ticket_booking_backend.exception.UpstreamUnavailableException;
+import com.example.ticket_booking_backend.util.FakeAmadeusServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client against the fake Amadeus server with injected latency and error responses
+ */
+class AmadeusApiClientTest {
+
+    @Mock
+    private ApiQuotaService apiQuotaService;
+
+    private FakeAmadeusServerConfig fakeServerConfig;
+    private FakeAmadeusServer fakeServer;
+
+    private AmadeusClientConfig clientConfig;
+    private LocalDate departureDate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        fakeServerConfig = new FakeAmadeusServerConfig();
+        fakeServerConfig.setPort(0);
+        fakeServerConfig.setThreads(4);
+
+        clientConfig = new AmadeusClientConfig();
+        clientConfig.setReadTimeoutMs(300);
+        clientConfig.setSlidingWindowSize(4);
+        clientConfig.setMinimumCalls(4);
+        clientConfig.setFailureRateThreshold(50);
+        clientConfig.setOpenStateSeconds(60);
+
+        departureDate = LocalDate.now().plusDays(7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (fakeServer != null) {
+            fakeServer.stop();
+        }
+    }
+
+    private AmadeusApiClient startServerAndClient() throws Exception {
+        fakeServer = new FakeAmadeusServer(fakeServerConfig);
+        fakeServer.start();
+
+        AmadeusApiConfig apiConfig = new AmadeusApiConfig();
+        apiConfig.setBaseUrl(fakeServer.getBaseUrl());
+        apiConfig.setTokenUrl(FakeAmadeusServer.TOKEN_PATH);
+        apiConfig.setFlightSearchUrl(FakeAmadeusServer.FLIGHT_OFFERS_PATH);
+        WebClient webClient = AmadeusWebClientConfig.buildWebClient(apiConfig.getBaseUrl(), clientConfig);
+        AmadeusTokenManager tokenManager = new AmadeusTokenManager(apiConfig, new AppFeatureConfig(), webClient);
+
+        return new AmadeusApiClient(apiConfig, clientConfig, apiQuotaService, tokenManager, new AmadeusOfferParser(), webClient);
+    }
+
+    @Test
+    void testFetchesTokenAndParsesOffers() throws Exception {
+        AmadeusApiClient client = startServerAndClient();
+
+        List<AmadeusOfferSummary> offers = client.searchFlights("DEL", "BOM", departureDate).block();
+
+        assertNotNull(offers);
+        assertEquals(fakeServerConfig.getOffersPerResponse(), offers.size());
+        assertTrue(offers.stream().allMatch(offer -> "DEL".equals(offer.getOrigin())
+                && "BOM".equals(offer.getDestination())
+                && offer.getDepartureTime().toLocalDate().equals(departureDate)));
+    }
+
+    @Test
+    void testSlowUpstreamFailsAtReadTimeout() throws Exception {
+        fakeServerConfig.setLatencyMs(3000);
+        AmadeusApiClient client = startServerAndClient();
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> client.searchFlights("DEL", "BOM", departureDate).block());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 2000, "search should give up at the read timeout, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void testServerErrorsOpenBreakerAndLaterCallsSkipUpstream() throws Exception {
+        fakeServerConfig.setErrorRate(1.0);
+        AmadeusApiClient client = startServerAndClient();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.class, () -> client.searchFlights("DEL", "BOM", departureDate).block());
+        }
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitBreakerState());
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.searchFlights("DEL", "BOM", departureDate).block());
+        assertEquals(4, fakeServer.getOfferRequests());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenBreaker() throws Exception {
+        AmadeusApiClient client = startServerAndClient();
+
+        for (int i = 0; i < 6; i++) {
+            assertThrows(WebClientResponseException.class, () -> client.searchFlights("DEL", "XXXX", departureDate).block());
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreakerState());
+    }
+
+    @Test
+    void testBulkheadRejectsCallsOverConcurrencyLimit() throws Exception {
+        clientConfig.setMaxConcurrentCalls(1);
+        clientConfig.setReadTimeoutMs(5000);
+        fakeServerConfig.setLatencyMs(1000);
+        AmadeusApiClient client = startServerAndClient();
+
+        client.searchFlights("DEL", "BOM", departureDate).subscribe(offers -> { }, error -> { });
+        long waitUntil = System.currentTimeMillis() + 2000;
+        while (fakeServer.getOfferRequests() == 0 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, fakeServer.getOfferRequests());
+
+        assertThrows(UpstreamUnavailableException.class, () -> client.searchFlights("DEL", "BLR", departureDate).block());
+        assertEquals(1, fakeServer.getOfferRequests());
+    }
+}
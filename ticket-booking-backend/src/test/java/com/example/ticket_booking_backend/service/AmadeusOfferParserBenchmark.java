@@ -0,0 +1,110 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffer;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffersResponse;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing a 250-offer flight-offers response: binding the whole DTO tree and reading the used
+ * fields off it with LocalDateTime.parse and Double.parseDouble, as search did before
+ * ("before"), against the streaming AmadeusOfferParser ("after"). Reports time and bytes
+ * allocated per response.
+ *
+ * Not part of the regular build (surefire only runs *Test classes); run it with
+ *   mvn test -Dtest=AmadeusOfferParserBenchmark
+ * Each side is warmed up first, then runs a few rounds of many parses and the fastest round is
+ * reported. Allocation is read from the JVM's per-thread counter, so it needs a HotSpot JVM.
+ */
+class AmadeusOfferParserBenchmark {
+
+    private static final int OFFERS = 250;
+    private static final int WARMUP_PARSES = 2_000;
+    private static final int PARSES_PER_ROUND = 2_000;
+    private static final int ROUNDS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final AmadeusOfferParser parser = new AmadeusOfferParser();
+
+    @Test
+    void parse250OfferResponse() throws IOException {
+        byte[] body = AmadeusOfferParserTest.payload(OFFERS);
+
+        for (int i = 0; i < WARMUP_PARSES; i++) {
+            bindDtoTree(body);
+            parser.parse(body);
+        }
+
+        long beforeNanos = Long.MAX_VALUE;
+        long afterNanos = Long.MAX_VALUE;
+        long beforeBytes = Long.MAX_VALUE;
+        long afterBytes = Long.MAX_VALUE;
+        List<AmadeusOfferSummary> before = null;
+        List<AmadeusOfferSummary> after = null;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < PARSES_PER_ROUND; i++) {
+                before = bindDtoTree(body);
+            }
+            beforeNanos = Math.min(beforeNanos, System.nanoTime() - start);
+            beforeBytes = Math.min(beforeBytes, allocatedBytes() - allocated);
+
+            allocated = allocatedBytes();
+            start = System.nanoTime();
+            for (int i = 0; i < PARSES_PER_ROUND; i++) {
+                after = parser.parse(body);
+            }
+            afterNanos = Math.min(afterNanos, System.nanoTime() - start);
+            afterBytes = Math.min(afterBytes, allocatedBytes() - allocated);
+        }
+
+        System.out.printf("Parsing a %d-offer response (%,d bytes): DTO tree %,d µs / %,d KB, streaming %,d µs / %,d KB "
+                        + "(%.1fx faster, %.1fx less allocation)%n",
+                OFFERS, body.length,
+                beforeNanos / PARSES_PER_ROUND / 1000, beforeBytes / PARSES_PER_ROUND / 1024,
+                afterNanos / PARSES_PER_ROUND / 1000, afterBytes / PARSES_PER_ROUND / 1024,
+                (double) beforeNanos / afterNanos, (double) beforeBytes / afterBytes);
+
+        // Both read the same offers
+        assertEquals(OFFERS, after.size());
+        for (int i = 0; i < OFFERS; i++) {
+            assertEquals(before.get(i).getOfferId(), after.get(i).getOfferId());
+            assertEquals(before.get(i).getFlightNumber(), after.get(i).getFlightNumber());
+            assertEquals(before.get(i).getDepartureTime(), after.get(i).getDepartureTime());
+            assertEquals(before.get(i).getArrivalTime(), after.get(i).getArrivalTime());
+            assertEquals(before.get(i).getPrice(), after.get(i).getPrice());
+        }
+    }
+
+    // The previous path: bind everything, then pick the first segment and parse its fields
+    private List<AmadeusOfferSummary> bindDtoTree(byte[] body) throws IOException {
+        List<AmadeusFlightOffer> offers = objectMapper.readValue(body, AmadeusFlightOffersResponse.class).getData();
+        List<AmadeusOfferSummary> summaries = new ArrayList<>(offers.size());
+        for (AmadeusFlightOffer offer : offers) {
+            AmadeusFlightOffer.Segment segment = offer.getItineraries().get(0).getSegments().get(0);
+            summaries.add(new AmadeusOfferSummary(offer.getId(), segment.getCarrierCode(),
+                    segment.getCarrierCode() + segment.getNumber(),
+                    segment.getDeparture().getIataCode(), segment.getArrival().getIataCode(),
+                    LocalDateTime.parse(segment.getDeparture().getAt()), LocalDateTime.parse(segment.getArrival().getAt()),
+                    Double.parseDouble(offer.getPrice().getTotal()), offer.getPrice().getCurrency()));
+        }
+        return summaries;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffer;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusFlightOffersResponse;
+import com.example.ticket_booking_backend.dto.amadeus.AmadeusOfferSummary;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmadeusOfferParserTest {
+
+    private final AmadeusOfferParser parser = new AmadeusOfferParser();
+
+    // Shaped like a real flight-offers response: two itineraries, two segments, fare details and dictionaries
+    private static String offerJson(int i) {
+        return "{\"type\":\"flight-offer\",\"id\":\"" + i + "\",\"source\":\"GDS\",\"oneWay\":false,"
+                + "\"itineraries\":[{\"duration\":\"PT5H\",\"segments\":["
+                + "{\"departure\":{\"iataCode\":\"DEL\",\"terminal\":\"3\",\"at\":\"2030-03-0" + (1 + i % 9) + "T0" + (i % 10) + ":15:00\"},"
+                + "\"arrival\":{\"iataCode\":\"BOM\",\"terminal\":\"2\",\"at\":\"2030-03-0" + (1 + i % 9) + "T1" + (i % 10) + ":30:00\"},"
+                + "\"carrierCode\":\"AI\",\"number\":\"" + (100 + i) + "\",\"aircraft\":{\"code\":\"32N\"},"
+                + "\"operating\":{\"carrierCode\":\"AI\"},\"duration\":\"PT2H15M\",\"id\":\"1\",\"numberOfStops\":0},"
+                + "{\"departure\":{\"iataCode\":\"BOM\",\"at\":\"2030-03-02T08:00:00\"},"
+                + "\"arrival\":{\"iataCode\":\"BLR\",\"at\":\"2030-03-02T09:45:00\"},\"carrierCode\":\"6E\",\"number\":\"9\"}]},"
+                + "{\"duration\":\"PT2H\",\"segments\":[{\"departure\":{\"iataCode\":\"BOM\",\"at\":\"2030-03-09T10:00:00\"},"
+                + "\"arrival\":{\"iataCode\":\"DEL\",\"at\":\"2030-03-09T12:00:00\"},\"carrierCode\":\"UK\",\"number\":\"1\"}]}],"
+                + "\"price\":{\"currency\":\"EUR\",\"total\":\"" + (50 + i) + ".25\",\"base\":\"40.00\","
+                + "\"fees\":[{\"amount\":\"0.00\",\"type\":\"SUPPLIER\"}],\"grandTotal\":\"" + (50 + i) + ".25\"},"
+                + "\"pricingOptions\":{\"fareType\":[\"PUBLISHED\"],\"includedCheckedBagsOnly\":true},"
+                + "\"travelerPricings\":[{\"travelerId\":\"1\",\"fareDetailsBySegment\":[{\"cabin\":\"ECONOMY\"}]}]}";
+    }
+
+    static byte[] payload(int offers) {
+        StringBuilder json = new StringBuilder("{\"meta\":{\"count\":" + offers + ",\"links\":{\"self\":\"x\"}},\"data\":[");
+        for (int i = 0; i < offers; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(offerJson(i));
+        }
+        json.append("],\"dictionaries\":{\"locations\":{\"DEL\":{\"cityCode\":\"DEL\"}},\"carriers\":{\"AI\":\"AIR INDIA\"}}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testMatchesFullDtoBindingOnLargePayload() throws Exception {
+        byte[] body = payload(250);
+
+        List<AmadeusOfferSummary> offers = parser.parse(body);
+
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        List<AmadeusFlightOffer> dtoOffers = objectMapper.readValue(body, AmadeusFlightOffersResponse.class).getData();
+
+        assertEquals(250, offers.size());
+        for (int i = 0; i < offers.size(); i++) {
+            AmadeusOfferSummary offer = offers.get(i);
+            AmadeusFlightOffer.Segment segment = dtoOffers.get(i).getItineraries().get(0).getSegments().get(0);
+            assertEquals(dtoOffers.get(i).getId(), offer.getOfferId());
+            assertEquals(segment.getCarrierCode() + segment.getNumber(), offer.getFlightNumber());
+            assertEquals(segment.getDeparture().getIataCode(), offer.getOrigin());
+            assertEquals(segment.getArrival().getIataCode(), offer.getDestination());
+            assertEquals(LocalDateTime.parse(segment.getDeparture().getAt()), offer.getDepartureTime());
+            assertEquals(LocalDateTime.parse(segment.getArrival().getAt()), offer.getArrivalTime());
+            assertEquals(Double.parseDouble(dtoOffers.get(i).getPrice().getTotal()), offer.getPrice());
+            assertEquals("EUR", offer.getCurrency());
+        }
+    }
+
+    @Test
+    void testSkipsIncompleteOffers() {
+        String json = "{\"data\":[" + offerJson(1) + ","
+                + "{\"id\":\"2\",\"price\":{\"total\":\"10.00\"},\"itineraries\":[]},"
+                + "{\"id\":\"3\",\"itineraries\":[{\"segments\":[{\"carrierCode\":\"AI\",\"number\":\"1\","
+                + "\"departure\":{\"iataCode\":\"DEL\",\"at\":\"not-a-date\"},\"arrival\":{\"iataCode\":\"BOM\",\"at\":\"2030-01-01T10:00:00\"}}]}],"
+                + "\"price\":{\"total\":\"10.00\"}}]}";
+
+        List<AmadeusOfferSummary> offers = parser.parse(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, offers.size());
+        assertEquals("AI101", offers.get(0).getFlightNumber());
+    }
+
+    @Test
+    void testParsesDateTimeWithAndWithoutSeconds() {
+        assertEquals(LocalDateTime.of(2030, 3, 1, 6, 5, 9), AmadeusOfferParser.parseDateTime("2030-03-01T06:05:09"));
+        assertEquals(LocalDateTime.of(2030, 3, 1, 6, 5), AmadeusOfferParser.parseDateTime("2030-03-01T06:05"));
+        assertThrows(IllegalArgumentException.class, () -> AmadeusOfferParser.parseDateTime("2030/03/01 06:05"));
+    }
+}
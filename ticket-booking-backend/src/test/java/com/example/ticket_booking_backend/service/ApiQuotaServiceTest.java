@@ -0,0 +1,112 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ApiQuotaConfig;
+import com.example.ticket_booking_backend.exception.ApiQuotaExceededException;
+import com.example.ticket_booking_backend.exception.ApiRateLimitedException;
+import com.example.ticket_booking_backend.model.ApiUsage;
+import com.example.ticket_booking_backend.repository.ApiUsageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApiQuotaServiceTest {
+
+    @Mock
+    private ApiUsageRepository apiUsageRepository;
+
+    private ApiQuotaConfig config;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(apiUsageRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        config = new ApiQuotaConfig();
+        config.setMaxCallsPerMonth(10);
+        config.setUserReservePercent(20);
+        config.setCallsPerSecond(1000);
+        config.setBurstCapacity(100);
+    }
+
+    private ApiQuotaService newService() {
+        ApiQuotaService service = new ApiQuotaService(config, apiUsageRepository);
+        service.init();
+        return service;
+    }
+
+    @Test
+    void testBackgroundCallsLeaveUserReserve() {
+        ApiQuotaService service = newService();
+
+        for (int i = 0; i < 8; i++) {
+            service.acquire(ApiQuotaService.Priority.BACKGROUND);
+        }
+        assertThrows(ApiQuotaExceededException.class, () -> service.acquire(ApiQuotaService.Priority.BACKGROUND));
+
+        service.acquire(ApiQuotaService.Priority.USER);
+        service.acquire(ApiQuotaService.Priority.USER);
+        assertThrows(ApiQuotaExceededException.class, () -> service.acquire(ApiQuotaService.Priority.USER));
+        assertEquals(10, service.getCallsThisMonth());
+    }
+
+    @Test
+    void testFlushPersistsDeltaAndPicksUpOtherNodes() {
+        String period = YearMonth.now().toString();
+        ApiQuotaService service = newService();
+        service.acquire(ApiQuotaService.Priority.USER);
+        service.acquire(ApiQuotaService.Priority.USER);
+
+        // Another node has made three calls in the meantime
+        when(apiUsageRepository.findById(period))
+                .thenReturn(Optional.of(new ApiUsage(period, 5, LocalDateTime.now())));
+        service.flush();
+
+        verify(apiUsageRepository).addCalls(period, 2);
+        assertEquals(5, service.getCallsThisMonth());
+        assertEquals(5, service.getRemainingCalls());
+    }
+
+    @Test
+    void testRateLimitRejectsBurstOverCapacity() {
+        config.setCallsPerSecond(0.001);
+        config.setBurstCapacity(2);
+        ApiQuotaService service = newService();
+
+        service.acquire(ApiQuotaService.Priority.USER);
+        service.acquire(ApiQuotaService.Priority.USER);
+        assertThrows(ApiQuotaExceededException.class, () -> service.acquire(ApiQuotaService.Priority.USER));
+        assertEquals(2, service.getCallsThisMonth());
+    }
+
+    @Test
+    void testCallsRefusedByTheQuotaDoNotUseRateLimitTokens() {
+        config.setCallsPerSecond(0.001);
+        config.setBurstCapacity(12);
+        ApiQuotaService service = newService();
+        for (int i = 0; i < 10; i++) {
+            service.acquire(ApiQuotaService.Priority.USER);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            ApiQuotaExceededException e = assertThrows(ApiQuotaExceededException.class,
+                    () -> service.acquire(ApiQuotaService.Priority.USER));
+            assertFalse(e instanceof ApiRateLimitedException);
+        }
+
+        // Once the quota frees up (the stored count reads zero again) the two tokens left are still there
+        service.flush();
+        service.acquire(ApiQuotaService.Priority.USER);
+        service.acquire(ApiQuotaService.Priority.USER);
+        assertThrows(ApiRateLimitedException.class, () -> service.acquire(ApiQuotaService.Priority.USER));
+    }
+}
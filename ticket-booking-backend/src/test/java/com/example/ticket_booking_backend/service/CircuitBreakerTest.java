@@ -0,0 +1,70 @@
+package com.example.ticket_booking_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        // Opens at 50% failures over the last 4 calls, stays open for 1s, 2 trial calls
+        circuitBreaker = new CircuitBreaker("test", 50, 4, 4, 1000, 2, nanos::get);
+    }
+
+    private void call(boolean fail) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        if (fail) {
+            circuitBreaker.onError();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+
+    @Test
+    void testOpensAtFailureRateAndRejectsUntilWaitElapses() {
+        call(false);
+        call(true);
+        call(false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        call(true);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        nanos.addAndGet(999_000_000L);
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(2L, circuitBreaker.getMetrics().get("notPermittedCalls"));
+    }
+
+    @Test
+    void testHalfOpenClosesOnSuccessfulTrialsAndReopensOnFailure() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        nanos.addAndGet(1_000_000_000L);
+
+        // Only the trial calls get through
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onError();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        nanos.addAndGet(1_000_000_000L);
+        call(false);
+        call(false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(-1f, circuitBreaker.getFailureRate());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ExploreConfig;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.DestinationSummaryDTO;
+import com.example.ticket_booking_backend.dto.ItineraryLegDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DestinationExplorerServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private AirportDirectory airportDirectory;
+
+    private DestinationExplorerService explorerService;
+
+    private final LocalDateTime nextMonth = YearMonth.now().plusMonths(1).atDay(10).atTime(9, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(airportDirectory.findByCode(anyString())).thenReturn(Optional.empty());
+        when(airportDirectory.findByCode("DEL")).thenReturn(Optional.of(
+                new AirportInfo(1L, "DEL", "Indira Gandhi International Airport", "Delhi", "Delhi", "India", null, null)));
+        when(flightRepository.findConnectionLegs(any(), any(), eq(FlightStatus.CANCELLED))).thenReturn(List.of(
+                leg(1L, "BOM", "DEL", nextMonth, 5000),
+                leg(2L, "BOM", "DEL", nextMonth.plusDays(5), 4200),
+                leg(3L, "BOM", "GOI", nextMonth.plusDays(1), 3100),
+                leg(4L, "DEL", "BOM", nextMonth, 1000)));
+
+        explorerService = new DestinationExplorerService(flightRepository, airportDirectory, new ExploreConfig());
+        explorerService.rebuild();
+    }
+
+    @Test
+    void testCheapestFareAndEarliestDeparturePerDestination() {
+        List<DestinationSummaryDTO> destinations = explorerService.explore("bom", null);
+
+        assertEquals(List.of("GOI", "DEL"), destinations.stream().map(DestinationSummaryDTO::getDestination).toList());
+        DestinationSummaryDTO delhi = destinations.get(1);
+        assertEquals(4200, delhi.getCheapestFare());
+        assertEquals(nextMonth, delhi.getEarliestDeparture());
+        assertEquals(2, delhi.getFlightCount());
+        assertEquals("Delhi", delhi.getDestinationCity());
+
+        assertTrue(explorerService.explore("BOM", YearMonth.from(nextMonth).plusMonths(1)).isEmpty());
+    }
+
+    @Test
+    void testFlightChangesUpdateTheAggregate() {
+        explorerService.onFlightSaved(flight(5L, "BOM", "DEL", nextMonth.minusDays(2), 3900, FlightStatus.SCHEDULED));
+        DestinationSummaryDTO delhi = find(explorerService.explore("BOM", YearMonth.from(nextMonth)), "DEL");
+        assertEquals(3900, delhi.getCheapestFare());
+        assertEquals(nextMonth.minusDays(2), delhi.getEarliestDeparture());
+
+        // Moving a flight to another route takes it off the old one
+        explorerService.onFlightSaved(flight(5L, "BOM", "GOI", nextMonth.minusDays(2), 3900, FlightStatus.SCHEDULED));
+        explorerService.onFlightDeleted(2L);
+        delhi = find(explorerService.explore("BOM", null), "DEL");
+        assertEquals(5000, delhi.getCheapestFare());
+        assertEquals(1, delhi.getFlightCount());
+
+        explorerService.onFlightSaved(flight(1L, "BOM", "DEL", nextMonth, 5000, FlightStatus.CANCELLED));
+        assertEquals(List.of("GOI"), explorerService.explore("BOM", null).stream()
+                .map(DestinationSummaryDTO::getDestination).toList());
+    }
+
+    private static DestinationSummaryDTO find(List<DestinationSummaryDTO> destinations, String code) {
+        return destinations.stream().filter(d -> d.getDestination().equals(code)).findFirst().orElseThrow();
+    }
+
+    private static ItineraryLegDTO leg(Long id, String origin, String destination, LocalDateTime departure, double price) {
+        return new ItineraryLegDTO(id, "AI" + id, "Air India", origin, destination, departure, departure.plusHours(2),
+                Money.toMinorUnits(price, "INR"), "INR");
+    }
+
+    private static Flight flight(Long id, String origin, String destination, LocalDateTime departure, double price,
+                                 FlightStatus status) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setOrigin(origin);
+        flight.setDestination(destination);
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(2));
+        flight.setPrice(price);
+        flight.setStatus(status);
+        return flight;
+    }
+}
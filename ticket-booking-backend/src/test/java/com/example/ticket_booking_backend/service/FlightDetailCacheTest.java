@@ -0,0 +1,154 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightDetailCacheConfig;
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.service.FlightDetailCache.FlightDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightDetailCacheTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private FlightDetailCache flightDetailCache;
+
+    private final LocalDateTime departure = LocalDateTime.now().plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        FlightDetailCacheConfig config = new FlightDetailCacheConfig();
+        config.setMaxEntries(100);
+        config.setTtlSeconds(5);
+        flightDetailCache = new FlightDetailCache(flightRepository, transactionManager, config, nanos::get);
+        stored(1L, 0L, 0L);
+    }
+
+    @Test
+    void testHotFlightIsReadFromTheDatabaseOnce() throws Exception {
+        int threads = 16;
+        int readsPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                for (int read = 0; read < readsPerThread; read++) {
+                    assertTrue(flightDetailCache.get(1L).isPresent());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> reader : readers) {
+            reader.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Uncached, each of the 32000 requests ran the versions query and loaded the flight
+        verify(flightRepository, times(1)).findVersions(eq(1L), any());
+        verify(flightRepository, times(1)).findById(1L);
+        assertEquals(1, flightDetailCache.getStatistics().getPuts());
+    }
+
+    @Test
+    void testWritesEvictAtCommitAndEntriesExpire() {
+        FlightDetails first = flightDetailCache.get(1L).orElseThrow();
+        String firstTag = first.versions(LocalDateTime.now()).flightETag();
+
+        // An update in flight keeps serving the committed copy until it commits
+        stored(1L, 1L, 0L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            flightDetailCache.invalidate(1L);
+            assertSame(first, flightDetailCache.get(1L).orElseThrow());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        FlightDetails updated = flightDetailCache.get(1L).orElseThrow();
+        assertEquals(1L, updated.version());
+        assertNotEquals(firstTag, updated.versions(LocalDateTime.now()).flightETag());
+
+        // A seat change does not evict; the next load after the TTL picks it up
+        stored(1L, 1L, 7L);
+        nanos.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertSame(updated, flightDetailCache.get(1L).orElseThrow());
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(7L, flightDetailCache.get(1L).orElseThrow().seatMapVersion());
+        verify(flightRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void testLapsedHoldChangesTheTagWithoutReload() {
+        Flight flight = stored(1L, 0L, 3L);
+        Seat seat = new Seat();
+        seat.setSeatNumber("A1");
+        seat.setHoldUntil(LocalDateTime.now().plusMinutes(5));
+        flight.addSeat(seat);
+
+        FlightDetails details = flightDetailCache.get(1L).orElseThrow();
+        FlightVersionDTO now = details.versions(LocalDateTime.now());
+        FlightVersionDTO later = details.versions(LocalDateTime.now().plusMinutes(10));
+
+        assertEquals(0, now.getLapsedHolds());
+        assertEquals(1, later.getLapsedHolds());
+        assertNotEquals(now.flightETag(), later.flightETag());
+    }
+
+    @Test
+    void testMissingFlightIsNotCached() {
+        when(flightRepository.findVersions(eq(2L), any())).thenReturn(Optional.empty());
+
+        assertTrue(flightDetailCache.get(2L).isEmpty());
+        assertTrue(flightDetailCache.get(2L).isEmpty());
+
+        verify(flightRepository, times(2)).findVersions(eq(2L), any());
+        verify(flightRepository, never()).findById(2L);
+    }
+
+    // The flight as the database now has it
+    private Flight stored(Long id, Long version, Long seatMapVersion) {
+        Flight flight = new Flight();
+        flight.setId(id);
+        flight.setFlightNumber("AI101");
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(2));
+        flight.setVersion(version);
+        when(flightRepository.findVersions(eq(id), any())).thenReturn(
+                Optional.of(new FlightVersionDTO(id, version, seatMapVersion, departure, 0)));
+        when(flightRepository.findById(id)).thenReturn(Optional.of(flight));
+        return flight;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.dto.FlightListingQuery;
+import com.example.ticket_booking_backend.dto.FlightPageDTO;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightListingServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightListingService flightListingService;
+
+    private final LocalDateTime tomorrow = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        FlightSearchConfig config = new FlightSearchConfig();
+        config.setListingPageSize(2);
+        config.setListingMaxPageSize(5);
+        flightListingService = new FlightListingService(flightRepository, config);
+    }
+
+    @Test
+    void testNextCursorSeeksPastTheLastRow() {
+        when(flightRepository.findSummaryPage(any(), isNull(), isNull(), eq(3))).thenReturn(List.of(
+                summary(7L, tomorrow, 5000), summary(3L, tomorrow.plusHours(1), 4000), summary(9L, tomorrow.plusHours(2), 6000)));
+
+        FlightListingQuery query = new FlightListingQuery();
+        query.setOrigin(" bom ");
+        FlightPageDTO first = flightListingService.listFlights(query, false);
+
+        assertEquals(List.of(7L, 3L), first.getFlights().stream().map(FlightSummaryDTO::getId).toList());
+        assertTrue(first.isHasMore());
+        assertEquals("BOM", query.getOrigin());
+        // Public listings never reach back before now
+        assertFalse(query.getDepartureFrom().isAfter(LocalDateTime.now()));
+
+        when(flightRepository.findSummaryPage(any(), eq(tomorrow.plusHours(1)), eq(3L), eq(3))).thenReturn(List.of(
+                summary(9L, tomorrow.plusHours(2), 6000)));
+        FlightListingQuery next = new FlightListingQuery();
+        next.setCursor(first.getNextCursor());
+        FlightPageDTO second = flightListingService.listFlights(next, false);
+
+        assertEquals(List.of(9L), second.getFlights().stream().map(FlightSummaryDTO::getId).toList());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testPriceCursorAndPageSizeCap() {
+        FlightListingQuery query = new FlightListingQuery();
+        query.setSort(FlightListingQuery.Sort.PRICE_DESC);
+        query.setSize(50);
+        query.setCursor(FlightListingService.encodeCursor(summary(4L, tomorrow, 4999.5), FlightListingQuery.Sort.PRICE_DESC));
+        when(flightRepository.findSummaryPage(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        flightListingService.listFlights(query, true);
+
+        ArgumentCaptor<Object> key = ArgumentCaptor.forClass(Object.class);
+        verify(flightRepository).findSummaryPage(same(query), key.capture(), eq(4L), eq(6));
+        assertEquals(499950L, key.getValue());
+        assertNull(query.getDepartureFrom());
+    }
+
+    @Test
+    void testCursorFromAnotherSortOrderIsRejected() {
+        FlightListingQuery query = new FlightListingQuery();
+        query.setCursor(FlightListingService.encodeCursor(summary(4L, tomorrow, 100), FlightListingQuery.Sort.PRICE_ASC));
+
+        assertThrows(IllegalArgumentException.class, () -> flightListingService.listFlights(query, false));
+
+        query.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () -> flightListingService.listFlights(query, false));
+        verifyNoInteractions(flightRepository);
+    }
+
+    private static FlightSummaryDTO summary(Long id, LocalDateTime departure, double price) {
+        return new FlightSummaryDTO(id, "AI" + id, "Air India", "BOM", 1L, "DEL", 2L,
+                departure, departure.plusHours(2), Money.toMinorUnits(price, "INR"), "INR",
+                FlightStatus.SCHEDULED, false, null, 10, 10);
+    }
+}
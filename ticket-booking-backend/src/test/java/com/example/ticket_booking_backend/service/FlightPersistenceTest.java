@@ -0,0 +1,233 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.config.FlightSearchConfig;
+import com.example.ticket_booking_backend.dto.FlightPatchRequest;
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.exception.FlightHasBookingsException;
+import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.model.BookingStatus;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.model.Passenger;
+import com.example.ticket_booking_backend.model.Role;
+import com.example.ticket_booking_backend.model.Seat;
+import com.example.ticket_booking_backend.model.User;
+import com.example.ticket_booking_backend.repository.BookingRepository;
+import com.example.ticket_booking_backend.repository.FlightListingRepositoryImpl;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs FlightService's admin write path against a real Hibernate session factory (H2, same
+ * cache provider and region config as the application): cached flights are never read stale,
+ * and edits and deletes cost a fixed number of statements whatever the cabin size.
+ */
+class FlightPersistenceTest {
+
+    private SessionFactory sessionFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Flight.class)
+                .addAnnotatedClass(Seat.class)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Booking.class)
+                .addAnnotatedClass(Passenger.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:flight-cache;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "true")
+                .setProperty(AvailableSettings.CACHE_REGION_FACTORY, "jcache")
+                .setProperty("hibernate.javax.cache.provider", CaffeineCachingProvider.class.getName())
+                .setProperty("hibernate.javax.cache.missing_cache_strategy", "create")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testUpdateFlightIsNeverReadStale() {
+        Long id = inTransaction(em -> {
+            Flight flight = flight();
+            em.persist(flight);
+            return flight.getId();
+        });
+
+        // Reads are served from the cache...
+        read(id);
+        statistics.clear();
+        assertEquals(5000, read(id).getPrice());
+        assertEquals(1, statistics.getCacheRegionStatistics("flights").getHitCount());
+
+        // ...and an admin edit (a detached flight carrying the new values) replaces the cached copy
+        Flight edited = read(id);
+        edited.setPrice(4200);
+        edited.setStatus(FlightStatus.DELAYED);
+        inTransaction(em -> flightService(em).updateFlight(edited));
+
+        Flight reread = read(id);
+        assertEquals(4200, reread.getPrice());
+        assertEquals(FlightStatus.DELAYED, reread.getStatus());
+        assertEquals(1L, reread.getVersion());
+
+        // An edit based on the old version is refused and leaves nothing behind in the cache
+        Flight stale = read(id);
+        stale.setVersion(0L);
+        stale.setPrice(1);
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> inTransaction(em -> flightService(em).updateFlight(stale)));
+        assertEquals(4200, read(id).getPrice());
+    }
+
+    @Test
+    void testAdminEditsDoNotTouchSeatsAndBookedFlightsAreNotDeleted() {
+        Long id = inTransaction(em -> flightService(em).saveFlight(flight()).getId());
+        inTransaction(em -> {
+            User user = new User();
+            user.setEmail("traveller@example.com");
+            user.setPassword("secret");
+            user.setRole(Role.CUSTOMER);
+            em.persist(user);
+
+            Flight flight = em.find(Flight.class, id);
+            Booking booking = new Booking();
+            booking.setUser(user);
+            booking.setFlight(flight);
+            booking.setBookingTime(LocalDateTime.now());
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setSeats(new ArrayList<>(flight.getSeats().subList(0, 2)));
+            for (Seat seat : booking.getSeats()) {
+                Passenger passenger = new Passenger();
+                passenger.setFirstName("Test");
+                passenger.setLastName(seat.getSeatNumber());
+                passenger.setSeat(seat);
+                booking.addPassenger(passenger);
+            }
+            em.persist(booking);
+            return booking.getId();
+        });
+
+        // A patch loads the flight and updates it; the 60 seats are not even selected
+        statistics.clear();
+        FlightPatchRequest patch = new FlightPatchRequest();
+        patch.setPrice(3900.0);
+        inTransaction(em -> flightService(em).patchFlight(id, patch));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals(3900, read(id).getPrice());
+
+        // The patch response counts seats with a query instead of loading them
+        statistics.clear();
+        FlightSummaryDTO summary = inTransaction(em -> flightService(em).getFlightSummary(id).orElseThrow());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(3900, summary.getPrice());
+        assertEquals(60, summary.getTotalSeats());
+
+        // The booking history is kept: the delete is refused and nothing is removed
+        assertThrows(FlightHasBookingsException.class, () -> inTransaction(em -> {
+            flightService(em).deleteFlight(id);
+            return null;
+        }));
+        assertNotNull(read(id));
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals(60L, session.createQuery("SELECT COUNT(s) FROM Seat s", Long.class).getSingleResult());
+            assertEquals(1L, session.createQuery("SELECT COUNT(b) FROM Booking b", Long.class).getSingleResult());
+            assertEquals(2L, session.createQuery("SELECT COUNT(p) FROM Passenger p", Long.class).getSingleResult());
+        }
+    }
+
+    @Test
+    void testUnbookedFlightIsDeletedWithoutLoadingSeats() {
+        Long id = inTransaction(em -> flightService(em).saveFlight(flight()).getId());
+        // No seat updated yet (H2 has no version trigger): the seat-map version is the seat count
+        assertEquals(60L, inTransaction(em -> flightService(em).getFlightVersions(id).orElseThrow()).getSeatMapVersion());
+
+        statistics.clear();
+        inTransaction(em -> {
+            flightService(em).deleteFlight(id);
+            return null;
+        });
+        // The bookings check, one set-based seat delete, the (empty) seats collection and the flight itself
+        assertTrue(statistics.getPrepareStatementCount() <= 5, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityDeleteCount());
+
+        assertNull(read(id));
+        try (Session session = sessionFactory.openSession()) {
+            assertEquals(0L, session.createQuery("SELECT COUNT(s) FROM Seat s", Long.class).getSingleResult());
+        }
+    }
+
+    private Flight read(Long id) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.find(Flight.class, id);
+        }
+    }
+
+    private <T> T inTransaction(Function<EntityManager, T> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            try {
+                T result = work.apply(session);
+                session.getTransaction().commit();
+                return result;
+            } catch (RuntimeException e) {
+                if (session.getTransaction().isActive()) {
+                    session.getTransaction().rollback();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static FlightService flightService(EntityManager em) {
+        FlightListingRepositoryImpl listing = new FlightListingRepositoryImpl();
+        FlightRepository flightRepository = new JpaRepositoryFactory(em)
+                .getRepository(FlightRepository.class, RepositoryFragments.just(listing));
+        return new FlightService(flightRepository, mock(AmadeusApiClient.class), mock(FlightMapperService.class),
+                new AppFeatureConfig(), mock(SeatService.class), mock(AirportDirectory.class),
+                mock(BookingRepository.class), mock(FlightSearchCache.class), new FlightSearchConfig(),
+                mock(SearchPrefetchService.class), mock(DestinationExplorerService.class), mock(ItinerarySearchService.class),
+                mock(FlightWriteRepository.class), mock(FlightDetailCache.class));
+    }
+
+    private static Flight flight() {
+        Flight flight = new Flight();
+        flight.setFlightNumber("AI101");
+        flight.setAirline("Air India");
+        flight.setOrigin("BOM");
+        flight.setDestination("DEL");
+        flight.setDepartureTime(LocalDateTime.now().plusDays(3));
+        flight.setArrivalTime(LocalDateTime.now().plusDays(3).plusHours(2));
+        flight.setPrice(5000);
+        return flight;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.FlightImportConfig;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.dto.FlightImportProgress;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightWriteRepository;
+import com.example.ticket_booking_backend.service.FlightScheduleImportService.ScheduleFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FlightScheduleImportServiceTest {
+
+    @Mock
+    private FlightWriteRepository flightWriteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AirportDirectory airportDirectory;
+
+    @Mock
+    private DestinationExplorerService destinationExplorerService;
+
+    @Mock
+    private ItinerarySearchService itinerarySearchService;
+
+    private FlightScheduleImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(airportDirectory.findByCode(anyString())).thenReturn(Optional.empty());
+        List<String> codes = List.of("BOM", "DEL", "GOI");
+        for (int i = 0; i < codes.size(); i++) {
+            String code = codes.get(i);
+            when(airportDirectory.findByCode(code)).thenReturn(Optional.of(
+                    new AirportInfo(i + 1L, code, code + " Airport", code + " City", null, "India", null, null)));
+        }
+        FlightImportConfig config = new FlightImportConfig();
+        config.setBatchSize(2);
+        config.setWorkers(1);
+        config.setSsimDefaultFare(4500);
+        // Every flight is new unless a test says otherwise
+        AtomicLong ids = new AtomicLong();
+        when(flightWriteRepository.insertNew(anyList())).thenAnswer(invocation ->
+                invocation.<List<Flight>>getArgument(0).stream().map(flight -> ids.incrementAndGet()).toList());
+        importService = new FlightScheduleImportService(flightWriteRepository, transactionManager, airportDirectory,
+                destinationExplorerService, itinerarySearchService, config);
+    }
+
+    @Test
+    void testCsvRowsAreValidatedAndWrittenInBatches() throws IOException {
+        String csv = "flight_number,airline,origin,destination,departure_time,arrival_time,price,status\n"
+                + "AI 101,Air India,bom,DEL,2026-11-02T09:00,2026-11-02T11:00,5200,\n"
+                + "AI101,Air India,BOM,DEL,2026-11-02T09:00,2026-11-02T11:00,5200,\n"
+                + "AI102,Air India,DEL,BOM,2026-11-02 13:00,2026-11-02 15:00,5100,DELAYED\n"
+                + "6E1,IndiGo,BOM,XXX,2026-11-02T09:00,2026-11-02T11:00,3000,\n"
+                + "6E2,IndiGo,BOM,GOI,2026-11-02T09:00,2026-11-02T08:00,3000,\n"
+                + "6E3,IndiGo,BOM,GOI,tomorrow,2026-11-02T11:00,3000,\n"
+                + "6E4,IndiGo,GOI,BOM,2026-11-03T09:00,2026-11-03T10:15,2900,\n";
+
+        FlightImportProgress result = importService.importSchedule(stream(csv), "schedule.csv", ScheduleFormat.CSV);
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(7, result.getLinesRead());
+        assertEquals(3, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of("line 5: 6E1 arrives at unknown airport 'XXX'", "line 6: 6E2 arrives before it departs",
+                "line 7: invalid departure or arrival time"), result.getErrors());
+
+        List<Flight> flights = writtenFlights(2);
+        Flight first = flights.get(0);
+        assertEquals("AI101", first.getFlightNumber());
+        assertEquals("BOM", first.getOrigin());
+        assertEquals(1L, first.getOriginAirportId());
+        assertEquals(2L, first.getDestinationAirportId());
+        assertEquals(LocalDateTime.of(2026, 11, 2, 9, 0), first.getDepartureTime());
+        assertEquals(LocalDateTime.of(2026, 11, 2, 11, 0), first.getArrivalTime());
+        assertEquals(5200, first.getPrice());
+        assertEquals(FlightStatus.SCHEDULED, first.getStatus());
+        assertEquals(FlightStatus.DELAYED, flights.get(1).getStatus());
+        assertEquals("6E4", flights.get(2).getFlightNumber());
+        // Seat maps for the flights each batch inserted
+        verify(flightWriteRepository).createSeatMaps(List.of(1L, 2L));
+        verify(flightWriteRepository).createSeatMaps(List.of(3L));
+
+        verify(destinationExplorerService).rebuild();
+        verify(itinerarySearchService).refreshGraph();
+    }
+
+    @Test
+    void testFlightsAlreadyScheduledAreSkipped() throws IOException {
+        // As if an earlier, interrupted run had committed AI101
+        when(flightWriteRepository.insertNew(anyList())).thenReturn(List.of(42L));
+        String csv = "flight,carrier,from,to,std,sta,fare\n"
+                + "AI101,Air India,BOM,DEL,2026-11-02T09:00,2026-11-02T11:00,5200\n"
+                + "AI102,Air India,DEL,BOM,2026-11-02T13:00,2026-11-02T15:00,5100\n";
+
+        FlightImportProgress result = importService.importSchedule(stream(csv), "schedule.csv", ScheduleFormat.CSV);
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(2, writtenFlights(1).size());
+        verify(flightWriteRepository).createSeatMaps(List.of(42L));
+    }
+
+    @Test
+    void testSsimLegsExpandToOneFlightPerOperatingDay() throws IOException {
+        String ssim = "1AIRLINE STANDARD SCHEDULE DATA SET\n"
+                // Mon, Wed and Fri of the week of 2 Nov 2026; lands after midnight
+                + ssimLeg("AI", "0101", "02NOV26", "08NOV26", "1 3 5  ", "BOM", "2330", "DEL", "0130") + "\n"
+                + ssimLeg("AI", "0102", "02NOV26", "08NOV26", "      7", "DEL", "0900", "XXX", "1100") + "\n"
+                + ssimLeg("AI", "0103", "00XXX00", "08NOV26", "1234567", "DEL", "0900", "BOM", "1100") + "\n"
+                + "5 AI 000004\n";
+
+        FlightImportProgress result = importService.importSchedule(stream(ssim), "winter.ssim", ScheduleFormat.SSIM);
+
+        assertEquals(3, result.getLinesRead());
+        assertEquals(4, result.getFlightsRead());
+        assertEquals(3, result.getInserted());
+        assertEquals(2, result.getRejected());
+        assertEquals("line 3: AI102 arrives at unknown airport 'XXX'", result.getErrors().get(0));
+
+        List<Flight> flights = writtenFlights(2);
+        assertEquals(List.of(LocalDateTime.of(2026, 11, 2, 23, 30), LocalDateTime.of(2026, 11, 4, 23, 30),
+                LocalDateTime.of(2026, 11, 6, 23, 30)), flights.stream().map(Flight::getDepartureTime).toList());
+        assertEquals(LocalDateTime.of(2026, 11, 3, 1, 30), flights.get(0).getArrivalTime());
+        assertEquals("AI101", flights.get(0).getFlightNumber());
+        assertEquals(4500, flights.get(0).getPrice());
+    }
+
+    @Test
+    void testDatabaseFailureStopsTheImport() {
+        when(flightWriteRepository.insertNew(anyList())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        String csv = "flight,carrier,from,to,std,sta,fare\n"
+                + "AI101,Air India,BOM,DEL,2026-11-02T09:00,2026-11-02T11:00,5200\n"
+                + "AI102,Air India,DEL,BOM,2026-11-02T13:00,2026-11-02T15:00,5100\n"
+                + "AI103,Air India,BOM,GOI,2026-11-02T16:00,2026-11-02T17:00,3100\n"
+                + "AI104,Air India,GOI,BOM,2026-11-02T18:00,2026-11-02T19:00,3000\n"
+                + "AI105,Air India,BOM,DEL,2026-11-02T20:00,2026-11-02T22:00,5000\n";
+
+        assertThrows(IllegalStateException.class,
+                () -> importService.importSchedule(stream(csv), "schedule.csv", ScheduleFormat.CSV));
+
+        // Not reported as a completed import with every row rejected, and nothing written after the failure
+        FlightImportProgress result = importService.getRecentImports().get(0);
+        assertEquals("FAILED", result.getStatus());
+        assertEquals(0, result.getInserted());
+        assertEquals(0, result.getRejected());
+        assertTrue(result.getErrors().get(0).contains("connection refused"));
+        verify(flightWriteRepository, times(1)).insertNew(anyList());
+        verifyNoInteractions(destinationExplorerService, itinerarySearchService);
+    }
+
+    @Test
+    void testMissingRequiredColumnIsRejectedBeforeWriting() throws IOException {
+        String csv = "flight_number,origin,destination\nAI101,BOM,DEL\n";
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importSchedule(stream(csv), "schedule.csv", ScheduleFormat.CSV));
+        verifyNoInteractions(flightWriteRepository, destinationExplorerService);
+
+        // The failed run released the import slot and is listed with its reason
+        assertEquals("FAILED", importService.getRecentImports().get(0).getStatus());
+        importService.importSchedule(stream("flight,carrier,from,to,std,sta,fare\n"), "empty.csv", ScheduleFormat.CSV);
+        assertEquals(2, importService.getRecentImports().size());
+    }
+
+    private List<Flight> writtenFlights(int batches) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Flight>> captor = ArgumentCaptor.forClass(List.class);
+        verify(flightWriteRepository, times(batches)).insertNew(captor.capture());
+        List<Flight> flights = new ArrayList<>();
+        captor.getAllValues().forEach(flights::addAll);
+        return flights;
+    }
+
+    // A type 3 record with the fields at their SSIM positions (1-based)
+    private static String ssimLeg(String airline, String number, String from, String to, String days,
+                                  String origin, String departure, String destination, String arrival) {
+        char[] record = new char[200];
+        Arrays.fill(record, ' ');
+        put(record, 1, "3");
+        put(record, 3, airline);
+        put(record, 6, number);
+        put(record, 15, from);
+        put(record, 22, to);
+        put(record, 29, days);
+        put(record, 37, origin);
+        put(record, 40, departure);
+        put(record, 55, destination);
+        put(record, 62, arrival);
+        return new String(record);
+    }
+
+    private static void put(char[] record, int position, String value) {
+        value.getChars(0, value.length(), record, position - 1);
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -29,6 +29,9 @@ class FlightStatusSchedulerTest {
     @Mock
     private WebSocketService webSocketService;
 
+    @Mock
+    private FlightDetailCache flightDetailCache;
+
     @InjectMocks
     private FlightStatusScheduler flightStatusScheduler;
 
@@ -69,6 +72,8 @@ class FlightStatusSchedulerTest {
         
         // Verify WebSocket notification was sent
         verify(webSocketService, times(1)).notifyFlightUpdate(eq(1L), any(Map.class));
+        // Verify the cached flight details were dropped
+        verify(flightDetailCache).invalidate(1L);
     }
 
     @Test
@@ -107,6 +112,8 @@ class FlightStatusSchedulerTest {
         
         // Verify WebSocket notification was sent
         verify(webSocketService, times(1)).notifyFlightUpdate(eq(2L), any(Map.class));
+        // Verify the cached flight details were dropped
+        verify(flightDetailCache).invalidate(2L);
     }
 
     @Test
@@ -149,5 +156,7 @@ class FlightStatusSchedulerTest {
         
         // Verify WebSocket notification was sent
         verify(webSocketService, times(1)).notifyFlightUpdate(eq(3L), any(Map.class));
+        // Verify the cached flight details were dropped
+        verify(flightDetailCache).invalidate(3L);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.ItineraryConfig;
+import com.example.ticket_booking_backend.dto.ItineraryDTO;
+import com.example.ticket_booking_backend.dto.ItineraryLegDTO;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.repository.FlightRepository;
+import com.example.ticket_booking_backend.util.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItinerarySearchServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private ItineraryConfig config;
+    private ItinerarySearchService itinerarySearchService;
+
+    private LocalDate travelDate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        config = new ItineraryConfig();
+        config.setChangeQuietMs(0);
+        config.setMinRebuildIntervalMs(0);
+        config.setMinConnectionMinutes(45);
+        config.setMaxConnectionMinutes(360);
+        config.setMaxStops(2);
+        itinerarySearchService = new ItinerarySearchService(flightRepository, config);
+
+        travelDate = LocalDate.now().plusDays(3);
+    }
+
+    private ItineraryLegDTO leg(long id, String origin, String destination, int departHour, int durationMinutes, double price) {
+        LocalDateTime departure = travelDate.atTime(departHour, 0);
+        return new ItineraryLegDTO(id, "IX" + id, "IX", origin, destination,
+                departure, departure.plusMinutes(durationMinutes), Money.toMinorUnits(price, "INR"), "INR");
+    }
+
+    private void loadSchedule(ItineraryLegDTO... legs) {
+        when(flightRepository.findConnectionLegs(any(LocalDateTime.class), any(LocalDateTime.class), eq(FlightStatus.CANCELLED)))
+                .thenReturn(List.of(legs));
+        itinerarySearchService.refreshGraph();
+    }
+
+    @Test
+    void testFindsDirectAndOneStopItinerariesRankedByPrice() {
+        loadSchedule(
+                leg(1, "DEL", "BLR", 8, 165, 9000),   // direct, expensive
+                leg(2, "DEL", "BOM", 6, 120, 3000),   // arrives 08:00
+                leg(3, "BOM", "BLR", 10, 90, 2500),   // leaves 10:00, 2h connection
+                leg(4, "BOM", "BLR", 8, 90, 1000)     // leaves 08:00, connection too short
+        );
+
+        List<ItineraryDTO> results = itinerarySearchService.searchItineraries("DEL", "BLR", travelDate, 1);
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getStops());
+        assertEquals(5500, results.get(0).getTotalPrice());
+        assertEquals(List.of(2L, 3L), results.get(0).getLegs().stream().map(ItineraryLegDTO::getFlightId).toList());
+        assertEquals(0, results.get(1).getStops());
+    }
+
+    @Test
+    void testRespectsMaxStops() {
+        loadSchedule(
+                leg(1, "DEL", "BOM", 6, 120, 3000),
+                leg(2, "BOM", "HYD", 10, 90, 2000),
+                leg(3, "HYD", "MAA", 14, 60, 1500)
+        );
+
+        assertTrue(itinerarySearchService.searchItineraries("DEL", "MAA", travelDate, 1).isEmpty());
+
+        List<ItineraryDTO> twoStops = itinerarySearchService.searchItineraries("DEL", "MAA", travelDate, 2);
+        assertEquals(1, twoStops.size());
+        assertEquals(2, twoStops.get(0).getStops());
+    }
+
+    @Test
+    void testDoesNotRouteBackThroughVisitedAirport() {
+        loadSchedule(
+                leg(1, "DEL", "BOM", 6, 120, 3000),
+                leg(2, "BOM", "DEL", 10, 120, 3000),
+                leg(3, "DEL", "BLR", 14, 165, 4000)
+        );
+
+        // DEL-BOM-DEL-BLR would be a valid connection chain but loops back through DEL
+        List<ItineraryDTO> results = itinerarySearchService.searchItineraries("DEL", "BLR", travelDate, 2);
+        assertEquals(1, results.size());
+        assertEquals(0, results.get(0).getStops());
+    }
+
+    @Test
+    void testFlightChangesRebuildTheGraphOnce() {
+        loadSchedule(leg(1, "DEL", "BLR", 8, 165, 9000));
+
+        itinerarySearchService.refreshGraphIfStale();
+        verify(flightRepository, times(1)).findConnectionLegs(any(), any(), eq(FlightStatus.CANCELLED));
+
+        when(flightRepository.findConnectionLegs(any(LocalDateTime.class), any(LocalDateTime.class), eq(FlightStatus.CANCELLED)))
+                .thenReturn(List.of(leg(1, "DEL", "BLR", 8, 165, 9000), leg(2, "DEL", "BLR", 12, 165, 4000)));
+        itinerarySearchService.onFlightChanged();
+        itinerarySearchService.onFlightChanged();
+        itinerarySearchService.refreshGraphIfStale();
+        itinerarySearchService.refreshGraphIfStale();
+
+        verify(flightRepository, times(2)).findConnectionLegs(any(), any(), eq(FlightStatus.CANCELLED));
+        assertEquals(2, itinerarySearchService.searchItineraries("DEL", "BLR", travelDate, 0).size());
+    }
+
+    @Test
+    void testFlightChangesWaitForTheMinimumRebuildInterval() {
+        config.setMinRebuildIntervalMs(60_000);
+        loadSchedule(leg(1, "DEL", "BLR", 8, 165, 9000));
+
+        itinerarySearchService.onFlightChanged();
+        itinerarySearchService.refreshGraphIfStale();
+
+        // Only the initial load; the change is folded in by a later check
+        verify(flightRepository, times(1)).findConnectionLegs(any(), any(), eq(FlightStatus.CANCELLED));
+    }
+}
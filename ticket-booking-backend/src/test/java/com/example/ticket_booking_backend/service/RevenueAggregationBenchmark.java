@@ -0,0 +1,157 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.RevenueReport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Revenue aggregation over 10M bookings: the per-row BigDecimal loop RevenueService used while
+ * fares were doubles ("before") against RevenueService.aggregate on minor units ("after").
+ *
+ * Not part of the regular build (surefire only runs *Test classes); run it with
+ *   mvn test -Dtest=RevenueAggregationBenchmark
+ * The 10M bookings cycle through a pool of 10,000 (400 routes, 12 months) so the heap holds
+ * the pool, not 10M entities; each side runs a few rounds and the fastest one is reported.
+ */
+class RevenueAggregationBenchmark {
+
+    private static final int BOOKINGS = 10_000_000;
+    private static final int POOL_SIZE = 10_000;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void revenueAggregationOver10MillionBookings() {
+        Random random = new Random(42);
+        String[] airports = {"BOM", "DEL", "BLR", "MAA", "CCU", "HYD", "GOI", "COK", "PNQ", "AMD",
+                "JAI", "LKO", "PAT", "IXC", "GAU", "TRV", "IXB", "VNS", "BBI", "IDR", "NAG"};
+        List<Flight> flights = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            Flight flight = new Flight();
+            flight.setOrigin(airports[i % airports.length]);
+            flight.setDestination(airports[(i / airports.length + 1 + i % airports.length) % airports.length]);
+            flight.setPrice(2000 + random.nextInt(800_000) / 100.0);
+            flights.add(flight);
+        }
+
+        List<Booking> bookings = new ArrayList<>(POOL_SIZE);
+        List<LegacyBooking> legacyBookings = new ArrayList<>(POOL_SIZE);
+        LocalDateTime yearStart = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setFlight(flights.get(random.nextInt(flights.size())));
+            booking.setBookingTime(yearStart.plusMinutes(random.nextInt(365 * 24 * 60)));
+            bookings.add(booking);
+            Flight flight = booking.getFlight();
+            legacyBookings.add(new LegacyBooking(flight.getPrice(), flight.getOrigin(), flight.getDestination(),
+                    booking.getBookingTime()));
+        }
+
+        RevenueReport before = null;
+        RevenueReport after = null;
+        long beforeNanos = Long.MAX_VALUE;
+        long afterNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            before = aggregateWithBigDecimal(cycle(legacyBookings), "MONTHLY");
+            beforeNanos = Math.min(beforeNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            after = RevenueService.aggregate(cycle(bookings), "MONTHLY");
+            afterNanos = Math.min(afterNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("Revenue aggregation over %,d bookings: BigDecimal per row %,d ms, minor units %,d ms (%.1fx)%n",
+                BOOKINGS, beforeNanos / 1_000_000, afterNanos / 1_000_000, (double) beforeNanos / afterNanos);
+
+        // Both produce the same report
+        assertEquals(BOOKINGS, after.getPeriodTotalBookings());
+        assertEquals(0, before.getPeriodTotalRevenue().compareTo(after.getPeriodTotalRevenue()));
+        assertEquals(0, before.getPeriodAverageBookingValue().compareTo(after.getPeriodAverageBookingValue()));
+        assertEquals(before.getPeriodBookingsByRoute(), after.getPeriodBookingsByRoute());
+        assertEquals(before.getBookingsByMonth(), after.getBookingsByMonth());
+        assertSameAmounts(before.getPeriodRevenueByRoute(), after.getPeriodRevenueByRoute());
+        assertSameAmounts(before.getRevenueByMonth(), after.getRevenueByMonth());
+    }
+
+    private static void assertSameAmounts(Map<String, BigDecimal> expected, Map<String, BigDecimal> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, amount) -> assertEquals(0, amount.compareTo(actual.get(key)), key));
+    }
+
+    // A booking as the previous loop read it: a double fare straight off the flight
+    private record LegacyBooking(double price, String origin, String destination, LocalDateTime bookingTime) {
+    }
+
+    // The previous RevenueService loop, unchanged apart from reading LegacyBooking
+    private static RevenueReport aggregateWithBigDecimal(Iterable<LegacyBooking> bookings, String period) {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        int totalBookings = 0;
+        HashMap<String, BigDecimal> revenueByRoute = new HashMap<>();
+        HashMap<String, Integer> bookingsByRoute = new HashMap<>();
+        HashMap<String, BigDecimal> revenueByMonth = new HashMap<>();
+        HashMap<String, Integer> bookingsByMonth = new HashMap<>();
+        BigDecimal totalBookingValue = BigDecimal.ZERO;
+
+        DateTimeFormatter monthFmt = DateTimeFormatter.ofPattern("yyyy-MM");
+        DateTimeFormatter dayFmt = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+        for (LegacyBooking b : bookings) {
+            BigDecimal price = BigDecimal.valueOf(b.price());
+            totalRevenue = totalRevenue.add(price);
+            totalBookings++;
+            totalBookingValue = totalBookingValue.add(price);
+            String route = b.origin() + "-" + b.destination();
+            revenueByRoute.put(route, revenueByRoute.getOrDefault(route, BigDecimal.ZERO).add(price));
+            bookingsByRoute.put(route, bookingsByRoute.getOrDefault(route, 0) + 1);
+            String monthKey = period.equals("DAILY") ? b.bookingTime().format(dayFmt) : b.bookingTime().format(monthFmt);
+            revenueByMonth.put(monthKey, revenueByMonth.getOrDefault(monthKey, BigDecimal.ZERO).add(price));
+            bookingsByMonth.put(monthKey, bookingsByMonth.getOrDefault(monthKey, 0) + 1);
+        }
+
+        RevenueReport report = new RevenueReport();
+        report.setPeriodTotalRevenue(totalRevenue);
+        report.setPeriodTotalBookings(totalBookings);
+        report.setPeriodRevenueByRoute(revenueByRoute);
+        report.setPeriodBookingsByRoute(bookingsByRoute);
+        report.setRevenueByMonth(revenueByMonth);
+        report.setBookingsByMonth(bookingsByMonth);
+        report.setPeriodAverageBookingValue(totalBookings > 0
+                ? totalBookingValue.divide(BigDecimal.valueOf(totalBookings), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO);
+        return report;
+    }
+
+    // BOOKINGS elements, cycling through the pool
+    private static <T> Iterable<T> cycle(List<T> pool) {
+        return () -> new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < BOOKINGS;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pool.get(next++ % pool.size());
+            }
+        };
+    }
+}
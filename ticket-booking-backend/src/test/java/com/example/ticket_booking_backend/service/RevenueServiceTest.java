@@ -0,0 +1,102 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.model.Booking;
+import com.example.ticket_booking_backend.model.Flight;
+import com.example.ticket_booking_backend.model.RevenueReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevenueServiceTest {
+
+    private final Flight bomDel = flight("BOM", "DEL", 4999.99);
+    private final Flight delBlr = flight("DEL", "BLR", 0.10);
+
+    @Test
+    void testTotalsAreExactAndAveragesRoundHalfUp() {
+        List<Booking> bookings = List.of(
+                booking(1L, bomDel, LocalDateTime.of(2025, 1, 10, 9, 0)),
+                booking(2L, bomDel, LocalDateTime.of(2025, 1, 31, 23, 59)),
+                booking(3L, bomDel, LocalDateTime.of(2025, 2, 1, 0, 0)),
+                booking(4L, delBlr, LocalDateTime.of(2025, 2, 14, 12, 0)),
+                booking(5L, delBlr, LocalDateTime.of(2025, 2, 15, 12, 0)),
+                booking(6L, delBlr, LocalDateTime.of(2025, 2, 16, 12, 0)));
+
+        RevenueReport report = RevenueService.aggregate(bookings, "MONTHLY");
+
+        assertEquals("INR", report.getCurrency());
+        assertEquals(new BigDecimal("15000.27"), report.getPeriodTotalRevenue());
+        assertEquals(6, report.getPeriodTotalBookings());
+        // 15000.27 / 6 = 2500.045
+        assertEquals(new BigDecimal("2500.05"), report.getPeriodAverageBookingValue());
+        assertEquals(Map.of("BOM-DEL", new BigDecimal("14999.97"), "DEL-BLR", new BigDecimal("0.30")),
+                report.getPeriodRevenueByRoute());
+        assertEquals(Map.of("BOM-DEL", 3, "DEL-BLR", 3), report.getPeriodBookingsByRoute());
+        assertEquals(Map.of("2025-01", new BigDecimal("9999.98"), "2025-02", new BigDecimal("5000.29")),
+                report.getRevenueByMonth());
+        assertEquals(Map.of("2025-01", 2, "2025-02", 4), report.getBookingsByMonth());
+    }
+
+    @Test
+    void testDailyPeriodGroupsByBookingDay() {
+        List<Booking> bookings = List.of(
+                booking(1L, bomDel, LocalDateTime.of(2025, 3, 5, 8, 0)),
+                booking(2L, delBlr, LocalDateTime.of(2025, 3, 5, 20, 0)),
+                booking(3L, delBlr, LocalDateTime.of(2025, 3, 6, 1, 0)));
+
+        RevenueReport report = RevenueService.aggregate(bookings, "DAILY");
+
+        assertEquals(Map.of("2025-03-05", new BigDecimal("5000.09"), "2025-03-06", new BigDecimal("0.10")),
+                report.getRevenueByMonth());
+    }
+
+    @Test
+    void testNoBookingsGiveZeroTotals() {
+        RevenueReport report = RevenueService.aggregate(List.of(), "MONTHLY");
+
+        assertEquals(0, report.getPeriodTotalBookings());
+        assertEquals(0, BigDecimal.ZERO.compareTo(report.getPeriodTotalRevenue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(report.getPeriodAverageBookingValue()));
+        assertTrue(report.getPeriodRevenueByRoute().isEmpty());
+    }
+
+    @Test
+    void testFareInAnotherCurrencyIsRejected() {
+        Flight euro = new Flight();
+        euro.setPrice(120.50, "EUR");
+
+        assertThrows(IllegalStateException.class, () -> RevenueService.aggregate(
+                List.of(booking(1L, bomDel, LocalDateTime.now()), booking(2L, euro, LocalDateTime.now())), "MONTHLY"));
+    }
+
+    @Test
+    void testFareCurrencyCannotBeSetFromJson() throws Exception {
+        Flight flight = new ObjectMapper().findAndRegisterModules()
+                .readValue("{\"price\": 120.5, \"currency\": \"JPY\"}", Flight.class);
+
+        assertEquals("INR", flight.getCurrency());
+        assertEquals(12050, flight.getPriceMinor());
+    }
+
+    private static Flight flight(String origin, String destination, double price) {
+        Flight flight = new Flight();
+        flight.setOrigin(origin);
+        flight.setDestination(destination);
+        flight.setPrice(price);
+        return flight;
+    }
+
+    private static Booking booking(Long id, Flight flight, LocalDateTime bookingTime) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setFlight(flight);
+        booking.setBookingTime(bookingTime);
+        return booking;
+    }
+}
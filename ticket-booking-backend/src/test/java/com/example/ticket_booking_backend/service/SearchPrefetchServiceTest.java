@@ -0,0 +1,128 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.config.AppFeatureConfig;
+import com.example.ticket_booking_backend.config.PrefetchConfig;
+import com.example.ticket_booking_backend.dto.AirportInfo;
+import com.example.ticket_booking_backend.exception.ApiQuotaExceededException;
+import com.example.ticket_booking_backend.exception.ApiRateLimitedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchPrefetchServiceTest {
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private ApiQuotaService apiQuotaService;
+
+    @Mock
+    private AirportDirectory airportDirectory;
+
+    private AppFeatureConfig appFeatureConfig;
+    private SearchPrefetchService prefetchService;
+
+    private final LocalDate nextWeek = LocalDate.now().plusDays(7);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(airportDirectory.findByCode(anyString())).thenReturn(Optional.empty());
+        for (String code : new String[]{"BOM", "DEL", "GOI"}) {
+            when(airportDirectory.findByCode(code)).thenReturn(Optional.of(
+                    new AirportInfo(1L, code, code, code, null, "India", null, null)));
+        }
+        when(apiQuotaService.getRemainingBackgroundCalls()).thenReturn(1000L);
+
+        appFeatureConfig = new AppFeatureConfig();
+        appFeatureConfig.setUseApi(true);
+        PrefetchConfig prefetchConfig = new PrefetchConfig();
+        prefetchConfig.setRateLimitBackoffMs(0);
+        prefetchConfig.setRateLimitRetries(2);
+        prefetchService = new SearchPrefetchService(flightService, flightSearchCache, apiQuotaService, airportDirectory,
+                appFeatureConfig, prefetchConfig);
+    }
+
+    @Test
+    void testOnlyKnownAirportsWithinTheHorizonAreCounted() {
+        prefetchService.recordSearch("bom", "del", nextWeek);
+        prefetchService.recordSearch("BOM", "XXX", nextWeek);
+        prefetchService.recordSearch("BOM", "DEL", LocalDate.now().minusDays(1));
+        prefetchService.recordSearch("BOM", "DEL", LocalDate.now().plusDays(61));
+
+        assertEquals(1, prefetchService.trackedSearches());
+
+        appFeatureConfig.setUseApi(false);
+        prefetchService.recordSearch("BOM", "GOI", nextWeek);
+        assertEquals(1, prefetchService.trackedSearches());
+    }
+
+    @Test
+    void testRateLimitIsRetriedAndTheRunContinues() {
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "GOI", nextWeek);
+        doThrow(new ApiRateLimitedException("rate limited"))
+                .when(flightService).prefetchApiSearch("BOM", "DEL", nextWeek);
+
+        prefetchService.runPrefetch();
+
+        // First attempt plus two retries, then the next search is still fetched
+        verify(flightService, times(3)).prefetchApiSearch("BOM", "DEL", nextWeek);
+        verify(flightService).prefetchApiSearch("BOM", "GOI", nextWeek);
+    }
+
+    @Test
+    void testMonthlyQuotaStopsTheRun() {
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "GOI", nextWeek);
+        doThrow(new ApiQuotaExceededException("quota exhausted"))
+                .when(flightService).prefetchApiSearch("BOM", "DEL", nextWeek);
+
+        prefetchService.runPrefetch();
+
+        verify(flightService, times(1)).prefetchApiSearch(any(), any(), any());
+    }
+
+    @Test
+    void testSearchesStillCachedFromAnEarlierRunAreSkipped() {
+        PrefetchConfig prefetchConfig = new PrefetchConfig();
+        prefetchConfig.setMaxCallsPerRun(1);
+        prefetchService = new SearchPrefetchService(flightService, flightSearchCache, apiQuotaService,
+                airportDirectory, appFeatureConfig, prefetchConfig);
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        prefetchService.recordSearch("BOM", "GOI", nextWeek);
+        when(flightSearchCache.hasPrefetched("BOM", "DEL", nextWeek)).thenReturn(true);
+
+        prefetchService.runPrefetch();
+
+        // The one call of the budget goes to the next most popular search
+        verify(flightService, never()).prefetchApiSearch("BOM", "DEL", nextWeek);
+        verify(flightService).prefetchApiSearch("BOM", "GOI", nextWeek);
+    }
+
+    @Test
+    void testCountsDecayEvenWhenNothingIsPrefetched() {
+        prefetchService.recordSearch("BOM", "DEL", nextWeek);
+        when(apiQuotaService.getRemainingBackgroundCalls()).thenReturn(0L);
+
+        prefetchService.runPrefetch();
+
+        verify(flightService, never()).prefetchApiSearch(any(), any(), any());
+        assertEquals(0, prefetchService.trackedSearches());
+    }
+}
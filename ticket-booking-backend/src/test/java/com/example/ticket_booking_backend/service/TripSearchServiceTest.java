@@ -0,0 +1,49 @@
+package com.example.ticket_booking_backend.service;
+
+import com.example.ticket_booking_backend.dto.FlightSummaryDTO;
+import com.example.ticket_booking_backend.dto.TripOptionDTO;
+import com.example.ticket_booking_backend.model.FlightStatus;
+import com.example.ticket_booking_backend.util.Money;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TripSearchServiceTest {
+
+    private final LocalDateTime day = LocalDateTime.now().plusDays(5).withHour(0).withMinute(0).withSecond(0).withNano(0);
+
+    @Test
+    void testCombinesLegSummariesCheapestFirstSkippingOverlaps() {
+        List<FlightSummaryDTO> outbound = List.of(
+                summary(1L, "BOM", "DEL", day.withHour(8), 3000),
+                summary(2L, "BOM", "DEL", day.withHour(20), 3500));
+        List<FlightSummaryDTO> onward = List.of(
+                // Leaves before flight 2 lands, so it only pairs with flight 1
+                summary(3L, "DEL", "GOI", day.withHour(12), 2000),
+                summary(4L, "DEL", "GOI", day.plusDays(1).withHour(9), 4000));
+
+        List<TripOptionDTO> options = TripSearchService.combineCheapestFirst(List.of(outbound, onward), 10);
+
+        assertEquals(List.of(List.of(1L, 3L), List.of(1L, 4L), List.of(2L, 4L)), options.stream()
+                .map(option -> option.getFlights().stream().map(FlightSummaryDTO::getId).toList()).toList());
+        assertEquals(5000, options.get(0).getTotalPrice());
+        assertEquals(7500, options.get(2).getTotalPrice());
+    }
+
+    @Test
+    void testNoOptionsWhenALegHasNoFlights() {
+        List<FlightSummaryDTO> outbound = List.of(summary(1L, "BOM", "DEL", day.withHour(8), 3000));
+
+        assertTrue(TripSearchService.combineCheapestFirst(List.of(outbound, List.of()), 10).isEmpty());
+    }
+
+    private static FlightSummaryDTO summary(Long id, String origin, String destination, LocalDateTime departure,
+                                            double price) {
+        return new FlightSummaryDTO(id, "AI" + id, "Air India", origin, null, destination, null,
+                departure, departure.plusHours(2), Money.toMinorUnits(price, "INR"), "INR",
+                FlightStatus.SCHEDULED, false, null, 60, 60);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ticket_booking_backend.util;
+
+import com.example.ticket_booking_backend.dto.FlightVersionDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpCachingTest {
+
+    @Test
+    void testIfNoneMatchComparison() {
+        String etag = HttpCaching.etag("seats-7-12.0");
+
+        assertTrue(HttpCaching.isNotModified("\"seats-7-12.0\"", etag));
+        assertTrue(HttpCaching.isNotModified("\"seats-7-11.0\", W/\"seats-7-12.0\"", etag));
+        assertTrue(HttpCaching.isNotModified("*", etag));
+        assertFalse(HttpCaching.isNotModified("\"seats-7-11.0\"", etag));
+        assertFalse(HttpCaching.isNotModified(null, etag));
+    }
+
+    @Test
+    void testSeatChangesAndLapsedHoldsChangeTheTags() {
+        LocalDateTime departure = LocalDateTime.now().plusDays(3);
+        FlightVersionDTO current = new FlightVersionDTO(7L, 2L, 12L, departure, 0);
+
+        assertNotEquals(current.flightETag(), new FlightVersionDTO(7L, 2L, 13L, departure, 0).flightETag());
+        assertNotEquals(current.seatMapETag(), new FlightVersionDTO(7L, 2L, 12L, departure, 1).seatMapETag());
+        // Editing the flight itself leaves the seat map's tag alone
+        assertEquals(current.seatMapETag(), new FlightVersionDTO(7L, 3L, 12L, departure, 0).seatMapETag());
+
+        ResponseEntity<Object> notModified = HttpCaching.notModified(current.seatMapETag(), CacheControl.noCache());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(current.seatMapETag(), notModified.getHeaders().getETag());
+        assertNull(notModified.getBody());
+    }
+}
@@ -36,10 +36,12 @@ interface Flight {
     departureTime: string;
     arrivalTime: string;
     price: number;
-    seats: Seat[];
+    // Only API search results carry a seat map; list and search summaries carry seat counts
+    seats?: Seat[];
     apiSourced?: boolean;
     airline?: string;
     availableSeats?: number;
+    totalSeats?: number;
     status?: string;
     originCity?: string;
     originName?: string;
@@ -49,6 +51,21 @@ interface Flight {
     destinationCountry?: string;
 }
 
+// Seat counts from the summary fields, falling back to the seat map when a flight carries one
+const countAvailableSeats = (flight: Flight): number => {
+    if (flight.seats && flight.seats.length > 0) {
+        return flight.seats.filter(seat => seat.available).length;
+    }
+    return flight.availableSeats ?? 0;
+};
+
+const countTotalSeats = (flight: Flight): number => {
+    if (flight.seats && flight.seats.length > 0) {
+        return flight.seats.length;
+    }
+    return flight.totalSeats ?? 0;
+};
+
 // Function to convert local Flight to API Flight
 const convertToApiFlightType = (flight: Flight): ApiFlightType => {
     // Make sure the flight has all the required fields
@@ -63,7 +80,7 @@ const convertToApiFlightType = (flight: Flight): ApiFlightType => {
     
     // We'll only count the available seats, but not pass the full seat objects
     // to avoid serialization issues with the backend
-    const availableSeatsCount = flight.seats.filter(seat => seat.available).length;
+    const availableSeatsCount = countAvailableSeats(flight);
     
     // Create a minimal flight object with essential fields only
     const apiFlightData: ApiFlightType = {
@@ -408,7 +425,7 @@ const FlightList = ({ isAdminView = false }: FlightListProps) => {
                 return;
             }
             
-            if (!flight.seats || flight.seats.filter(s => s.available).length === 0) {
+            if (countAvailableSeats(flight) === 0) {
                 setError('No seats available for this flight');
                 return;
             }
@@ -492,7 +509,7 @@ const FlightList = ({ isAdminView = false }: FlightListProps) => {
     };
 
     const getAvailableSeatsCount = (flight: Flight) => {
-        return flight.seats ? flight.seats.filter(seat => seat.available).length : 0;
+        return countAvailableSeats(flight);
     };
 
     // Check if flight is departing soon (within 2 hours)
@@ -539,7 +556,7 @@ const FlightList = ({ isAdminView = false }: FlightListProps) => {
         }
         
         const availableSeats = getAvailableSeatsCount(flight);
-        const totalSeats = flight.seats ? flight.seats.length : 0;
+        const totalSeats = countTotalSeats(flight);
         
         if (totalSeats === 0) {
             return <Chip label="Unknown" color="default" size="small" />;
@@ -605,7 +605,9 @@ export const saveApiFlightToDatabase = async (flight: Flight, token: string): Pr
         });
         
         // Calculate available seats based on seat availability
-        const availableSeats = flight.seats.filter(seat => seat.available).length;
+        const availableSeats = flight.seats && flight.seats.length > 0
+            ? flight.seats.filter(seat => seat.available).length
+            : (flight as any).availableSeats ?? 0;
         
         // Create a simplified version of the flight data without the seats array
         // This reduces payload size and potential serialization issues